@@ -0,0 +1,123 @@
+package org.springframework.benchmark;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.MethodBeforeAdvice;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.framework.ReflectiveMethodInvocation;
+import org.springframework.aop.framework.adapter.MethodBeforeAdviceInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比JDK代理与CGLIB代理的方法调用，greet被前置通知拦截，ping没有匹配的通知
+ * 另外单独测量ReflectiveMethodInvocation执行一条拦截器链的开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AopInvocationBenchmark {
+
+    private final GreeterImpl target = new GreeterImpl();
+
+    private Greeter jdkProxy;
+
+    private Greeter cglibProxy;
+
+    private Method greetMethod;
+
+    private List<Object> chain;
+
+    private String name = "yuspring";
+
+    @Setup
+    public void setUp() throws Exception {
+        jdkProxy = (Greeter) createProxyFactory(false).getProxy();
+        cglibProxy = (Greeter) createProxyFactory(true).getProxy();
+        greetMethod = Greeter.class.getMethod("greet", String.class);
+        MethodInterceptor interceptor = new MethodBeforeAdviceInterceptor(new CountingBeforeAdvice());
+        chain = Collections.singletonList(interceptor);
+    }
+
+    private ProxyFactory createProxyFactory(boolean proxyTargetClass) {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression("execution(* greet(..))");
+        advisor.setAdvice(new MethodBeforeAdviceInterceptor(new CountingBeforeAdvice()));
+
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(new TargetSource(target));
+        proxyFactory.setProxyTargetClass(proxyTargetClass);
+        proxyFactory.addAdvisor(advisor);
+        // 与自动代理一致，冻结后ping直接分派给目标对象
+        proxyFactory.setFrozen(true);
+        return proxyFactory;
+    }
+
+    @Benchmark
+    public String direct() {
+        return target.greet(name);
+    }
+
+    @Benchmark
+    public String jdkAdvised() {
+        return jdkProxy.greet(name);
+    }
+
+    @Benchmark
+    public int jdkUnadvised() {
+        return jdkProxy.ping();
+    }
+
+    @Benchmark
+    public String cglibAdvised() {
+        return cglibProxy.greet(name);
+    }
+
+    @Benchmark
+    public int cglibUnadvised() {
+        return cglibProxy.ping();
+    }
+
+    @Benchmark
+    public Object reflectiveInvocation() throws Throwable {
+        return new ReflectiveMethodInvocation(null, target, greetMethod, new Object[]{name}, GreeterImpl.class, chain).proceed();
+    }
+
+    public interface Greeter {
+
+        String greet(String name);
+
+        int ping();
+    }
+
+    public static class GreeterImpl implements Greeter {
+
+        @Override
+        public String greet(String name) {
+            return name;
+        }
+
+        @Override
+        public int ping() {
+            return 1;
+        }
+    }
+
+    public static class CountingBeforeAdvice implements MethodBeforeAdvice {
+
+        private int count;
+
+        @Override
+        public void before(Method method, Object[] args, Object target) throws Throwable {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.springframework.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bean工厂的热点路径：按名称/类型获取单例、创建带0/4/16个属性的原型bean、通过xml引用或@Autowired注入依赖
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanFactoryBenchmark {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup
+    public void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+        AutowiredAnnotationBeanPostProcessor autowiredProcessor = new AutowiredAnnotationBeanPostProcessor();
+        autowiredProcessor.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(autowiredProcessor);
+
+        beanFactory.registerBeanDefinition("repository", singleton(Repository.class, new PropertyValues()));
+
+        for (int propertyCount : new int[]{0, 4, 16}) {
+            PropertyValues propertyValues = new PropertyValues();
+            for (int i = 0; i < propertyCount; i++) {
+                propertyValues.addPropertyValue(new PropertyValue("value" + i, String.valueOf(i)));
+            }
+            BeanDefinition command = new BeanDefinition(Command.class, propertyValues);
+            command.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+            beanFactory.registerBeanDefinition("command" + propertyCount, command);
+        }
+
+        PropertyValues serviceValues = new PropertyValues();
+        serviceValues.addPropertyValue(new PropertyValue("repository", new BeanReference("repository")));
+        BeanDefinition xmlService = new BeanDefinition(XmlService.class, serviceValues);
+        xmlService.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("xmlService", xmlService);
+
+        BeanDefinition autowiredService = new BeanDefinition(AutowiredService.class);
+        autowiredService.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("autowiredService", autowiredService);
+
+        beanFactory.preInstantiateSingletons();
+    }
+
+    @Benchmark
+    public Object singletonByName() {
+        return beanFactory.getBean("repository");
+    }
+
+    @Benchmark
+    public Object singletonByType() {
+        return beanFactory.getBean(Repository.class);
+    }
+
+    @Benchmark
+    public Object prototypeWith0Properties() {
+        return beanFactory.getBean("command0");
+    }
+
+    @Benchmark
+    public Object prototypeWith4Properties() {
+        return beanFactory.getBean("command4");
+    }
+
+    @Benchmark
+    public Object prototypeWith16Properties() {
+        return beanFactory.getBean("command16");
+    }
+
+    @Benchmark
+    public Object prototypeWithReference() {
+        return beanFactory.getBean("xmlService");
+    }
+
+    @Benchmark
+    public Object prototypeWithAutowired() {
+        return beanFactory.getBean("autowiredService");
+    }
+
+    private static BeanDefinition singleton(Class<?> beanClass, PropertyValues propertyValues) {
+        BeanDefinition beanDefinition = new BeanDefinition(beanClass, propertyValues);
+        beanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+        return beanDefinition;
+    }
+
+    public static class Repository {
+    }
+
+    public static class XmlService {
+
+        private Repository repository;
+
+        public Repository getRepository() {
+            return repository;
+        }
+    }
+
+    public static class AutowiredService {
+
+        @Autowired
+        private Repository repository;
+
+        public Repository getRepository() {
+            return repository;
+        }
+    }
+
+    public static class Command {
+        private String value0, value1, value2, value3, value4, value5, value6, value7;
+        private String value8, value9, value10, value11, value12, value13, value14, value15;
+    }
+}
@@ -0,0 +1,76 @@
+package org.springframework.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 含100/1000/10000个bean的xml配置下完整refresh一次容器的耗时
+ * bean之间的引用构成一棵四叉树，每个bean引用其父节点并设置一个字面值属性，每10个bean中有一个原型bean
+ * 引用层数只有log4(n)，不会因为bean的创建顺序不同而出现很深的递归
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextRefreshBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int beanCount;
+
+    private File configFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        configFile = File.createTempFile("refresh-" + beanCount + "-", ".xml");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(configFile.toPath(), StandardCharsets.UTF_8))) {
+            writer.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+            writer.println("<beans>");
+            for (int i = 0; i < beanCount; i++) {
+                String scope = i % 10 == 9 ? "prototype" : "singleton";
+                writer.println("    <bean id=\"node" + i + "\" class=\"" + Node.class.getName() + "\" scope=\"" + scope + "\">");
+                writer.println("        <property name=\"name\" value=\"node" + i + "\"/>");
+                if (i > 0) {
+                    writer.println("        <property name=\"next\" ref=\"node" + (i - 1) / 4 + "\"/>");
+                }
+                writer.println("    </bean>");
+            }
+            writer.println("</beans>");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        configFile.delete();
+    }
+
+    @Benchmark
+    public Object refresh() {
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(configFile.getAbsolutePath());
+        applicationContext.close();
+        return applicationContext;
+    }
+
+    public static class Node {
+
+        private String name;
+
+        private Node next;
+
+        public String getName() {
+            return name;
+        }
+
+        public Node getNext() {
+            return next;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.springframework.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GenericConversionService查找转换器并完成转换的开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionServiceBenchmark {
+
+    private final GenericConversionService conversionService = new DefaultConversionService();
+
+    private String source = "12345";
+
+    @Benchmark
+    public Integer stringToInteger() {
+        return conversionService.convert(source, Integer.class);
+    }
+
+    @Benchmark
+    public Long stringToLong() {
+        return conversionService.convert(source, Long.class);
+    }
+
+    @Benchmark
+    public Boolean canConvert() {
+        return conversionService.canConvert(String.class, Integer.class);
+    }
+}
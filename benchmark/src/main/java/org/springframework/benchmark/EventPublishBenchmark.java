@@ -0,0 +1,85 @@
+package org.springframework.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件广播到N个监听器的开销，其中一半监听器监听的是其他事件类型
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventPublishBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int listenerCount;
+
+    private SimpleApplicationEventMulticaster multicaster;
+
+    private OrderEvent event;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        multicaster = new SimpleApplicationEventMulticaster(new DefaultListableBeanFactory());
+        for (int i = 0; i < listenerCount; i++) {
+            multicaster.addApplicationListener(i % 2 == 0 ? new OrderListener(blackhole) : new PaymentListener(blackhole));
+        }
+        event = new OrderEvent(this);
+    }
+
+    @Benchmark
+    public void publishEvent() {
+        multicaster.multicastEvent(event);
+    }
+
+    public static class OrderEvent extends ApplicationEvent {
+
+        public OrderEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class PaymentEvent extends ApplicationEvent {
+
+        public PaymentEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class OrderListener implements ApplicationListener<OrderEvent> {
+
+        private final Blackhole blackhole;
+
+        public OrderListener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onApplicationEvent(OrderEvent event) {
+            blackhole.consume(event);
+        }
+    }
+
+    public static class PaymentListener implements ApplicationListener<PaymentEvent> {
+
+        private final Blackhole blackhole;
+
+        public PaymentListener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onApplicationEvent(PaymentEvent event) {
+            blackhole.consume(event);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.springframework.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.CglibSubclassingInstantiationStrategy;
+import org.springframework.beans.factory.support.InstantiationStrategy;
+import org.springframework.beans.factory.support.SimpleInstantiationStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比反射实例化与CGLIB生成的构造器调用器
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstantiationStrategyBenchmark {
+
+    private final BeanDefinition beanDefinition = new BeanDefinition(Car.class);
+
+    private final InstantiationStrategy reflective = new SimpleInstantiationStrategy();
+
+    private final InstantiationStrategy cglib = new CglibSubclassingInstantiationStrategy();
+
+    @Benchmark
+    public Object reflective() {
+        return reflective.instantiate(beanDefinition);
+    }
+
+    @Benchmark
+    public Object cglib() {
+        return cglib.instantiate(beanDefinition);
+    }
+
+    public static class Car {
+
+        private String brand;
+
+        public String getBrand() {
+            return brand;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.springframework.benchmark;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测量拦截器链执行时每次调用分配的内存，需要配合-prof gc运行，关注gc.alloc.rate.norm(B/op)
+ * 方法没有参数、返回常量，代理和目标本身不分配对象，剩下的分配都来自拦截器链的执行
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterceptorChainBenchmark {
+
+    private Service jdkNoAdvice;
+
+    private Service cglibNoAdvice;
+
+    private Service cglibFrozenNoAdvice;
+
+    private Service jdkOneInterceptor;
+
+    private Service jdkThreeInterceptors;
+
+    private Service cglibOneInterceptor;
+
+    private Service cglibThreeInterceptors;
+
+    @Setup
+    public void setUp() {
+        jdkNoAdvice = createProxy(false, false, 0);
+        cglibNoAdvice = createProxy(true, false, 0);
+        cglibFrozenNoAdvice = createProxy(true, true, 0);
+        jdkOneInterceptor = createProxy(false, true, 1);
+        jdkThreeInterceptors = createProxy(false, true, 3);
+        cglibOneInterceptor = createProxy(true, true, 1);
+        cglibThreeInterceptors = createProxy(true, true, 3);
+    }
+
+    /**
+     * @param interceptorCount 匹配call的拦截器个数，为0时使用一个只匹配其他方法的advisor
+     */
+    private Service createProxy(boolean proxyTargetClass, boolean frozen, int interceptorCount) {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(new TargetSource(new ServiceImpl()));
+        proxyFactory.setProxyTargetClass(proxyTargetClass);
+        String expression = interceptorCount > 0 ? "execution(* call(..))" : "execution(* other(..))";
+        for (int i = 0; i < Math.max(1, interceptorCount); i++) {
+            AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+            advisor.setExpression(expression);
+            advisor.setAdvice(new PassThroughInterceptor());
+            proxyFactory.addAdvisor(advisor);
+        }
+        proxyFactory.setFrozen(frozen);
+        return (Service) proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public String jdkNoAdvice() {
+        return jdkNoAdvice.call();
+    }
+
+    @Benchmark
+    public String cglibNoAdvice() {
+        return cglibNoAdvice.call();
+    }
+
+    @Benchmark
+    public String cglibFrozenNoAdvice() {
+        return cglibFrozenNoAdvice.call();
+    }
+
+    @Benchmark
+    public String jdkOneInterceptor() {
+        return jdkOneInterceptor.call();
+    }
+
+    @Benchmark
+    public String jdkThreeInterceptors() {
+        return jdkThreeInterceptors.call();
+    }
+
+    @Benchmark
+    public String cglibOneInterceptor() {
+        return cglibOneInterceptor.call();
+    }
+
+    @Benchmark
+    public String cglibThreeInterceptors() {
+        return cglibThreeInterceptors.call();
+    }
+
+    public interface Service {
+
+        String call();
+
+        String other();
+    }
+
+    public static class ServiceImpl implements Service {
+
+        @Override
+        public String call() {
+            return "call";
+        }
+
+        @Override
+        public String other() {
+            return "other";
+        }
+    }
+
+    public static class PassThroughInterceptor implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            return invocation.proceed();
+        }
+    }
+}
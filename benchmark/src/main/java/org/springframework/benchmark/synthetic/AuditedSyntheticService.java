@@ -0,0 +1,12 @@
+package org.springframework.benchmark.synthetic;
+
+/**
+ * handle方法被合成配置中的advisor拦截，bean创建时会生成代理
+ */
+public class AuditedSyntheticService extends SyntheticService {
+
+    @Override
+    public String handle() {
+        return super.handle();
+    }
+}
@@ -0,0 +1,22 @@
+package org.springframework.benchmark.synthetic;
+
+import org.springframework.beans.factory.FactoryBean;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * xml中无法直接声明集合，通过FactoryBean为ConversionServiceFactoryBean提供转换器
+ */
+public class ConvertersFactoryBean implements FactoryBean<Set<?>> {
+
+    @Override
+    public Set<?> getObject() throws Exception {
+        return Collections.singleton(new StringToTimeoutConverter());
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package org.springframework.benchmark.synthetic;
+
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupTimeline;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 随bean数量增长测量容器启动：refresh耗时、refresh后的堆占用以及各阶段耗时
+ * 每个bean的平均耗时随规模上升的位置就是启动不再线性扩展的地方
+ * <p>
+ * 运行：java -cp target/benchmarks.jar org.springframework.benchmark.synthetic.StartupScalingRunner 1000 2000 4000 8000
+ */
+public class StartupScalingRunner {
+
+    private static final int[] DEFAULT_SIZES = {1000, 2000, 4000, 8000};
+
+    /**
+     * 每个规模refresh的次数，取最快的一次，第一次包含类加载和JIT的开销
+     */
+    private static final int REPETITIONS = 3;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        // 先以最小规模预热一次，避免类加载和JIT的开销全部计入第一个规模
+        measure(sizes[0]);
+        List<Result> results = new ArrayList<>(sizes.length);
+        for (int size : sizes) {
+            results.add(measure(size));
+        }
+        print(results);
+    }
+
+    private static Result measure(int beanCount) throws Exception {
+        SyntheticContextGenerator generator = new SyntheticContextGenerator(beanCount);
+        try (SyntheticContext syntheticContext = generator.generate(Files.createTempDirectory("synthetic-" + beanCount + "-"))) {
+            Result best = null;
+            for (int i = 0; i < REPETITIONS; i++) {
+                long heapBefore = usedHeapAfterGc();
+                BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(beanCount * 16);
+                long start = System.nanoTime();
+                ClassPathXmlApplicationContext applicationContext = syntheticContext.refresh(applicationStartup);
+                long refreshNanos = System.nanoTime() - start;
+                long heapBytes = Math.max(0, usedHeapAfterGc() - heapBefore);
+                applicationContext.close();
+                if (best == null || refreshNanos < best.refreshNanos) {
+                    best = new Result(beanCount, refreshNanos, heapBytes, phaseNanos(applicationStartup.getTimeline()));
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * 按步骤名称汇总耗时，同名步骤嵌套时(如创建bean时创建其依赖)只计算最外层
+     * @param timeline refresh的时间线
+     * @return 步骤名称 -> 耗时(纳秒)
+     */
+    private static Map<String, Long> phaseNanos(StartupTimeline timeline) {
+        Map<Long, StartupTimeline.StepRecord> steps = new HashMap<>();
+        for (StartupTimeline.StepRecord step : timeline.getSteps()) {
+            steps.put(step.getId(), step);
+        }
+        Map<String, Long> phases = new LinkedHashMap<>();
+        for (StartupTimeline.StepRecord step : timeline.getSteps()) {
+            if (!hasAncestorNamed(step, steps)) {
+                phases.merge(step.getName(), step.getDurationNanos(), Long::sum);
+            }
+        }
+        return phases;
+    }
+
+    private static boolean hasAncestorNamed(StartupTimeline.StepRecord step, Map<Long, StartupTimeline.StepRecord> steps) {
+        Long parentId = step.getParentId();
+        while (parentId != null) {
+            StartupTimeline.StepRecord parent = steps.get(parentId);
+            if (parent == null) {
+                return false;
+            }
+            if (parent.getName().equals(step.getName())) {
+                return true;
+            }
+            parentId = parent.getParentId();
+        }
+        return false;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void print(List<Result> results) {
+        Result baseline = results.get(0);
+        System.out.printf("%10s %14s %12s %10s %12s %10s%n", "beans", "refresh(ms)", "us/bean", "heap(MB)", "KB/bean", "scaling");
+        for (Result result : results) {
+            System.out.printf("%10d %14.1f %12.1f %10.1f %12.2f %10.2f%n", result.beanCount,
+                    result.refreshNanos / 1e6, result.nanosPerBean() / 1e3, result.heapBytes / (1024.0 * 1024.0),
+                    result.heapBytes / 1024.0 / result.beanCount, result.nanosPerBean() / baseline.nanosPerBean());
+        }
+        System.out.println();
+        System.out.printf("%-40s", "phase (us/bean)");
+        for (Result result : results) {
+            System.out.printf(" %10d", result.beanCount);
+        }
+        System.out.println();
+        for (String phase : baseline.phaseNanos.keySet()) {
+            System.out.printf("%-40s", phase);
+            for (Result result : results) {
+                long nanos = result.phaseNanos.getOrDefault(phase, 0L);
+                System.out.printf(" %10.1f", nanos / 1e3 / result.beanCount);
+            }
+            System.out.println();
+        }
+    }
+
+    private static final class Result {
+        private final int beanCount;
+        private final long refreshNanos;
+        private final long heapBytes;
+        private final Map<String, Long> phaseNanos;
+
+        private Result(int beanCount, long refreshNanos, long heapBytes, Map<String, Long> phaseNanos) {
+            this.beanCount = beanCount;
+            this.refreshNanos = refreshNanos;
+            this.heapBytes = heapBytes;
+            this.phaseNanos = phaseNanos;
+        }
+
+        private double nanosPerBean() {
+            return (double) refreshNanos / beanCount;
+        }
+    }
+}
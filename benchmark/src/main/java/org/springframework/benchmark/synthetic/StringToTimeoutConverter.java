@@ -0,0 +1,20 @@
+package org.springframework.benchmark.synthetic;
+
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * 将"500ms"、"3s"形式的字符串转换为Timeout
+ */
+public class StringToTimeoutConverter implements Converter<String, Timeout> {
+
+    @Override
+    public Timeout convert(String source) {
+        if (source.endsWith("ms")) {
+            return new Timeout(Long.parseLong(source.substring(0, source.length() - 2)));
+        }
+        if (source.endsWith("s")) {
+            return new Timeout(Long.parseLong(source.substring(0, source.length() - 1)) * 1000);
+        }
+        return new Timeout(Long.parseLong(source));
+    }
+}
@@ -0,0 +1,76 @@
+package org.springframework.benchmark.synthetic;
+
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * SyntheticContextGenerator生成的配置，组件类由单独的类加载器加载
+ */
+public class SyntheticContext implements Closeable {
+
+    private final Path directory;
+
+    private final String configLocation;
+
+    private final ClassLoader classLoader;
+
+    private final int beanCount;
+
+    SyntheticContext(Path directory, String configLocation, ClassLoader classLoader, int beanCount) {
+        this.directory = directory;
+        this.configLocation = configLocation;
+        this.classLoader = classLoader;
+        this.beanCount = beanCount;
+    }
+
+    /**
+     * 以组件类加载器作为上下文类加载器创建并refresh容器
+     * @param applicationStartup 记录refresh各步骤耗时
+     * @return refresh完成的容器
+     */
+    public ClassPathXmlApplicationContext refresh(ApplicationStartup applicationStartup) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(new String[]{configLocation}, false);
+            applicationContext.setApplicationStartup(applicationStartup);
+            applicationContext.refresh();
+            return applicationContext;
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    public String getConfigLocation() {
+        return configLocation;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    public int getBeanCount() {
+        return beanCount;
+    }
+
+    /**
+     * 删除生成的文件
+     */
+    @Override
+    public void close() throws IOException {
+        if (classLoader instanceof Closeable) {
+            ((Closeable) classLoader).close();
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
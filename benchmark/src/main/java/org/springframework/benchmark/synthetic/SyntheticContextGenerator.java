@@ -0,0 +1,254 @@
+package org.springframework.benchmark.synthetic;
+
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.adapter.MethodBeforeAdviceInterceptor;
+import org.springframework.aop.framework.autoproxy.DefaultAdvisorAutoProxyCreator;
+import org.springframework.beans.factory.PropertyPlaceholderConfigurer;
+import org.springframework.context.support.ConversionServiceFactoryBean;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 生成包含大量bean的合成配置：一份xml配置、一份属性文件以及一个由@Component类组成的包
+ * xml中的bean通过ref互相引用，属性值使用占位符和自定义转换器，每advisedEvery个bean中有一个会被advisor代理；
+ * @Component类通过@Autowired按类型注入其他组件，通过@Value注入占位符
+ * 引用只指向编号更小的bean，并偏向少数热门bean，得到与实际应用相近的扇入分布，同时不产生循环依赖
+ */
+public class SyntheticContextGenerator {
+
+    public static final String SERVICE_PREFIX = "service";
+
+    public static final String COMPONENT_PREFIX = "component";
+
+    public static final String COMPONENT_PACKAGE = "org.springframework.benchmark.synthetic.generated";
+
+    private final int beanCount;
+
+    /**
+     * 通过component-scan注册的bean所占的比例
+     */
+    private double componentRatio = 0.5;
+
+    /**
+     * 每个bean最多引用的bean个数，SyntheticService最多有4个引用属性
+     */
+    private int maxFanOut = 4;
+
+    private int advisedEvery = 10;
+
+    private long seed = 42;
+
+    public SyntheticContextGenerator(int beanCount) {
+        if (beanCount <= 0) {
+            throw new IllegalArgumentException("Bean count must be positive");
+        }
+        this.beanCount = beanCount;
+    }
+
+    public void setComponentRatio(double componentRatio) {
+        if (componentRatio < 0 || componentRatio > 1) {
+            throw new IllegalArgumentException("Component ratio must be between 0 and 1");
+        }
+        this.componentRatio = componentRatio;
+    }
+
+    public void setMaxFanOut(int maxFanOut) {
+        if (maxFanOut < 0 || maxFanOut > 4) {
+            throw new IllegalArgumentException("Max fan-out must be between 0 and 4");
+        }
+        this.maxFanOut = maxFanOut;
+    }
+
+    /**
+     * @param advisedEvery 每多少个xml bean中有一个被代理，0表示不使用AOP
+     */
+    public void setAdvisedEvery(int advisedEvery) {
+        this.advisedEvery = advisedEvery;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getComponentCount() {
+        return (int) Math.round(beanCount * componentRatio);
+    }
+
+    public int getServiceCount() {
+        return beanCount - getComponentCount();
+    }
+
+    /**
+     * 在指定目录下生成配置并编译组件类
+     * @param directory 输出目录
+     * @return 生成的配置
+     * @throws IOException 写文件失败
+     */
+    public SyntheticContext generate(Path directory) throws IOException {
+        Random random = new Random(seed);
+        Files.createDirectories(directory);
+        Path properties = directory.resolve("application.properties");
+        Path config = directory.resolve("application-context.xml");
+        Path classes = directory.resolve("classes");
+        Files.createDirectories(classes);
+
+        writeProperties(properties);
+        writeXml(config, properties, random);
+        int componentCount = getComponentCount();
+        if (componentCount > 0) {
+            compileComponents(directory.resolve("src"), classes, random);
+        }
+        ClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader());
+        return new SyntheticContext(directory, config.toAbsolutePath().toString(), classLoader, beanCount);
+    }
+
+    private void writeProperties(Path properties) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(properties, StandardCharsets.UTF_8))) {
+            writer.println(SERVICE_PREFIX + ".timeout=500ms");
+            writer.println(COMPONENT_PREFIX + ".timeout=2s");
+            for (int i = 0; i < getServiceCount(); i++) {
+                writer.println(SERVICE_PREFIX + "." + i + ".name=" + SERVICE_PREFIX + "-" + i);
+            }
+            for (int i = 0; i < getComponentCount(); i++) {
+                writer.println(COMPONENT_PREFIX + "." + i + ".name=" + COMPONENT_PREFIX + "-" + i);
+            }
+        }
+    }
+
+    private void writeXml(Path config, Path properties, Random random) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(config, StandardCharsets.UTF_8))) {
+            writer.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+            writer.println("<beans xmlns=\"http://www.springframework.org/schema/beans\"");
+            writer.println("       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"");
+            writer.println("       xmlns:context=\"http://www.springframework.org/schema/context\"");
+            writer.println("       xsi:schemaLocation=\"http://www.springframework.org/schema/beans");
+            writer.println("\t         http://www.springframework.org/schema/beans/spring-beans.xsd");
+            writer.println("\t\t http://www.springframework.org/schema/context");
+            writer.println("\t\t http://www.springframework.org/schema/context/spring-context-4.0.xsd\">");
+            writer.println();
+            if (getComponentCount() > 0) {
+                writer.println("    <context:component-scan base-package=\"" + COMPONENT_PACKAGE + "\"/>");
+                writer.println();
+            }
+            writer.println("    <bean class=\"" + PropertyPlaceholderConfigurer.class.getName() + "\">");
+            writer.println("        <property name=\"location\" value=\"" + properties.toAbsolutePath() + "\"/>");
+            writer.println("    </bean>");
+            writer.println();
+            writer.println("    <bean id=\"converters\" class=\"" + ConvertersFactoryBean.class.getName() + "\"/>");
+            writer.println("    <bean id=\"conversionService\" class=\"" + ConversionServiceFactoryBean.class.getName() + "\">");
+            writer.println("        <property name=\"converters\" ref=\"converters\"/>");
+            writer.println("    </bean>");
+            writer.println();
+            if (advisedEvery > 0) {
+                writer.println("    <bean class=\"" + DefaultAdvisorAutoProxyCreator.class.getName() + "\"/>");
+                writer.println("    <bean id=\"auditAdvice\" class=\"" + AuditAdvice.class.getName() + "\"/>");
+                writer.println("    <bean id=\"auditInterceptor\" class=\"" + MethodBeforeAdviceInterceptor.class.getName() + "\">");
+                writer.println("        <property name=\"advice\" ref=\"auditAdvice\"/>");
+                writer.println("    </bean>");
+                writer.println("    <bean id=\"auditAdvisor\" class=\"" + AspectJExpressionPointcutAdvisor.class.getName() + "\">");
+                writer.println("        <property name=\"expression\" value=\"execution(* " + AuditedSyntheticService.class.getName() + ".handle(..))\"/>");
+                writer.println("        <property name=\"advice\" ref=\"auditInterceptor\"/>");
+                writer.println("    </bean>");
+                writer.println();
+            }
+            for (int i = 0; i < getServiceCount(); i++) {
+                boolean advised = advisedEvery > 0 && i % advisedEvery == advisedEvery - 1;
+                Class<?> beanClass = advised ? AuditedSyntheticService.class : SyntheticService.class;
+                writer.println("    <bean id=\"" + SERVICE_PREFIX + i + "\" class=\"" + beanClass.getName() + "\" scope=\"singleton\">");
+                writer.println("        <property name=\"name\" value=\"${" + SERVICE_PREFIX + "." + i + ".name}\"/>");
+                writer.println("        <property name=\"timeout\" value=\"${" + SERVICE_PREFIX + ".timeout}\"/>");
+                int[] dependencies = chooseDependencies(i, random);
+                for (int d = 0; d < dependencies.length; d++) {
+                    writer.println("        <property name=\"dependency" + d + "\" ref=\"" + SERVICE_PREFIX + dependencies[d] + "\"/>");
+                }
+                writer.println("    </bean>");
+            }
+            writer.println();
+            writer.println("</beans>");
+        }
+    }
+
+    private void compileComponents(Path sources, Path classes, Random random) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Generating @Component classes requires a JDK, set the component ratio to 0 on a JRE");
+        }
+        Path packageDirectory = sources.resolve(COMPONENT_PACKAGE.replace('.', File.separatorChar));
+        Files.createDirectories(packageDirectory);
+        List<File> files = new ArrayList<>(getComponentCount());
+        for (int i = 0; i < getComponentCount(); i++) {
+            Path source = packageDirectory.resolve(componentClassName(i) + ".java");
+            Files.write(source, componentSource(i, chooseDependencies(i, random)).getBytes(StandardCharsets.UTF_8));
+            files.add(source.toFile());
+        }
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(files);
+            List<String> options = Arrays.asList("-d", classes.toString(), "-classpath", System.getProperty("java.class.path"),
+                    "-proc:none", "-g:none", "-nowarn", "-encoding", "UTF-8");
+            if (!compiler.getTask(null, fileManager, null, options, null, units).call()) {
+                throw new IllegalStateException("Failed to compile synthetic components in " + sources);
+            }
+        }
+    }
+
+    private String componentSource(int index, int[] dependencies) {
+        StringBuilder source = new StringBuilder(512);
+        source.append("package ").append(COMPONENT_PACKAGE).append(";\n\n");
+        source.append("import org.springframework.beans.factory.annotation.Autowired;\n");
+        source.append("import org.springframework.beans.factory.annotation.Value;\n");
+        source.append("import ").append(Timeout.class.getName()).append(";\n");
+        source.append("import org.springframework.stereotype.Component;\n\n");
+        source.append("@Component(\"").append(COMPONENT_PREFIX).append(index).append("\")\n");
+        source.append("public class ").append(componentClassName(index)).append(" {\n\n");
+        source.append("    @Value(\"${").append(COMPONENT_PREFIX).append('.').append(index).append(".name}\")\n");
+        source.append("    private String name;\n\n");
+        source.append("    @Value(\"${").append(COMPONENT_PREFIX).append(".timeout}\")\n");
+        source.append("    private Timeout timeout;\n");
+        for (int d = 0; d < dependencies.length; d++) {
+            source.append("\n    @Autowired\n");
+            source.append("    private ").append(componentClassName(dependencies[d])).append(" dependency").append(d).append(";\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static String componentClassName(int index) {
+        return "Component" + index;
+    }
+
+    /**
+     * 为第index个bean选择所引用的bean，只引用编号更小的bean，编号越小被选中的概率越大
+     * @param index bean的编号
+     * @param random 随机数
+     * @return 不重复的被引用bean的编号
+     */
+    private int[] chooseDependencies(int index, Random random) {
+        if (index == 0 || maxFanOut == 0) {
+            return new int[0];
+        }
+        int fanOut = Math.min(index, random.nextInt(maxFanOut + 1));
+        Set<Integer> chosen = new LinkedHashSet<>();
+        while (chosen.size() < fanOut) {
+            double r = random.nextDouble();
+            chosen.add((int) (index * r * r));
+        }
+        return chosen.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,31 @@
+package org.springframework.benchmark.synthetic;
+
+/**
+ * 合成xml配置中的bean，name来自占位符，timeout经过自定义转换器转换，dependency0~3为引用的其他bean
+ */
+public class SyntheticService {
+
+    private String name;
+
+    private Timeout timeout;
+
+    private SyntheticService dependency0;
+
+    private SyntheticService dependency1;
+
+    private SyntheticService dependency2;
+
+    private SyntheticService dependency3;
+
+    public String handle() {
+        return name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Timeout getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,17 @@
+package org.springframework.benchmark.synthetic;
+
+/**
+ * 需要通过自定义转换器从字符串得到的属性类型
+ */
+public class Timeout {
+
+    private final long millis;
+
+    public Timeout(long millis) {
+        this.millis = millis;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+}
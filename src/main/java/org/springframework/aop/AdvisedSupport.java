@@ -1,13 +1,16 @@
 package org.springframework.aop;
 
+import org.aopalliance.intercept.MethodInterceptor;
 import org.springframework.aop.framework.AdvisorChainFactory;
 import org.springframework.aop.framework.DefaultAdvisorChainFactory;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class AdvisedSupport {
     // 是否使用cglib代理
@@ -19,12 +22,18 @@ public class AdvisedSupport {
 
     /**
      * 缓存，如果某个方法的拦截器已经取出，那么再次取的时候直接从缓存调取
+     * 方法 -> 目标类 -> 不可变的拦截器链，advisor变化时整体替换
      */
-    private transient Map<Integer, List<Object>> methodCache;
+    private transient volatile Map<Method, Map<Class<?>, InterceptorChain>> methodCache;
 
     AdvisorChainFactory advisorChainFactory = new DefaultAdvisorChainFactory();
 
-    private List<Advisor> advisors = new ArrayList<>();
+    private final List<Advisor> advisors = new CopyOnWriteArrayList<>();
+
+    /**
+     * 冻结后不能再添加advisor，CGLIB代理可以在生成代理类时确定哪些方法不需要经过拦截器
+     */
+    private volatile boolean frozen = false;
 
 
     public AdvisedSupport(){
@@ -39,12 +48,28 @@ public class AdvisedSupport {
         this.proxyTargetClass = proxyTargetClass;
     }
 
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public void setFrozen(boolean frozen) {
+        this.frozen = frozen;
+    }
+
     public void addAdvisor(Advisor advisor){
+        if (frozen){
+            throw new IllegalStateException("Cannot add advisor: configuration is frozen");
+        }
         advisors.add(advisor);
+        // 先添加再替换缓存，正在用旧advisor计算的拦截器链只会写入被丢弃的旧缓存
+        this.methodCache = new ConcurrentHashMap<>(32);
     }
 
+    /**
+     * @return 只读的advisor列表，通过addAdvisor添加
+     */
     public List<Advisor> getAdvisors(){
-        return advisors;
+        return Collections.unmodifiableList(advisors);
     }
 
     public TargetSource getTargetSource() {
@@ -67,17 +92,57 @@ public class AdvisedSupport {
      * 用来返回方法的拦截器链
      * @param method 对应方法
      * @param targetClass 目标实类
-     * @return 该方法的拦截器链
+     * @return 该方法的拦截器链，不可修改
      */
     public List<Object> getInterceptorsAndDynamicInterceptionAdvice(Method method,Class<?> targetClass){
-        Integer cacheKey = method.hashCode();
-        // 先从缓存中寻找是否存在拦截器链
-        List<Object> cached = this.methodCache.get(cacheKey);
-        if (cached == null){
-            cached = this.advisorChainFactory.getInterceptorsAndDynamicInterceptionAdvice(
-                    this,method,targetClass);
-            this.methodCache.put(cacheKey,cached);
+        return getInterceptorChain(method, targetClass).list;
+    }
+
+    /**
+     * 代理调用时使用的拦截器链，查找缓存时不分配对象
+     * @param method 对应方法
+     * @param targetClass 目标实类
+     * @return 缓存的拦截器数组，所有调用共享，不能修改
+     */
+    public MethodInterceptor[] getInterceptors(Method method,Class<?> targetClass){
+        return getInterceptorChain(method, targetClass).interceptors;
+    }
+
+    private InterceptorChain getInterceptorChain(Method method,Class<?> targetClass){
+        Class<?> actualClass = (targetClass != null ? targetClass : method.getDeclaringClass());
+        Map<Method, Map<Class<?>, InterceptorChain>> cache = this.methodCache;
+        // 先从缓存中寻找是否存在拦截器链，先按方法再按目标类查找，不需要创建组合key
+        Map<Class<?>, InterceptorChain> chains = cache.get(method);
+        if (chains == null){
+            chains = cache.computeIfAbsent(method, key -> new ConcurrentHashMap<>(4));
+        }
+        InterceptorChain chain = chains.get(actualClass);
+        if (chain == null){
+            chain = chains.computeIfAbsent(actualClass, key -> new InterceptorChain(
+                    this.advisorChainFactory.getInterceptorsAndDynamicInterceptionAdvice(this, method, key)));
+        }
+        return chain;
+    }
+
+    /**
+     * 缓存的拦截器链，同时保存数组和只读列表，两种形式都不需要在调用时复制
+     */
+    private static final class InterceptorChain {
+
+        private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
+
+        private final MethodInterceptor[] interceptors;
+
+        private final List<Object> list;
+
+        private InterceptorChain(List<Object> chain) {
+            if (chain == null || chain.isEmpty()){
+                this.interceptors = NO_INTERCEPTORS;
+                this.list = Collections.emptyList();
+            } else {
+                this.interceptors = chain.toArray(new MethodInterceptor[0]);
+                this.list = Collections.unmodifiableList(Arrays.asList((Object[]) this.interceptors));
+            }
         }
-        return cached;
     }
 }
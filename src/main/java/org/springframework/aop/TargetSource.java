@@ -14,6 +14,14 @@ public class TargetSource {
         return this.target.getClass().getInterfaces();
     }
 
+    /**
+     * 获取目标对象的实际类型，CGLIB代理以此作为父类
+     * @return 目标对象的类型
+     */
+    public Class<?> getTargetType(){
+        return this.target.getClass();
+    }
+
     public Object getTarget(){
         return this.target;
     }
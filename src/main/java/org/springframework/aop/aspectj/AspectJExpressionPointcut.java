@@ -1,5 +1,6 @@
 package org.springframework.aop.aspectj;
 
+import cn.hutool.core.util.ClassUtil;
 import org.aspectj.weaver.tools.PointcutExpression;
 import org.aspectj.weaver.tools.PointcutParser;
 import org.aspectj.weaver.tools.PointcutPrimitive;
@@ -24,8 +25,20 @@ public class AspectJExpressionPointcut implements Pointcut, ClassFilter, MethodM
 
     private final PointcutExpression pointcutExpression;
 
+    /**
+     * 使用加载bean类型的类加载器(当前线程的上下文类加载器)解析表达式中的类型
+     * @param expression 切点表达式
+     */
     public AspectJExpressionPointcut(String expression){
-        PointcutParser pointcutParser = PointcutParser.getPointcutParserSupportingSpecifiedPrimitivesAndUsingSpecifiedClassLoaderForResolution(SUPPORTED_PRIMITIVES, this.getClass().getClassLoader());
+        this(expression, ClassUtil.getClassLoader());
+    }
+
+    /**
+     * @param expression 切点表达式
+     * @param classLoader 解析表达式以及被匹配类型时使用的类加载器，需要能加载到被代理的bean类型
+     */
+    public AspectJExpressionPointcut(String expression, ClassLoader classLoader){
+        PointcutParser pointcutParser = PointcutParser.getPointcutParserSupportingSpecifiedPrimitivesAndUsingSpecifiedClassLoaderForResolution(SUPPORTED_PRIMITIVES, classLoader);
         pointcutExpression = pointcutParser.parsePointcutExpression(expression);
     }
 
@@ -0,0 +1,38 @@
+package org.springframework.aop.framework;
+
+import java.lang.reflect.Method;
+
+/**
+ * 代理内部使用的方法判断
+ */
+final class AopUtils {
+
+    private AopUtils() {
+    }
+
+    static boolean isEqualsMethod(Method method) {
+        return method.getName().equals("equals") && method.getParameterCount() == 1
+                && method.getParameterTypes()[0] == Object.class;
+    }
+
+    static boolean isHashCodeMethod(Method method) {
+        return method.getName().equals("hashCode") && method.getParameterCount() == 0;
+    }
+
+    static boolean isToStringMethod(Method method) {
+        return method.getName().equals("toString") && method.getParameterCount() == 0;
+    }
+
+    /**
+     * equals、hashCode、toString不经过拦截器链，直接调用目标对象
+     * @param method 被调用的方法
+     * @return 是否直接调用目标对象
+     */
+    static boolean isObjectIdentityMethod(Method method) {
+        return isEqualsMethod(method) || isHashCodeMethod(method) || isToStringMethod(method);
+    }
+
+    static boolean isFinalizeMethod(Method method) {
+        return method.getName().equals("finalize") && method.getParameterCount() == 0;
+    }
+}
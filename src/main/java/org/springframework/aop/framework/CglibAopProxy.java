@@ -1,16 +1,40 @@
 package org.springframework.aop.framework;
 
+import net.sf.cglib.core.ReflectUtils;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
+import net.sf.cglib.proxy.Dispatcher;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
-import org.aopalliance.intercept.MethodInvocation;
+import net.sf.cglib.proxy.NoOp;
 import org.springframework.aop.AdvisedSupport;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CglibAopProxy implements AopProxy{
 
+    // 回调在callbacks数组中的下标，由ProxyCallbackFilter按方法选择
+    private static final int AOP_PROXY = 0;
+
+    private static final int DISPATCH_TARGET = 1;
+
+    private static final int NO_OVERRIDE = 2;
+
+    /**
+     * 每个线程复用的调用对象
+     */
+    private static final ThreadLocal<InvocationStack<CglibMethodInvocation>> INVOCATIONS =
+            ThreadLocal.withInitial(() -> new InvocationStack<>(CglibMethodInvocation::new));
+
+    private static final Class<?>[] CALLBACK_TYPES = {DynamicAdvisedInterceptor.class, TargetDispatcher.class, NoOp.class};
+
     private final AdvisedSupport advised;
 
     public CglibAopProxy(AdvisedSupport advised){
@@ -18,14 +42,144 @@ public class CglibAopProxy implements AopProxy{
     }
     @Override
     public Object getProxy() {
+        Class<?> superclass = advised.getTargetSource().getTargetType();
+        // 获得实现类的接口
+        Class<?>[] interfaces = advised.getTargetSource().getTargetClass();
+        // 代理类会覆盖的方法，以及每个方法选择的回调
+        List<Method> methods = new ArrayList<>();
+        Enhancer.getMethods(superclass, interfaces, methods);
+        int[] callbackIndexes = new int[methods.size()];
+        for (int i = 0; i < callbackIndexes.length; i++) {
+            callbackIndexes[i] = selectCallback(methods.get(i), superclass);
+        }
+        ProxyClassKey key = new ProxyClassKey(superclass, interfaces, advised.isFrozen(), callbackIndexes);
+        Class<?> proxyClass = ProxyClassCache.getSharedInstance().getProxyClass(superclass, key,
+                () -> createProxyClass(key, methods));
+        // 设置回调方法，每个方法通过CallbackFilter选择其中一个
+        Callback[] callbacks = {
+                new DynamicAdvisedInterceptor(advised),
+                new TargetDispatcher(advised),
+                NoOp.INSTANCE
+        };
+        // 回调通过线程变量传给代理类的构造器
+        Enhancer.registerCallbacks(proxyClass, callbacks);
+        try {
+            return ReflectUtils.newInstance(proxyClass);
+        } finally {
+            Enhancer.registerCallbacks(proxyClass, null);
+        }
+    }
+
+    /**
+     * 为代理类的方法选择回调：
+     * equals、hashCode、toString直接调用目标对象，finalize不代理；
+     * 配置冻结后没有匹配advisor的方法直接调用目标对象，其余方法经过拦截器链
+     */
+    private int selectCallback(Method method, Class<?> targetType) {
+        if (AopUtils.isFinalizeMethod(method)) {
+            return NO_OVERRIDE;
+        }
+        if (AopUtils.isObjectIdentityMethod(method)) {
+            return DISPATCH_TARGET;
+        }
+        if (advised.isFrozen() && advised.getInterceptors(method, targetType).length == 0) {
+            return DISPATCH_TARGET;
+        }
+        return AOP_PROXY;
+    }
+
+    private static Class<?> createProxyClass(ProxyClassKey key, List<Method> methods) {
         // 创建动态代理增强类
         Enhancer enhancer = new Enhancer();
-        enhancer.setSuperclass(advised.getTargetSource().getTarget().getClass());
-        // 获得实现类的接口
-        enhancer.setInterfaces(advised.getTargetSource().getTargetClass());
-        // 设置回调方法
-        enhancer.setCallback(new DynamicAdvisedInterceptor(advised));
-        return enhancer.create();
+        enhancer.setSuperclass(key.superclass);
+        enhancer.setInterfaces(key.interfaces);
+        enhancer.setCallbackFilter(new ProxyCallbackFilter(methods, key.callbackIndexes));
+        enhancer.setCallbackTypes(CALLBACK_TYPES);
+        // 由ProxyClassCache缓存代理类
+        enhancer.setUseCache(false);
+        return enhancer.createClass();
+    }
+
+    /**
+     * 代理类的结构由父类、接口和每个方法选择的回调决定，回调的类型是固定的
+     * key被全局缓存，不能引用advisor，否则会让advisor所在的容器无法回收
+     */
+    private static final class ProxyClassKey {
+
+        private final Class<?> superclass;
+
+        private final Class<?>[] interfaces;
+
+        private final boolean frozen;
+
+        private final int[] callbackIndexes;
+
+        private final int hashCode;
+
+        private ProxyClassKey(Class<?> superclass, Class<?>[] interfaces, boolean frozen, int[] callbackIndexes) {
+            this.superclass = superclass;
+            this.interfaces = interfaces;
+            this.frozen = frozen;
+            this.callbackIndexes = callbackIndexes;
+            this.hashCode = (superclass.hashCode() * 31 + Arrays.hashCode(interfaces)) * 31 + Arrays.hashCode(callbackIndexes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ProxyClassKey)) {
+                return false;
+            }
+            ProxyClassKey otherKey = (ProxyClassKey) other;
+            return this.frozen == otherKey.frozen && this.superclass == otherKey.superclass
+                    && Arrays.equals(this.interfaces, otherKey.interfaces)
+                    && Arrays.equals(this.callbackIndexes, otherKey.callbackIndexes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * 按生成key时计算好的回调下标为代理类的方法选择回调
+     */
+    private static class ProxyCallbackFilter implements CallbackFilter {
+
+        private final Map<Method, Integer> callbackIndexes;
+
+        private ProxyCallbackFilter(List<Method> methods, int[] callbackIndexes) {
+            this.callbackIndexes = new HashMap<>(methods.size() * 2);
+            for (int i = 0; i < callbackIndexes.length; i++) {
+                this.callbackIndexes.put(methods.get(i), callbackIndexes[i]);
+            }
+        }
+
+        @Override
+        public int accept(Method method) {
+            Integer index = callbackIndexes.get(method);
+            return index != null ? index : AOP_PROXY;
+        }
+    }
+
+    /**
+     * 直接在目标对象上调用方法，不经过拦截器也不需要MethodProxy
+     */
+    private static class TargetDispatcher implements Dispatcher {
+
+        private final AdvisedSupport advised;
+
+        private TargetDispatcher(AdvisedSupport advised) {
+            this.advised = advised;
+        }
+
+        @Override
+        public Object loadObject() {
+            return advised.getTargetSource().getTarget();
+        }
     }
 
     /**
@@ -44,18 +198,21 @@ public class CglibAopProxy implements AopProxy{
             // 获取目标对象
             Object target = advised.getTargetSource().getTarget();
             Class<?> targetClass = target.getClass();
-            Object retVal = null;
             // 获取拦截器链
-            List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
-            CglibMethodInvocation methodInvocation = new CglibMethodInvocation(proxy, target, method, args, targetClass, chain, methodProxy);
-            if (chain == null || chain.isEmpty()) {
+            org.aopalliance.intercept.MethodInterceptor[] chain = this.advised.getInterceptors(method, targetClass);
+            if (chain.length == 0) {
                 // 代理方法
-                retVal = methodProxy.invoke(target,args);
-            } else {
-                // 执行拦截器链条
-                retVal = methodInvocation.proceed();
+                return methodProxy.invoke(target,args);
+            }
+            // 执行拦截器链条，调用对象在线程内复用
+            InvocationStack<CglibMethodInvocation> invocations = INVOCATIONS.get();
+            CglibMethodInvocation invocation = invocations.push();
+            try {
+                invocation.init(proxy, target, method, args, targetClass, chain, methodProxy);
+                return invocation.proceed();
+            } finally {
+                invocations.pop(invocation);
             }
-            return retVal;
         }
 
 
@@ -63,22 +220,35 @@ public class CglibAopProxy implements AopProxy{
 
     /**
      * CglibMethodInvocation扩展 ReflectiveMethodInvocation 支持CGLIB代理
-     *
+     * 拦截器链执行完毕后通过MethodProxy(FastClass)调用目标方法，不经过Method.invoke
      */
     private static class CglibMethodInvocation extends ReflectiveMethodInvocation {
 
-        private final MethodProxy methodProxy;
+        /**
+         * 只有public且不是Object声明的方法才使用MethodProxy，其余方法仍然反射调用
+         */
+        private MethodProxy methodProxy;
 
-        public CglibMethodInvocation(Object proxy,Object target,Method method,
-                                     Object[] arguments,Class<?> targetClass,
-                                     List<Object> interceptorAndDynamicMethodMatchers,MethodProxy methodProxy){
-            super(proxy,target,method,arguments,targetClass,interceptorAndDynamicMethodMatchers);
-            this.methodProxy = methodProxy;
+        private void init(Object proxy,Object target,Method method,
+                          Object[] arguments,Class<?> targetClass,
+                          org.aopalliance.intercept.MethodInterceptor[] interceptors,MethodProxy methodProxy){
+            init(proxy,target,method,arguments,targetClass,interceptors);
+            this.methodProxy = (Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class)
+                    ? methodProxy : null;
         }
 
         @Override
-        public Object proceed() throws Throwable {
-            return super.proceed();
+        void clear() {
+            super.clear();
+            this.methodProxy = null;
+        }
+
+        @Override
+        protected Object invokeJoinpoint() throws Throwable {
+            if (this.methodProxy != null){
+                return this.methodProxy.invoke(this.target, this.arguments);
+            }
+            return super.invokeJoinpoint();
         }
     }
 }
@@ -0,0 +1,46 @@
+package org.springframework.aop.framework;
+
+import java.util.function.Supplier;
+
+/**
+ * 线程内复用的调用对象，advised方法嵌套调用时每一层使用不同的对象
+ * 嵌套超过MAX_DEPTH层时直接创建新的调用对象
+ */
+final class InvocationStack<T extends ReflectiveMethodInvocation> {
+
+    private static final int MAX_DEPTH = 8;
+
+    private final Supplier<T> factory;
+
+    private final Object[] invocations = new Object[MAX_DEPTH];
+
+    private int depth;
+
+    InvocationStack(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * @return 本层调用使用的对象，必须在finally中通过pop归还
+     */
+    @SuppressWarnings("unchecked")
+    T push() {
+        if (depth == MAX_DEPTH) {
+            return factory.get();
+        }
+        Object invocation = invocations[depth];
+        if (invocation == null) {
+            invocation = factory.get();
+            invocations[depth] = invocation;
+        }
+        depth++;
+        return (T) invocation;
+    }
+
+    void pop(T invocation) {
+        invocation.clear();
+        if (depth > 0 && invocations[depth - 1] == invocation) {
+            depth--;
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package org.springframework.aop.framework;
 
-import org.aopalliance.intercept.MethodInvocation;
+import org.aopalliance.intercept.MethodInterceptor;
 import org.springframework.aop.AdvisedSupport;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.List;
 
 /**
  * JDK的动态代理
  */
 public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
 
+    /**
+     * 每个线程复用的调用对象
+     */
+    private static final ThreadLocal<InvocationStack<ReflectiveMethodInvocation>> INVOCATIONS =
+            ThreadLocal.withInitial(() -> new InvocationStack<>(ReflectiveMethodInvocation::new));
+
     private final AdvisedSupport advised;
 
     public JdkDynamicAopProxy(AdvisedSupport advised) {
@@ -23,19 +29,35 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         // 获取目标对象
         Object target = advised.getTargetSource().getTarget();
+        // equals、hashCode、toString不查找拦截器链，直接调用目标对象
+        if (AopUtils.isObjectIdentityMethod(method)){
+            return invokeTarget(target, method, args);
+        }
         Class<?> targetClass = target.getClass();
-        Object retVal = null;
         // 获取拦截器链
-        List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method,targetClass);
-        if (chain == null || chain.isEmpty()){
-            return method.invoke(target, args);
-        }else {
-            // 将拦截器统一封装成ReflectiveMethodInvocation
-            MethodInvocation invocation = new ReflectiveMethodInvocation(proxy,target,method,args,targetClass,chain);
+        MethodInterceptor[] chain = this.advised.getInterceptors(method,targetClass);
+        if (chain.length == 0){
+            return invokeTarget(target, method, args);
+        }
+        // 将拦截器统一封装成ReflectiveMethodInvocation，调用对象在线程内复用
+        InvocationStack<ReflectiveMethodInvocation> invocations = INVOCATIONS.get();
+        ReflectiveMethodInvocation invocation = invocations.push();
+        try {
+            invocation.init(proxy,target,method,args,targetClass,chain);
             // 执行拦截器链条
-            retVal = invocation.proceed();
+            return invocation.proceed();
+        } finally {
+            invocations.pop(invocation);
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex){
+            // 抛出目标方法本身的异常
+            throw ex.getTargetException();
         }
-        return retVal;
     }
 
     /**
@@ -0,0 +1,113 @@
+package org.springframework.aop.framework;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * CGLIB代理类的缓存，相同的(父类, 接口, 回调结构)只生成一次代理类，之后只创建新的实例
+ * 缓存挂在父类上(ClassValue)，父类所在的类加载器被回收时缓存的代理类一起被回收
+ */
+public class ProxyClassCache implements ProxyClassCacheMBean {
+
+    public static final String DEFAULT_OBJECT_NAME = "org.springframework:type=ProxyClassCache";
+
+    private static final ProxyClassCache SHARED_INSTANCE = new ProxyClassCache();
+
+    private final ClassValue<Map<Object, Class<?>>> proxyClasses = new ClassValue<Map<Object, Class<?>>>() {
+        @Override
+        protected Map<Object, Class<?>> computeValue(Class<?> superclass) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
+    private final LongAdder generatedClasses = new LongAdder();
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private volatile ObjectName registeredName;
+
+    /**
+     * @return CglibAopProxy使用的缓存
+     */
+    public static ProxyClassCache getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    /**
+     * @param superclass 代理类的父类
+     * @param key 除父类外决定代理类结构的key，需要实现equals和hashCode
+     * @param generator 缓存未命中时生成代理类
+     * @return 代理类
+     */
+    Class<?> getProxyClass(Class<?> superclass, Object key, Supplier<Class<?>> generator) {
+        Map<Object, Class<?>> classes = proxyClasses.get(superclass);
+        Class<?> proxyClass = classes.get(key);
+        if (proxyClass != null) {
+            cacheHits.increment();
+            return proxyClass;
+        }
+        return classes.computeIfAbsent(key, k -> {
+            Class<?> generated = generator.get();
+            generatedClasses.increment();
+            return generated;
+        });
+    }
+
+    @Override
+    public long getGeneratedClassCount() {
+        return generatedClasses.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getMetaspaceUsedBytes() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if ("Metaspace".equals(pool.getName())) {
+                return pool.getUsage().getUsed();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 以DEFAULT_OBJECT_NAME注册到平台MBeanServer
+     * @return 注册的名称
+     */
+    public ObjectName registerMBean() {
+        try {
+            ObjectName name = ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(this, new ObjectName(DEFAULT_OBJECT_NAME)).getObjectName();
+            this.registeredName = name;
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register proxy class cache MBean", e);
+        }
+    }
+
+    /**
+     * 从平台MBeanServer中注销，未注册时不做任何操作
+     */
+    public void unregisterMBean() {
+        ObjectName name = this.registeredName;
+        if (name == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to unregister proxy class cache MBean [" + name + "]", e);
+        } finally {
+            this.registeredName = null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.springframework.aop.framework;
+
+/**
+ * ProxyClassCache的JMX管理接口
+ */
+public interface ProxyClassCacheMBean {
+
+    /**
+     * @return 生成并加载的代理类个数
+     */
+    long getGeneratedClassCount();
+
+    /**
+     * @return 复用已生成代理类的次数
+     */
+    long getCacheHits();
+
+    /**
+     * @return 当前已使用的metaspace字节数，JVM没有metaspace内存池时为-1
+     */
+    long getMetaspaceUsedBytes();
+}
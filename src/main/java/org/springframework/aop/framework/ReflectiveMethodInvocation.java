@@ -4,37 +4,71 @@ import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
 import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
 
-public class ReflectiveMethodInvocation implements MethodInvocation {
-    protected final Object proxy;
+/**
+ * 按拦截器数组依次执行拦截器，最后调用目标方法
+ * 代理创建的调用对象在线程内复用，只在本次同步调用期间有效，拦截器需要在调用结束后继续使用时应通过invocableClone复制
+ */
+public class ReflectiveMethodInvocation implements MethodInvocation, Cloneable {
 
-    protected final Object target;
+    private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
 
-    protected final Method method;
+    protected Object proxy;
 
-    protected final Object[] arguments;
+    protected Object target;
 
-    protected final Class<?> targetClass;
+    protected Method method;
 
-    protected final List<Object> interceptorsAndDynamicMethodMatchers;
+    protected Object[] arguments;
+
+    protected Class<?> targetClass;
+
+    /**
+     * 拦截器链，通常是AdvisedSupport缓存的数组，所有调用共享，不能修改
+     */
+    protected MethodInterceptor[] interceptors = NO_INTERCEPTORS;
 
     /**
      * 当前的拦截器坐标
      */
     private int currentInterceptorIndex = -1;
 
+    /**
+     * 供InvocationStack创建可复用的调用对象
+     */
+    ReflectiveMethodInvocation() {
+    }
+
     public ReflectiveMethodInvocation(Object proxy, Object target, Method method, Object[] arguments, Class<?> targetClass, List<Object> chain) {
+        this(proxy, target, method, arguments, targetClass, chain.toArray(new MethodInterceptor[0]));
+    }
+
+    public ReflectiveMethodInvocation(Object proxy, Object target, Method method, Object[] arguments, Class<?> targetClass, MethodInterceptor[] interceptors) {
+        init(proxy, target, method, arguments, targetClass, interceptors);
+    }
+
+    /**
+     * 复用调用对象时重新设置本次调用的信息
+     */
+    final void init(Object proxy, Object target, Method method, Object[] arguments, Class<?> targetClass, MethodInterceptor[] interceptors) {
         this.proxy = proxy;
         this.target = target;
         this.method = method;
         this.arguments = arguments;
         this.targetClass = targetClass;
-        this.interceptorsAndDynamicMethodMatchers = chain;
+        this.interceptors = interceptors;
+        this.currentInterceptorIndex = -1;
     }
 
-
+    /**
+     * 调用结束后释放引用，避免线程持有目标对象和参数
+     */
+    void clear() {
+        init(null, null, null, null, null, NO_INTERCEPTORS);
+    }
 
     @Override
     public Method getMethod() {
@@ -49,16 +83,44 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
     @Override
     public Object proceed() throws Throwable {
         // 初始currentInterceptorIndex为-1，每调用一次proceed就把currentInterceptorIndex+1
-        if (this.currentInterceptorIndex == this.interceptorsAndDynamicMethodMatchers.size() - 1){
+        if (this.currentInterceptorIndex == this.interceptors.length - 1){
             // 当触发次数 = 拦截器个数时
             // 触发当前method方法
-            return method.invoke(this.target,this.arguments);
+            return invokeJoinpoint();
         }
 
-        Object interceptorOrInterceptionAdvice =
-                this.interceptorsAndDynamicMethodMatchers.get(++this.currentInterceptorIndex);
         // 普通拦截器，直接触发拦截器invoke方法
-        return ((MethodInterceptor) interceptorOrInterceptionAdvice).invoke(this);
+        return this.interceptors[++this.currentInterceptorIndex].invoke(this);
+    }
+
+    /**
+     * 拦截器链执行完毕后调用目标方法，子类可以使用更快的调用方式
+     * @return 目标方法的返回值
+     * @throws Throwable 目标方法本身抛出的异常
+     */
+    protected Object invokeJoinpoint() throws Throwable {
+        try {
+            return method.invoke(this.target,this.arguments);
+        } catch (InvocationTargetException ex){
+            // 抛出目标方法本身的异常
+            throw ex.getTargetException();
+        }
+    }
+
+    /**
+     * 复制当前的调用，副本从当前拦截器位置继续执行，可以在本次调用结束后或在其他线程中使用
+     * @return 独立的调用对象
+     */
+    public MethodInvocation invocableClone() {
+        try {
+            ReflectiveMethodInvocation clone = (ReflectiveMethodInvocation) super.clone();
+            if (this.arguments != null){
+                clone.arguments = this.arguments.clone();
+            }
+            return clone;
+        } catch (CloneNotSupportedException e){
+            throw new IllegalStateException("Should be able to clone object of type [" + getClass() + "]", e);
+        }
     }
 
     @Override
@@ -15,14 +15,14 @@ import org.springframework.beans.factory.config.InstantiationAwareBeanPostProces
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPostProcessor, BeanFactoryAware {
 
     private DefaultListableBeanFactory beanFactory;
 
-    private Set<Object> earlyProxyReferences = new HashSet<>();
+    private final Set<Object> earlyProxyReferences = ConcurrentHashMap.newKeySet();
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = (DefaultListableBeanFactory) beanFactory;
@@ -35,7 +35,8 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
 
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-        if(!earlyProxyReferences.contains(beanName)) {
+        // 提前暴露引用时已经处理过，移除标记，bean被销毁后重新创建时照常处理
+        if(!earlyProxyReferences.remove(beanName)) {
             return wrapIfNecessary(bean,beanName);
         }
 
@@ -63,6 +64,11 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
         return wrapIfNecessary(bean,beanName);
     }
 
+    @Override
+    public boolean isApplicableTo(Class<?> beanClass) {
+        return !isInfrastructureClass(beanClass);
+    }
+
     protected Object wrapIfNecessary(Object bean,String beanName) {
         // 避免死循环
         if (isInfrastructureClass(bean.getClass())) {
@@ -82,6 +88,8 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
                 }
             }
             if (!proxyFactory.getAdvisors().isEmpty()) {
+                // 之后不会再添加advisor，没有匹配advisor的方法可以直接调用目标对象
+                proxyFactory.setFrozen(true);
                 return proxyFactory.getProxy();
             }
         } catch (Exception ex) {
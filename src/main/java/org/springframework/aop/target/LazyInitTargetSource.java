@@ -0,0 +1,79 @@
+package org.springframework.aop.target;
+
+import org.springframework.aop.TargetSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 延迟获取目标bean的TargetSource，第一次调用代理方法时才从bean工厂中获取(创建)目标bean，之后一直使用该实例
+ */
+public class LazyInitTargetSource extends TargetSource {
+
+    private final BeanFactory beanFactory;
+
+    private final String targetBeanName;
+
+    private final Class<?> targetType;
+
+    private volatile Object target;
+
+    /**
+     * @param beanFactory 用于获取目标bean
+     * @param targetBeanName 目标bean的名字
+     * @param targetType 目标bean的类型，用于在目标bean创建之前生成代理
+     */
+    public LazyInitTargetSource(BeanFactory beanFactory, String targetBeanName, Class<?> targetType) {
+        super(null);
+        this.beanFactory = beanFactory;
+        this.targetBeanName = targetBeanName;
+        this.targetType = targetType;
+    }
+
+    /**
+     * @return 目标类型实现的全部接口，包括父类实现的接口
+     */
+    @Override
+    public Class<?>[] getTargetClass() {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = targetType; type != null; type = type.getSuperclass()) {
+            for (Class<?> anInterface : type.getInterfaces()) {
+                interfaces.add(anInterface);
+            }
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    @Override
+    public Object getTarget() throws BeansException {
+        Object target = this.target;
+        if (target == null){
+            synchronized (this){
+                target = this.target;
+                if (target == null){
+                    target = beanFactory.getBean(targetBeanName);
+                    this.target = target;
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * @return 目标bean是否已经获取
+     */
+    public boolean isInitialized(){
+        return target != null;
+    }
+
+    public String getTargetBeanName() {
+        return targetBeanName;
+    }
+}
@@ -1,11 +1,14 @@
 package org.springframework.beans;
 
+/**
+ * 单个属性值，不可变；属性名会被intern，大量BeanDefinition中的同名属性共享同一个字符串
+ */
 public class PropertyValue {
     private final String name;
     private final Object value;
 
     public PropertyValue(String name, Object value) {
-        this.name = name;
+        this.name = name != null ? name.intern() : null;
         this.value = value;
     }
 
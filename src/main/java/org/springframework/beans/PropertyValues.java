@@ -1,29 +1,101 @@
 package org.springframework.beans;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
+/**
+ * bean的属性值集合
+ * 写时复制：修改时替换为新的不可变列表，读取不加锁也不复制，asList()返回的列表只有在属性被修改后才会变化
+ */
 public class PropertyValues {
-    private final List<PropertyValue> propertyValueList = new ArrayList<>();
 
-    public void addPropertyValue(PropertyValue pv) {
-        for (int i = 0; i < this.propertyValueList.size(); i++) {
-            PropertyValue curPv = this.propertyValueList.get(i);
-            if(curPv.getName().equals(pv.getName())){
+    // 需要在EMPTY之前初始化
+    private static final PropertyValueList EMPTY_LIST = new PropertyValueList(new PropertyValue[0]);
+
+    /**
+     * 共享的空属性集，不能修改
+     */
+    public static final PropertyValues EMPTY = new PropertyValues() {
+        @Override
+        public void addPropertyValue(PropertyValue pv) {
+            throw new UnsupportedOperationException("Cannot add property values to PropertyValues.EMPTY");
+        }
+    };
+
+    private volatile PropertyValueList propertyValueList = EMPTY_LIST;
+
+    public synchronized void addPropertyValue(PropertyValue pv) {
+        PropertyValue[] current = this.propertyValueList.propertyValues;
+        for (int i = 0; i < current.length; i++) {
+            if(current[i].getName().equals(pv.getName())){
                 // 就覆盖原来的值
-                this.propertyValueList.set(i,pv);
+                PropertyValue[] updated = current.clone();
+                updated[i] = pv;
+                this.propertyValueList = new PropertyValueList(updated);
                 return ;
             }
         }
         // 不存在，就添加
-        this.propertyValueList.add(pv);
+        PropertyValue[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = pv;
+        this.propertyValueList = new PropertyValueList(updated);
     }
 
     /**
-     * 返回全部属性
+     * 返回全部属性的副本，创建bean等频繁调用的地方应使用asList()
      * @return 包含全部属性的数组
      */
     public PropertyValue[] getPropertyValues() {
-        return this.propertyValueList.toArray(new PropertyValue[0]);
+        return this.propertyValueList.propertyValues.clone();
+    }
+
+    /**
+     * 返回全部属性的只读列表，不复制
+     * @return 当前属性的不可变快照，属性被修改后返回新的列表
+     */
+    public List<PropertyValue> asList() {
+        return this.propertyValueList;
+    }
+
+    /**
+     * @param propertyName 属性名
+     * @return 对应的属性，不存在时为null
+     */
+    public PropertyValue getPropertyValue(String propertyName) {
+        for (PropertyValue propertyValue : this.propertyValueList.propertyValues) {
+            if (propertyValue.getName().equals(propertyName)){
+                return propertyValue;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return this.propertyValueList.propertyValues.length;
+    }
+
+    public boolean isEmpty() {
+        return this.propertyValueList.propertyValues.length == 0;
+    }
+
+    private static final class PropertyValueList extends AbstractList<PropertyValue> implements RandomAccess {
+
+        private final PropertyValue[] propertyValues;
+
+        private PropertyValueList(PropertyValue[] propertyValues) {
+            this.propertyValues = propertyValues;
+        }
+
+        @Override
+        public PropertyValue get(int index) {
+            return propertyValues[index];
+        }
+
+        @Override
+        public int size() {
+            return propertyValues.length;
+        }
     }
 }
@@ -22,5 +22,13 @@ public interface ConfigurableListableBeanFactory extends ListableBeanFactory, Au
      */
     void preInstantiateSingletons() throws BeansException;
 
+    /**
+     * 冻结配置：将已创建的单例编译为不可变的查找表，此后getBean优先查表；
+     * 之后不允许再注册BeanDefinition、BeanPostProcessor或替换已冻结的单例
+     */
+    void freezeConfiguration();
+
+    boolean isConfigurationFrozen();
+
     void addBeanPostProcessor(BeanPostProcessor beanPostProcessor);
 }
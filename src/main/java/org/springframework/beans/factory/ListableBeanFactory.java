@@ -15,6 +15,21 @@ public interface ListableBeanFactory extends BeanFactory{
      */
     <T> Map<String,T> getBeansOfType(Class<T> type) throws BeansException;
 
+    /**
+     * 返回指定类型(包括子类和实现类)的所有bean的名称
+     * @param type 类型
+     * @return 匹配的bean名称
+     */
+    String[] getBeanNamesForType(Class<?> type);
+
+    /**
+     * 返回指定类型的bean获取句柄，可以作为ObjectProvider或ObjectFactory注入
+     * @param requiredType bean的类型
+     * @return 获取句柄
+     * @param <T> bean的类型
+     */
+    <T> ObjectProvider<T> getBeanProvider(Class<T> requiredType);
+
     /**
      * 返回定义的所有bean的名称
      * @return 包含所有bean的集合
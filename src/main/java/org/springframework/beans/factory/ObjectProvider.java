@@ -0,0 +1,41 @@
+package org.springframework.beans.factory;
+
+import org.springframework.beans.BeansException;
+
+import java.util.stream.Stream;
+
+/**
+ * 可注入的bean获取句柄，适用于原型bean或可选的依赖
+ * 候选bean的名称只解析一次，之后每次获取直接按名称走单例或原型的创建流程，不再按类型扫描
+ * @param <T> bean的类型
+ */
+public interface ObjectProvider<T> extends ObjectFactory<T> {
+
+    /**
+     * 获取唯一的候选bean
+     * @return bean
+     * @throws BeansException 没有候选bean或者候选bean不唯一时抛出异常
+     */
+    @Override
+    T getObject() throws BeansException;
+
+    /**
+     * 获取候选bean，没有候选bean时返回null
+     * @return bean，可能为null
+     * @throws BeansException 候选bean不唯一时抛出异常
+     */
+    T getIfAvailable() throws BeansException;
+
+    /**
+     * 获取候选bean，没有候选bean或者候选bean不唯一时返回null
+     * @return bean，可能为null
+     * @throws BeansException 创建bean失败时抛出异常
+     */
+    T getIfUnique() throws BeansException;
+
+    /**
+     * 依次获取全部候选bean
+     * @return 候选bean组成的流，获取时才创建bean
+     */
+    Stream<T> stream();
+}
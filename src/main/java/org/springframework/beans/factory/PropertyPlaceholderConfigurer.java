@@ -5,6 +5,7 @@ import org.springframework.beans.PropertyValue;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.util.StringValueResolver;
@@ -60,16 +61,47 @@ public class PropertyPlaceholderConfigurer implements BeanFactoryPostProcessor {
         for (String beanName : beanDefinitionNames) {
             BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
             resolvePropertyValues(beanDefinition,properties);
+            resolveConstructorArgumentValues(beanDefinition,properties);
         }
     }
 
     private void resolvePropertyValues(BeanDefinition beanDefinition,Properties properties){
+        if (!beanDefinition.hasPropertyValues()){
+            return;
+        }
         PropertyValues propertyValues = beanDefinition.getPropertyValues();
-        for (PropertyValue propertyValue : propertyValues.getPropertyValues()) {
+        // asList()是不可变的快照，遍历时可以替换属性
+        for (PropertyValue propertyValue : propertyValues.asList()) {
             Object value = propertyValue.getValue();
             if (value instanceof String){
-                value = resolvePlaceholder((String) value,properties);
-                propertyValues.addPropertyValue(new PropertyValue(propertyValue.getName(),value));
+                String resolved = resolvePlaceholder((String) value,properties);
+                // 没有占位符的属性保持不变
+                if (!resolved.equals(value)){
+                    propertyValues.addPropertyValue(new PropertyValue(propertyValue.getName(),resolved));
+                }
+            }
+        }
+    }
+
+    /**
+     * 替换构造器参数中的占位符，ValueHolder不可变，替换为新的实例，已编译的构造计划会因此重新编译
+     * @param beanDefinition bean定义
+     * @param properties 加载的文件
+     */
+    private void resolveConstructorArgumentValues(BeanDefinition beanDefinition,Properties properties){
+        if (!beanDefinition.hasConstructorArgumentValues()){
+            return;
+        }
+        ConstructorArgumentValues argumentValues = beanDefinition.getConstructorArgumentValues();
+        ConstructorArgumentValues.ValueHolder[] valueHolders = argumentValues.getArgumentValues();
+        for (int i = 0; i < valueHolders.length; i++) {
+            ConstructorArgumentValues.ValueHolder valueHolder = valueHolders[i];
+            if (valueHolder != null && valueHolder.getValue() instanceof String){
+                String value = (String) valueHolder.getValue();
+                String resolved = resolvePlaceholder(value,properties);
+                if (!resolved.equals(value)){
+                    argumentValues.addIndexedArgumentValue(i,new ConstructorArgumentValues.ValueHolder(resolved,valueHolder.getType()));
+                }
             }
         }
     }
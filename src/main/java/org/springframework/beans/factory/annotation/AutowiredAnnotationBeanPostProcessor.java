@@ -7,10 +7,14 @@ import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.convert.ConversionService;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Type;
 
 public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareBeanPostProcessor, BeanFactoryAware {
 
@@ -24,12 +28,28 @@ public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareB
 
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-        return null;
+        // 返回null会中断后续BeanPostProcessor的执行，因此原样返回
+        return bean;
     }
 
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-        return null;
+        return bean;
+    }
+
+    /**
+     * 只有声明了@Value或@Autowired属性的类才需要处理
+     * @param beanClass bean的类型
+     * @return 判断结果
+     */
+    @Override
+    public boolean isApplicableTo(Class<?> beanClass) {
+        for (Field field : beanClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Value.class) || field.isAnnotationPresent(Autowired.class)){
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -74,12 +94,27 @@ public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareB
             Autowired autowiredAnnotation = field.getAnnotation(Autowired.class);
             if (autowiredAnnotation != null){
                 Class<?> fieldType = field.getType();
+                if (fieldType == ObjectProvider.class || fieldType == ObjectFactory.class){
+                    // 注入获取句柄，使用时才获取bean
+                    BeanUtil.setFieldValue(bean,field.getName(),beanFactory.getBeanProvider(resolveProvidedType(field)));
+                    continue;
+                }
                 String dependentBeanName = null;
                 Qualifier qualifierAnnotation = field.getAnnotation(Qualifier.class);
+                Lazy lazyAnnotation = field.getAnnotation(Lazy.class);
+                boolean lazy = lazyAnnotation != null && lazyAnnotation.value();
                 Object dependentBean = null;
                 if (qualifierAnnotation != null){
                     dependentBeanName = qualifierAnnotation.value();
-                    dependentBean = beanFactory.getBean(dependentBeanName);
+                }else {
+                    String[] candidateNames = beanFactory.getBeanNamesForType(fieldType);
+                    if (candidateNames.length == 1){
+                        dependentBeanName = candidateNames[0];
+                    }
+                }
+                if (dependentBeanName != null){
+                    // 所依赖的bean懒加载或者属性标注了@Lazy时注入延迟解析代理
+                    dependentBean = beanFactory.resolveDependency(dependentBeanName, fieldType, lazy, beanName);
                 }else {
                     dependentBean = beanFactory.getBean(fieldType);
                 }
@@ -89,4 +124,19 @@ public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareB
         return pvs;
     }
 
+    /**
+     * 获取ObjectProvider/ObjectFactory属性的泛型参数
+     * @param field 属性
+     * @return 所要获取的bean的类型
+     */
+    private Class<?> resolveProvidedType(Field field){
+        Type typeArgument = TypeUtil.getTypeArgument(field.getGenericType());
+        Class<?> providedType = typeArgument != null ? TypeUtil.getClass(typeArgument) : null;
+        if (providedType == null){
+            throw new BeansException("Cannot resolve the bean type of " + field.getType().getSimpleName()
+                    + " field [" + field.getName() + "] in [" + field.getDeclaringClass().getName() + "]");
+        }
+        return providedType;
+    }
+
 }
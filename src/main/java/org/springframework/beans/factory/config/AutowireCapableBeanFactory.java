@@ -22,4 +22,28 @@ public interface AutowireCapableBeanFactory extends BeanFactory {
      * @throws BeansException 处理失败抛出异常
      */
     Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName) throws BeansException;
+
+    /**
+     * 解析注入点所依赖的bean
+     * 所依赖的bean是尚未创建的懒加载单例，或者注入点要求延迟解析时，返回延迟解析代理，第一次调用方法时才创建真正的bean
+     * @param beanName 所依赖的bean的名字
+     * @param requiredType 注入点的类型，代理需要能够赋值给该类型
+     * @param lazy 注入点是否要求延迟解析
+     * @return 所依赖的bean或其代理
+     * @throws BeansException 获取失败抛出异常
+     */
+    default Object resolveDependency(String beanName, Class<?> requiredType, boolean lazy) throws BeansException {
+        return resolveDependency(beanName, requiredType, lazy, null);
+    }
+
+    /**
+     * 解析注入点所依赖的bean，并登记注入方对它的依赖，销毁时注入方先于所依赖的bean销毁
+     * @param beanName 所依赖的bean的名字
+     * @param requiredType 注入点的类型，代理需要能够赋值给该类型
+     * @param lazy 注入点是否要求延迟解析
+     * @param requestingBeanName 注入方bean的名字，为null时不登记依赖关系
+     * @return 所依赖的bean或其代理
+     * @throws BeansException 获取失败抛出异常
+     */
+    Object resolveDependency(String beanName, Class<?> requiredType, boolean lazy, String requestingBeanName) throws BeansException;
 }
@@ -10,14 +10,35 @@ public class BeanDefinition {
      */
     public static String SCOPE_SINGLETON = "singleton";
     public static String SCOPE_PROTOTYPE = "prototype";
+    /**
+     * 池化作用域，实例使用完毕后归还到池中复用
+     */
+    public static String SCOPE_POOLED = "pooled";
+    /**
+     * 线程作用域，每个线程持有各自的实例
+     */
+    public static String SCOPE_THREAD = "thread";
+    /**
+     * 任务作用域，实例只在一次ScopedValueScope#run执行期间有效
+     */
+    public static String SCOPE_SCOPED_VALUE = "scoped-value";
+
+    private static final byte FLAG_SINGLETON = 1;
+    private static final byte FLAG_PROTOTYPE = 1 << 1;
+    private static final byte FLAG_LAZY_INIT = 1 << 2;
+
     /**
      * bean class 类
      */
     private Class beanClass;
     /**
-     * class 属性值
+     * class 属性值，没有属性时为null，需要时才创建
+     */
+    private volatile PropertyValues propertyValues;
+    /**
+     * 构造器参数值，没有构造器参数时为null，需要时才创建
      */
-    private PropertyValues propertyValues;
+    private volatile ConstructorArgumentValues constructorArgumentValues;
     /**
      * 通过反射 初始化方法名称
      */
@@ -29,37 +50,42 @@ public class BeanDefinition {
     /**
      * 作用域 默认单例Bean
      */
-    private String scope = SCOPE_PROTOTYPE;
-    private boolean singleton = true;
-    private boolean prototype = false;
+    private String scope = SCOPE_SINGLETON;
     /**
-     * 懒加载 默认非懒加载
+     * 是否单例、是否原型、是否懒加载，按位保存
      */
-    private boolean lazyInit = false;
+    private byte flags = FLAG_SINGLETON;
 
     public void setScope(String scope) {
-        this.scope = scope;
-        // 如果为相应类型则返回true，否则返回false
-        this.singleton = SCOPE_SINGLETON.equals(scope);
-        this.prototype = SCOPE_PROTOTYPE.equals(scope);
+        this.scope = scope != null ? scope.intern() : SCOPE_SINGLETON;
+        // 如果为相应类型则置位，否则清除
+        this.flags = (byte) (flags & FLAG_LAZY_INIT);
+        if (SCOPE_SINGLETON.equals(this.scope)){
+            this.flags |= FLAG_SINGLETON;
+        } else if (SCOPE_PROTOTYPE.equals(this.scope)){
+            this.flags |= FLAG_PROTOTYPE;
+        }
+    }
+
+    public String getScope() {
+        return scope;
     }
 
     public boolean isPrototype() {
-        return prototype;
+        return (flags & FLAG_PROTOTYPE) != 0;
     }
 
     public boolean isSingleton() {
-        return singleton;
+        return (flags & FLAG_SINGLETON) != 0;
     }
 
     public boolean isLazyInit() {
-        return lazyInit;
+        return (flags & FLAG_LAZY_INIT) != 0;
     }
 
     public BeanDefinition(Class beanClass, PropertyValues propertyValues) {
         this.beanClass = beanClass;
-        // 判断propertyValues是否为空
-        this.propertyValues = propertyValues != null ? propertyValues : new PropertyValues();
+        this.propertyValues = propertyValues;
     }
 
     public BeanDefinition(Class beanClass) {
@@ -74,20 +100,67 @@ public class BeanDefinition {
         this.beanClass = beanClass;
     }
 
+    /**
+     * 获取可修改的属性集，还没有属性时创建
+     * 只读取属性时应先通过hasPropertyValues判断，避免为没有属性的bean创建空的属性集
+     * @return 属性集
+     */
     public PropertyValues getPropertyValues() {
-        return propertyValues;
+        PropertyValues result = this.propertyValues;
+        if (result == null){
+            synchronized (this){
+                result = this.propertyValues;
+                if (result == null){
+                    result = new PropertyValues();
+                    this.propertyValues = result;
+                }
+            }
+        }
+        return result;
     }
 
     public void setPropertyValues(PropertyValues propertyValues) {
         this.propertyValues = propertyValues;
     }
 
+    public boolean hasPropertyValues() {
+        PropertyValues result = this.propertyValues;
+        return result != null && !result.isEmpty();
+    }
+
+    /**
+     * 获取可修改的构造器参数值，还没有参数时创建
+     * @return 构造器参数值
+     */
+    public ConstructorArgumentValues getConstructorArgumentValues() {
+        ConstructorArgumentValues result = this.constructorArgumentValues;
+        if (result == null){
+            synchronized (this){
+                result = this.constructorArgumentValues;
+                if (result == null){
+                    result = new ConstructorArgumentValues();
+                    this.constructorArgumentValues = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public void setConstructorArgumentValues(ConstructorArgumentValues constructorArgumentValues) {
+        this.constructorArgumentValues = constructorArgumentValues;
+    }
+
+    public boolean hasConstructorArgumentValues() {
+        ConstructorArgumentValues result = this.constructorArgumentValues;
+        return result != null && !result.isEmpty();
+    }
+
     public String getInitMethodName() {
         return initMethodName;
     }
 
     public void setInitMethodName(String initMethodName) {
-        this.initMethodName = initMethodName;
+        this.initMethodName = initMethodName != null ? initMethodName.intern() : null;
     }
 
     public String getDestroyMethodName() {
@@ -95,11 +168,11 @@ public class BeanDefinition {
     }
 
     public void setDestroyMethodName(String destroyMethodName) {
-        this.destroyMethodName = destroyMethodName;
+        this.destroyMethodName = destroyMethodName != null ? destroyMethodName.intern() : null;
     }
 
     public void setLazyInit(boolean lazyInit) {
-        this.lazyInit = lazyInit;
+        this.flags = (byte) (lazyInit ? flags | FLAG_LAZY_INIT : flags & ~FLAG_LAZY_INIT);
     }
 
     @Override
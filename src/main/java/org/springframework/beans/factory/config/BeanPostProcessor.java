@@ -24,4 +24,13 @@ public interface BeanPostProcessor {
      * @throws BeansException 出现问题抛出异常
      */
     Object postProcessAfterInitialization(Object bean,String beanName) throws BeansException;
+
+    /**
+     * 判断该处理器是否需要处理指定类型的bean，返回false表示该处理器的所有回调对此类型都不做任何修改，容器会直接跳过
+     * @param beanClass bean的类型
+     * @return 判断结果
+     */
+    default boolean isApplicableTo(Class<?> beanClass) {
+        return true;
+    }
 }
@@ -2,6 +2,8 @@ package org.springframework.beans.factory.config;
 
 import org.springframework.beans.factory.HierarchicalBeanFactory;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.BeanFactoryMetrics;
 import org.springframework.util.StringValueResolver;
 
 public interface ConfigurableBeanFactory extends HierarchicalBeanFactory,SingletonBeanRegistry {
@@ -13,6 +15,34 @@ public interface ConfigurableBeanFactory extends HierarchicalBeanFactory,Singlet
      */
     void destroySingletons();
 
+    /**
+     * @return 最近一次销毁单例bean的结果，包括每个bean的销毁耗时以及失败、超时的bean，尚未销毁过时为null
+     */
+    DestructionReport getLastDestructionReport();
+
+    /**
+     * 注册作用域，bean定义中scope为该名称的bean由此作用域管理
+     * @param scopeName 作用域名称，不能为singleton或prototype
+     * @param scope 作用域
+     */
+    void registerScope(String scopeName, Scope scope);
+
+    /**
+     * 获取已注册的作用域
+     * @param scopeName 作用域名称
+     * @return 作用域，未注册时为null
+     */
+    Scope getRegisteredScope(String scopeName);
+
+    String[] getRegisteredScopeNames();
+
+    /**
+     * 将从池化作用域中借出的bean归还到池中
+     * @param beanName bean的名字
+     * @param bean 借出的bean实例
+     */
+    void releaseBean(String beanName, Object bean);
+
     void addEmbeddedValueResolver(StringValueResolver valueResolver);
 
     String resolveEmbeddedValue(String value);
@@ -20,4 +50,20 @@ public interface ConfigurableBeanFactory extends HierarchicalBeanFactory,Singlet
     void setConversionService(ConversionService conversionService);
 
     ConversionService getConversionService();
+
+    /**
+     * 设置记录bean创建各步骤耗时的ApplicationStartup
+     * @param applicationStartup 默认为ApplicationStartup.DEFAULT，不做任何记录
+     */
+    void setApplicationStartup(ApplicationStartup applicationStartup);
+
+    ApplicationStartup getApplicationStartup();
+
+    /**
+     * 设置记录getBean缓存命中、bean创建耗时等运行时指标的BeanFactoryMetrics
+     * @param beanFactoryMetrics 默认为BeanFactoryMetrics.DEFAULT，不做任何记录
+     */
+    void setBeanFactoryMetrics(BeanFactoryMetrics beanFactoryMetrics);
+
+    BeanFactoryMetrics getBeanFactoryMetrics();
 }
@@ -0,0 +1,79 @@
+package org.springframework.beans.factory.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 构造器参数值，按参数位置保存，对应xml中的constructor-arg标签
+ */
+public class ConstructorArgumentValues {
+
+    private final List<ValueHolder> argumentValueList = new ArrayList<>();
+
+    /**
+     * 设置指定位置的参数值，已存在时覆盖
+     * @param index 参数位置
+     * @param valueHolder 参数值
+     */
+    public void addIndexedArgumentValue(int index, ValueHolder valueHolder) {
+        if (index < 0){
+            throw new IllegalArgumentException("Constructor argument index must not be negative");
+        }
+        while (argumentValueList.size() <= index){
+            argumentValueList.add(null);
+        }
+        argumentValueList.set(index, valueHolder);
+    }
+
+    /**
+     * 在最后追加一个参数值
+     * @param valueHolder 参数值
+     */
+    public void addArgumentValue(ValueHolder valueHolder) {
+        argumentValueList.add(valueHolder);
+    }
+
+    /**
+     * 返回全部参数值，未设置的位置为null
+     * @return 按参数位置排列的数组
+     */
+    public ValueHolder[] getArgumentValues() {
+        return argumentValueList.toArray(new ValueHolder[0]);
+    }
+
+    public int getArgumentCount() {
+        return argumentValueList.size();
+    }
+
+    public boolean isEmpty() {
+        return argumentValueList.isEmpty();
+    }
+
+    /**
+     * 单个构造器参数，value为字面值或BeanReference；不可变，修改参数时替换为新的实例
+     */
+    public static class ValueHolder {
+        private final Object value;
+        /**
+         * 参数类型的全限定名，用于在参数个数相同的构造器中选择，可以为null
+         */
+        private final String type;
+
+        public ValueHolder(Object value) {
+            this(value, null);
+        }
+
+        public ValueHolder(Object value, String type) {
+            this.value = value;
+            this.type = type;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public String getType() {
+            return type;
+        }
+    }
+}
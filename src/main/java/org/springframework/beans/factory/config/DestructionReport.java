@@ -0,0 +1,86 @@
+package org.springframework.beans.factory.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一次单例销毁的结果：每个bean的销毁耗时、抛出的异常、超时的bean以及因整体超时而未销毁的bean
+ */
+public class DestructionReport {
+
+    private final Map<String, Long> durations;
+
+    private final Map<String, Throwable> failures;
+
+    private final List<String> timedOutBeans;
+
+    private final List<String> skippedBeans;
+
+    private final long totalNanos;
+
+    public DestructionReport(Map<String, Long> durations, Map<String, Throwable> failures,
+                             List<String> timedOutBeans, List<String> skippedBeans, long totalNanos) {
+        this.durations = Collections.unmodifiableMap(new LinkedHashMap<>(durations));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        this.timedOutBeans = Collections.unmodifiableList(new ArrayList<>(timedOutBeans));
+        this.skippedBeans = Collections.unmodifiableList(new ArrayList<>(skippedBeans));
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * @return 已执行完销毁方法的bean(包括抛出异常的bean) -> 销毁耗时(纳秒)，按完成顺序排列
+     */
+    public Map<String, Long> getDurations() {
+        return durations;
+    }
+
+    /**
+     * @return 销毁方法抛出异常的bean -> 异常
+     */
+    public Map<String, Throwable> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return 销毁超过单个bean超时时间的bean，其销毁线程已被中断
+     */
+    public List<String> getTimedOutBeans() {
+        return timedOutBeans;
+    }
+
+    /**
+     * @return 超过整体超时时间时还没有开始销毁的bean
+     */
+    public List<String> getSkippedBeans() {
+        return skippedBeans;
+    }
+
+    /**
+     * @return 整个销毁过程的耗时(纳秒)
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return 是否所有bean都在超时时间内正常销毁
+     */
+    public boolean isSuccessful(){
+        return failures.isEmpty() && timedOutBeans.isEmpty() && skippedBeans.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "DestructionReport{" +
+                "destroyed=" + durations.size() +
+                ", failures=" + failures.keySet() +
+                ", timedOut=" + timedOutBeans +
+                ", skipped=" + skippedBeans +
+                ", totalMillis=" + TimeUnit.NANOSECONDS.toMillis(totalNanos) +
+                '}';
+    }
+}
@@ -0,0 +1,33 @@
+package org.springframework.beans.factory.config;
+
+import org.springframework.beans.factory.ObjectFactory;
+
+/**
+ * 作用域，除singleton和prototype之外的作用域通过ConfigurableBeanFactory#registerScope注册
+ * bean定义中的scope属性即为注册时使用的作用域名称
+ */
+public interface Scope {
+
+    /**
+     * 获取当前作用域中的bean，不存在时通过objectFactory创建
+     * @param name bean的名字
+     * @param objectFactory 用于创建bean
+     * @return bean实例
+     */
+    Object get(String name, ObjectFactory<?> objectFactory);
+
+    /**
+     * 从当前作用域中移除bean，同时移除其销毁回调(不会执行)
+     * @param name bean的名字
+     * @return 被移除的bean，不存在时为null
+     */
+    Object remove(String name);
+
+    /**
+     * 注册bean的销毁回调，在作用域结束时执行
+     * 在创建bean的过程中调用，与get处于同一作用域上下文
+     * @param name bean的名字
+     * @param callback 销毁回调
+     */
+    void registerDestructionCallback(String name, Runnable callback);
+}
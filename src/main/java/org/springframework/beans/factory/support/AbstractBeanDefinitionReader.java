@@ -1,5 +1,6 @@
 package org.springframework.beans.factory.support;
 
+import cn.hutool.core.util.ClassUtil;
 import org.springframework.beans.BeansException;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
@@ -42,4 +43,12 @@ public abstract class AbstractBeanDefinitionReader implements BeanDefinitionRead
     public void setResourceLoader(ResourceLoader resourceLoader) {
         this.resourceLoader = resourceLoader;
     }
+
+    /**
+     * 加载bean类型所用的类加载器，与component-scan扫描时一致，优先使用当前线程的上下文类加载器
+     * @return 类加载器
+     */
+    public ClassLoader getBeanClassLoader() {
+        return ClassUtil.getClassLoader();
+    }
 }
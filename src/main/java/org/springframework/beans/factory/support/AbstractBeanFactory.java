@@ -1,28 +1,65 @@
 package org.springframework.beans.factory.support;
 
+import cn.hutool.core.util.StrUtil;
 import net.sf.cglib.proxy.Factory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.config.Scope;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.BeanFactoryMetrics;
 import org.springframework.util.StringValueResolver;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry implements ConfigurableBeanFactory {
-    private final List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
+    private static final BeanPostProcessor[] EMPTY_BEAN_POST_PROCESSORS = new BeanPostProcessor[0];
+
+    /**
+     * 已注册的BeanPostProcessor，保持注册顺序，修改时需要对其加锁
+     */
+    private final Set<BeanPostProcessor> beanPostProcessors = new LinkedHashSet<>();
+
+    /**
+     * beanPostProcessors的不可变快照，每次注册后重建，读取无需加锁
+     */
+    private volatile BeanPostProcessor[] beanPostProcessorArray = EMPTY_BEAN_POST_PROCESSORS;
+
+    /**
+     * bean类型 -> 该类型适用的BeanPostProcessor管道
+     */
+    private final Map<Class<?>, BeanPostProcessorPipeline> beanPostProcessorPipelines = new ConcurrentHashMap<>(256);
     // 用来缓存已经创建好的factoryBean
-    private final Map<String, Object> factoryBeanObjectCache = new HashMap<>();
+    private final Map<String, Object> factoryBeanObjectCache = new ConcurrentHashMap<>();
+
+    /**
+     * 作用域名称 -> 作用域，不包括singleton和prototype
+     */
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>(8);
 
     private final List<StringValueResolver> embeddedValueResolvers = new ArrayList<>();
 
     private ConversionService conversionService;
 
+    private volatile ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    /**
+     * 冻结配置后已解析单例的查找表，未冻结时为null
+     */
+    private volatile FrozenBeanLookup frozenBeanLookup;
+
+    public AbstractBeanFactory() {
+        // 内置的作用域
+        registerScope(BeanDefinition.SCOPE_POOLED, new PooledScope());
+        registerScope(BeanDefinition.SCOPE_THREAD, new ThreadScope());
+        registerScope(BeanDefinition.SCOPE_SCOPED_VALUE, new ScopedValueScope());
+    }
 
     public void addEmbeddedValueResolver(StringValueResolver valueResolver){
         this.embeddedValueResolvers.add(valueResolver);
@@ -38,16 +75,64 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
         this.conversionService = conversionService;
     }
 
+    @Override
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
+    }
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        if (applicationStartup == null){
+            throw new IllegalArgumentException("ApplicationStartup must not be null");
+        }
+        this.applicationStartup = applicationStartup;
+    }
+
     @Override
     public Object getBean(String name) throws BeansException {
+        FrozenBeanLookup frozen = this.frozenBeanLookup;
+        if (frozen != null){
+            // 冻结后已解析的单例只需一次查表
+            Object bean = frozen.get(name);
+            if (bean != null){
+                BeanFactoryMetrics metrics = getBeanFactoryMetrics();
+                if (metrics.isEnabled()){
+                    if (frozen.isFactoryBeanObject(name)){
+                        metrics.factoryBeanObjectCacheHit(name);
+                    } else {
+                        metrics.singletonCacheHit(name);
+                    }
+                }
+                return bean;
+            }
+        }
         Object sharedInstance = getSingleton(name);
         if (sharedInstance != null){
+            BeanFactoryMetrics metrics = getBeanFactoryMetrics();
+            if (metrics.isEnabled()){
+                if (isSingletonCurrentlyInCreation(name)){
+                    // 拿到的是正在创建中的单例提前暴露的引用，即发生了循环依赖
+                    metrics.earlyReferenceResolved(name);
+                } else {
+                    metrics.singletonCacheHit(name);
+                }
+            }
             // 如果是FactoryBean，从FactoryBean #getObject中创建bean
             return getObjectForBeanInstance(sharedInstance,name);
         }
 
         BeanDefinition beanDefinition = getBeanDefinition(name);
-        Object bean = createBean(name,beanDefinition);
+        Object bean;
+        if (beanDefinition.isSingleton()){
+            // 单例bean在该bean的创建锁内创建，保证并发getBean时只创建一次
+            bean = getSingleton(name, () -> createBean(name,beanDefinition));
+        } else if (beanDefinition.isPrototype()){
+            bean = createBean(name,beanDefinition);
+        } else {
+            // 其他作用域由注册的Scope决定复用还是新建
+            Scope scope = getScopeFor(name, beanDefinition);
+            bean = scope.get(name, () -> createBean(name,beanDefinition));
+        }
         return getObjectForBeanInstance(bean,name);
     }
 
@@ -66,12 +151,18 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
                     // singleton作用域bean，从缓存中获取
                     object = this.factoryBeanObjectCache.get(beanName);
                     if(object == null){
-                        object = factoryBean.getObject();
-                        this.factoryBeanObjectCache.put(beanName,object);
+                        object = getObjectFromFactoryBean(factoryBean, beanName);
+                        // 并发情况下以先放入缓存的对象为准
+                        Object existing = this.factoryBeanObjectCache.putIfAbsent(beanName,object);
+                        if (existing != null){
+                            object = existing;
+                        }
+                    } else {
+                        getBeanFactoryMetrics().factoryBeanObjectCacheHit(beanName);
                     }
                 }else {
                     // prototype作用域bean，新创建bean
-                    object = factoryBean.getObject();
+                    object = getObjectFromFactoryBean(factoryBean, beanName);
                 }
             }catch (Exception ex){
                 throw new BeansException("FactoryBean threw exception on object["+beanName+"] creation",ex);
@@ -80,18 +171,190 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
         return object;
     }
 
+    private Object getObjectFromFactoryBean(FactoryBean<?> factoryBean, String beanName) throws Exception {
+        BeanFactoryMetrics metrics = getBeanFactoryMetrics();
+        if (!metrics.isEnabled()){
+            return factoryBean.getObject();
+        }
+        long start = System.nanoTime();
+        Object object = factoryBean.getObject();
+        metrics.factoryBeanObjectCreated(beanName, System.nanoTime() - start);
+        return object;
+    }
+
+    @Override
+    public void registerScope(String scopeName, Scope scope) {
+        if (BeanDefinition.SCOPE_SINGLETON.equals(scopeName) || BeanDefinition.SCOPE_PROTOTYPE.equals(scopeName)){
+            throw new IllegalArgumentException("Cannot replace existing scopes 'singleton' and 'prototype'");
+        }
+        this.scopes.put(scopeName, scope);
+    }
+
+    @Override
+    public Scope getRegisteredScope(String scopeName) {
+        return this.scopes.get(scopeName);
+    }
+
+    @Override
+    public String[] getRegisteredScopeNames() {
+        return this.scopes.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * 获取bean所属的作用域
+     * @param beanName bean的名字
+     * @param beanDefinition bean的详细信息
+     * @return 作用域
+     * @throws BeansException 作用域未注册时抛出异常
+     */
+    protected Scope getScopeFor(String beanName, BeanDefinition beanDefinition) throws BeansException {
+        Scope scope = this.scopes.get(beanDefinition.getScope());
+        if (scope == null){
+            throw new BeansException("No Scope registered for scope name '" + beanDefinition.getScope() + "' of bean with name '" + beanName + "'");
+        }
+        return scope;
+    }
+
+    @Override
+    public void releaseBean(String beanName, Object bean) {
+        BeanDefinition beanDefinition = getBeanDefinition(beanName);
+        Scope scope = this.scopes.get(beanDefinition.getScope());
+        if (!(scope instanceof PooledScope)){
+            throw new BeansException("Bean with name '" + beanName + "' is not pooled");
+        }
+        DisposableBean destroyCallback = null;
+        if (bean instanceof DisposableBean || StrUtil.isNotEmpty(beanDefinition.getDestroyMethodName())){
+            destroyCallback = new DisposableBeanAdapter(bean, beanName, beanDefinition);
+        }
+        ((PooledScope) scope).release(beanName, bean, destroyCallback);
+    }
+
+    @Override
+    public void addSingleton(String beanName, Object singletonObject) {
+        FrozenBeanLookup frozen = this.frozenBeanLookup;
+        if (frozen != null && frozen.contains(beanName)){
+            throw new BeansException("Cannot replace singleton '" + beanName + "': configuration is frozen");
+        }
+        super.addSingleton(beanName, singletonObject);
+    }
+
+    /**
+     * 将已经创建完成的单例编译为不可变的查找表
+     * 非单例的FactoryBean每次都需要调用getObject，不放入查找表
+     */
+    protected void freezeSingletons(){
+        Map<String, Object> resolvedBeans = new HashMap<>();
+        Set<String> factoryBeanObjectNames = new HashSet<>();
+        for (String beanName : getSingletonNames()) {
+            Object sharedInstance = getSingleton(beanName);
+            if (sharedInstance == null || (sharedInstance instanceof FactoryBean && !((FactoryBean<?>) sharedInstance).isSingleton())){
+                continue;
+            }
+            Object bean;
+            if (sharedInstance instanceof FactoryBean){
+                factoryBeanObjectNames.add(beanName);
+                // 已缓存的对象直接使用，不计入缓存命中
+                bean = this.factoryBeanObjectCache.get(beanName);
+                if (bean == null){
+                    bean = getObjectForBeanInstance(sharedInstance, beanName);
+                }
+            } else {
+                bean = sharedInstance;
+            }
+            if (bean != null){
+                resolvedBeans.put(beanName, bean);
+            }
+        }
+        this.frozenBeanLookup = new FrozenBeanLookup(resolvedBeans, factoryBeanObjectNames);
+    }
+
+    /**
+     * @return 配置是否已经冻结
+     */
+    public boolean isConfigurationFrozen() {
+        return this.frozenBeanLookup != null;
+    }
+
+    /**
+     * 配置冻结后拒绝修改
+     * @param action 所要执行的修改
+     * @throws BeansException 配置已冻结时抛出异常
+     */
+    protected void assertConfigurationNotFrozen(String action) throws BeansException {
+        if (this.frozenBeanLookup != null){
+            throw new BeansException("Cannot " + action + ": configuration is frozen");
+        }
+    }
+
+    /**
+     * 解除冻结，之后重新按常规流程查找bean并允许修改配置
+     * 子类需要同时清除自己在冻结时保存的数据
+     */
+    protected void unfreezeConfiguration(){
+        this.frozenBeanLookup = null;
+    }
+
+    @Override
+    public void destroySingletons() {
+        // 单例即将被销毁，不能再通过查找表返回
+        unfreezeConfiguration();
+        // 作用域中的bean可能依赖单例bean，先销毁
+        try {
+            destroyScopes();
+        } finally {
+            super.destroySingletons();
+        }
+    }
+
+    /**
+     * 结束所有实现了DisposableBean的作用域
+     */
+    protected void destroyScopes() throws BeansException {
+        BeansException failure = null;
+        for (Map.Entry<String, Scope> entry : this.scopes.entrySet()) {
+            if (!(entry.getValue() instanceof DisposableBean)){
+                continue;
+            }
+            try {
+                ((DisposableBean) entry.getValue()).destroy();
+            } catch (Exception e){
+                if (failure == null){
+                    failure = e instanceof BeansException ? (BeansException) e
+                            : new BeansException("Failed to destroy scope '" + entry.getKey() + "'",e);
+                }
+            }
+        }
+        if (failure != null){
+            throw failure;
+        }
+    }
+
     protected abstract boolean containsBeanDefinition(String beanName);
     protected abstract Object createBean(String beanName,BeanDefinition beanDefinition) throws BeansException;
     protected abstract BeanDefinition getBeanDefinition(String beanName) throws BeansException;
 
     public void addBeanPostPostProcessors(BeanPostProcessor beanPostProcessor) {
-        // 有则覆盖
-        this.beanPostProcessors.remove(beanPostProcessor);
-        this.beanPostProcessors.add(beanPostProcessor);
+        addBeanPostProcessor(beanPostProcessor);
     }
 
     public List<BeanPostProcessor> getBeanPostProcessors(){
-        return this.beanPostProcessors;
+        return Collections.unmodifiableList(Arrays.asList(this.beanPostProcessorArray));
+    }
+
+    /**
+     * 获取指定类型的bean所适用的BeanPostProcessor管道，跳过对该类型无作用的处理器
+     * @param beanClass bean的类型
+     * @return BeanPostProcessor管道
+     */
+    protected BeanPostProcessorPipeline getBeanPostProcessorPipeline(Class<?> beanClass){
+        BeanPostProcessor[] current = this.beanPostProcessorArray;
+        BeanPostProcessorPipeline pipeline = beanPostProcessorPipelines.get(beanClass);
+        if (pipeline == null || pipeline.source != current){
+            // 首次使用或者注册了新的BeanPostProcessor，重新划分
+            pipeline = new BeanPostProcessorPipeline(current, beanClass);
+            beanPostProcessorPipelines.put(beanClass, pipeline);
+        }
+        return pipeline;
     }
 
     @Override
@@ -107,9 +370,13 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
 
     @Override
     public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
-        // 有则覆盖
-        this.beanPostProcessors.remove(beanPostProcessor);
-        this.beanPostProcessors.add(beanPostProcessor);
+        assertConfigurationNotFrozen("add BeanPostProcessor [" + beanPostProcessor.getClass().getName() + "]");
+        synchronized (this.beanPostProcessors){
+            // 有则覆盖
+            this.beanPostProcessors.remove(beanPostProcessor);
+            this.beanPostProcessors.add(beanPostProcessor);
+            this.beanPostProcessorArray = this.beanPostProcessors.toArray(EMPTY_BEAN_POST_PROCESSORS);
+        }
     }
 
     @Override
@@ -120,4 +387,44 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
         }
         return result;
     }
+
+    /**
+     * 针对某个bean类型预先划分好的BeanPostProcessor数组，不可变
+     */
+    protected static final class BeanPostProcessorPipeline {
+
+        /**
+         * 划分时所依据的BeanPostProcessor快照
+         */
+        private final BeanPostProcessor[] source;
+
+        private final BeanPostProcessor[] beanPostProcessors;
+
+        private final InstantiationAwareBeanPostProcessor[] instantiationAwareBeanPostProcessors;
+
+        private BeanPostProcessorPipeline(BeanPostProcessor[] source, Class<?> beanClass) {
+            this.source = source;
+            List<BeanPostProcessor> applicable = new ArrayList<>(source.length);
+            List<InstantiationAwareBeanPostProcessor> instantiationAware = new ArrayList<>(source.length);
+            for (BeanPostProcessor beanPostProcessor : source) {
+                if (!beanPostProcessor.isApplicableTo(beanClass)){
+                    continue;
+                }
+                applicable.add(beanPostProcessor);
+                if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor){
+                    instantiationAware.add((InstantiationAwareBeanPostProcessor) beanPostProcessor);
+                }
+            }
+            this.beanPostProcessors = applicable.toArray(EMPTY_BEAN_POST_PROCESSORS);
+            this.instantiationAwareBeanPostProcessors = instantiationAware.toArray(new InstantiationAwareBeanPostProcessor[0]);
+        }
+
+        public BeanPostProcessor[] getBeanPostProcessors() {
+            return beanPostProcessors;
+        }
+
+        public InstantiationAwareBeanPostProcessor[] getInstantiationAwareBeanPostProcessors() {
+            return instantiationAwareBeanPostProcessors;
+        }
+    }
 }
@@ -1,34 +1,84 @@
 package org.springframework.beans.factory.support;
 
-import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.ClassUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.core.util.TypeUtil;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.LazyInitTargetSource;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.*;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.metrics.BeanFactoryMetrics;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.metrics.StartupTimeline;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFactory
                 implements AutowireCapableBeanFactory {
 
+    private static final ConstructorArgumentValues.ValueHolder[] NO_ARGUMENT_VALUES = new ConstructorArgumentValues.ValueHolder[0];
+
     private InstantiationStrategy instantiationStrategy = new SimpleInstantiationStrategy();
 
+    /**
+     * 属性填充计划缓存
+     */
+    private final Map<BeanPlanKey, BeanPopulationPlan> populationPlanCache = new ConcurrentHashMap<>(256);
+
+    /**
+     * 构造计划缓存
+     */
+    private final Map<BeanPlanKey, BeanConstructionPlan> constructionPlanCache = new ConcurrentHashMap<>(256);
+
+    /**
+     * 单例bean的延迟解析代理缓存，同一个bean以相同类型注入的各个注入点共享一个代理
+     */
+    private final Map<LazyProxyKey, Object> lazyProxyCache = new ConcurrentHashMap<>(64);
+
     @Override
     protected Object createBean(String beanName, BeanDefinition beanDefinition) throws BeansException {
-        // 如果bean需要代理，则直接返回代理对象
-        Object bean = resolveBeforeInstantiation(beanName, beanDefinition);
-        if (bean!=null){
+        StartupStep step = getApplicationStartup().start(StartupTimeline.BEAN_INSTANTIATE_STEP)
+                .tag(StartupTimeline.BEAN_NAME_TAG, beanName);
+        BeanFactoryMetrics metrics = getBeanFactoryMetrics();
+        // 未开启统计时不读取时钟
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        try {
+            // 如果bean需要代理，则直接返回代理对象
+            Object bean = resolveBeforeInstantiation(beanName, beanDefinition);
+            if (bean==null){
+                bean = doCreateBean(beanName,beanDefinition);
+            }
+            if (metrics.isEnabled()){
+                metrics.beanCreated(beanName, beanDefinition.getScope(), System.nanoTime() - start);
+            }
             return bean;
+        } finally {
+            step.end();
         }
-        return doCreateBean(beanName,beanDefinition);
+    }
+
+    /**
+     * 开始记录一次BeanPostProcessor调用
+     * 出现异常时无需结束，未结束的步骤会随bean的创建步骤一起结束
+     * @param processor BeanPostProcessor
+     * @param phase 调用的阶段
+     * @return 开始的步骤
+     */
+    private StartupStep startPostProcessorStep(Object processor, String phase){
+        return getApplicationStartup().start("beans.post-process")
+                .tag("processor", processor.getClass().getName()).tag("phase", phase);
     }
 
     /**
@@ -53,12 +103,12 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
      * @return 操作结果
      */
     protected Object applyBeanPostProcessorsBeforeInstantiation(Class beanClass,String beanName){
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor){
-                Object result = ((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessBeforeInstantiation(beanClass, beanName);
-                if (result!=null){
-                    return result;
-                }
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : getBeanPostProcessorPipeline(beanClass).getInstantiationAwareBeanPostProcessors()) {
+            StartupStep step = startPostProcessorStep(beanPostProcessor, "before-instantiation");
+            Object result = beanPostProcessor.postProcessBeforeInstantiation(beanClass, beanName);
+            step.end();
+            if (result!=null){
+                return result;
             }
         }
         return null;
@@ -73,7 +123,9 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
     protected Object doCreateBean(String beanName,BeanDefinition beanDefinition){
         Object bean;
         try{
-            bean = createBeanInstance(beanDefinition);
+            StartupStep step = getApplicationStartup().start("beans.instantiate.create-instance");
+            bean = createBeanInstance(beanName, beanDefinition);
+            step.end();
 
             // 为解决循环依赖问题，将实例化的bean放进缓存中提前暴露
             if (beanDefinition.isSingleton()){
@@ -92,12 +144,16 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
                 return bean;
             }
 
+            step = getApplicationStartup().start("beans.instantiate.populate");
             // 在设置bean属性之前，允许BeanPostProcessor修改属性值（补全动态代理类属性）
             applyBeanPostProcessorsBeforeApplyingPropertyValues(beanName,bean,beanDefinition);
             // 为bean填充属性
             applyPropertyValues(beanName,bean,beanDefinition);
+            step.end();
+            step = getApplicationStartup().start("beans.instantiate.initialize");
             // 执行bean的初始化方法和BeanPostProcessor的前置和后置处理方法
             bean = initializeBean(beanName,bean,beanDefinition);
+            step.end();
         }catch (Exception e){
             throw new BeansException("Instantion of bean failed",e);
         }
@@ -107,8 +163,12 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
 
         Object exposedObject = bean;
         if (beanDefinition.isSingleton()){
-            // 如果有代理对象，此处获取代理对象，放入一级缓存
-            exposedObject = getSingleton(beanName);
+            // 只有循环依赖中已经提前暴露过引用(可能是代理)时才使用该引用，保证注入到其他bean中的与容器中的是同一个对象；
+            // 不能调用getSingleton，否则会通过三级缓存再次执行getEarlyBeanReference，重复创建代理
+            Object earlySingletonReference = getEarlySingletonReference(beanName);
+            if (earlySingletonReference != null){
+                exposedObject = earlySingletonReference;
+            }
             addSingleton(beanName,exposedObject);
         }
         return exposedObject;
@@ -123,13 +183,11 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
      */
     private Object getEarlyBeanReference(String beanName, BeanDefinition beanDefinition, Object bean) {
         Object exposedObject = bean;
-        for (BeanPostProcessor bp : getBeanPostProcessors()) {
-            if (bp instanceof InstantiationAwareBeanPostProcessor) {
-                // 只有实现了上述InstantiationAwareBeanPostProcessor,才会提前暴露代理bean
-                exposedObject = ((InstantiationAwareBeanPostProcessor) bp).getEarlyBeanReference(exposedObject,beanName);
-                if(exposedObject == null){
-                    return exposedObject;
-                }
+        // 只有实现了InstantiationAwareBeanPostProcessor,才会提前暴露代理bean
+        for (InstantiationAwareBeanPostProcessor bp : getBeanPostProcessorPipeline(bean.getClass()).getInstantiationAwareBeanPostProcessors()) {
+            exposedObject = bp.getEarlyBeanReference(exposedObject,beanName);
+            if(exposedObject == null){
+                return exposedObject;
             }
         }
         return exposedObject;
@@ -143,12 +201,13 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
      */
     private boolean applyBeanPostProcessorsAfterInstantiation(String beanName,Object bean){
         boolean continueWithPropertyPopulation = true;
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor){
-                if (!((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessAfterInstantiation(bean,beanName)) {
-                    continueWithPropertyPopulation = false;
-                    break;
-                }
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : getBeanPostProcessorPipeline(bean.getClass()).getInstantiationAwareBeanPostProcessors()) {
+            StartupStep step = startPostProcessorStep(beanPostProcessor, "after-instantiation");
+            boolean continuePopulation = beanPostProcessor.postProcessAfterInstantiation(bean,beanName);
+            step.end();
+            if (!continuePopulation) {
+                continueWithPropertyPopulation = false;
+                break;
             }
         }
         return continueWithPropertyPopulation;
@@ -161,13 +220,20 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
      * @param beanDefinition bean的详细信息
      */
     protected void applyBeanPostProcessorsBeforeApplyingPropertyValues(String beanName,Object bean,BeanDefinition beanDefinition){
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor){
-                PropertyValues pvs = ((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessPropertyValues(beanDefinition.getPropertyValues(),bean,beanName);
-                if (pvs != null){
-                    for (PropertyValue propertyValue : pvs.getPropertyValues()) {
-                        beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
-                    }
+        InstantiationAwareBeanPostProcessor[] beanPostProcessors = getBeanPostProcessorPipeline(bean.getClass()).getInstantiationAwareBeanPostProcessors();
+        // 没有适用的BeanPostProcessor时不为没有属性的bean创建属性集，否则传入可修改的属性集，BeanPostProcessor可以直接向其中添加属性
+        if (beanPostProcessors.length == 0){
+            return;
+        }
+        PropertyValues propertyValues = beanDefinition.getPropertyValues();
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : beanPostProcessors) {
+            StartupStep step = startPostProcessorStep(beanPostProcessor, "property-values");
+            PropertyValues pvs = beanPostProcessor.postProcessPropertyValues(propertyValues,bean,beanName);
+            step.end();
+            // 返回原属性集时无需逐个合并
+            if (pvs != null && pvs != propertyValues && !pvs.isEmpty()){
+                for (PropertyValue propertyValue : pvs.asList()) {
+                    propertyValues.addPropertyValue(propertyValue);
                 }
             }
         }
@@ -175,26 +241,60 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
 
     /**
      * 注册有销毁方法的bean，即bean继承字DisposableBean或有自定义的销毁方法
+     * singleton类型bean在容器关闭时销毁，其他作用域的bean在作用域结束时销毁
      * @param beanName bean的名字
      * @param bean 所要判断的bean
      * @param beanDefinition bean的详细信息
      */
     protected void registerDisposableBeanIfNecessary(String beanName,Object bean,BeanDefinition beanDefinition){
-        // 只有singleton类型bean会执行销毁方法
-        if (beanDefinition.isSingleton()){
-            if (bean instanceof DisposableBean || StrUtil.isNotEmpty(beanDefinition.getDestroyMethodName())){
-                registerDisposableBean(beanName,new DisposableBeanAdapter(bean,beanName,beanDefinition));
+        // prototype类型bean不会执行销毁方法
+        if (beanDefinition.isPrototype()){
+            return;
+        }
+        if (bean instanceof DisposableBean || StrUtil.isNotEmpty(beanDefinition.getDestroyMethodName())){
+            DisposableBeanAdapter disposableBean = new DisposableBeanAdapter(bean,beanName,beanDefinition);
+            if (beanDefinition.isSingleton()){
+                registerDisposableBean(beanName,disposableBean);
+            } else {
+                // 其他作用域的bean在作用域结束时销毁
+                getScopeFor(beanName,beanDefinition).registerDestructionCallback(beanName,disposableBean);
             }
         }
     }
 
     /**
-     * 实例化bean
+     * 实例化bean，需要构造器注入时通过构造计划创建，否则由InstantiationStrategy调用无参构造器
+     * @param beanName bean的名字
      * @param beanDefinition bean的详细信息
      * @return 创建出的bean实例
      */
-    protected Object createBeanInstance(BeanDefinition beanDefinition){
-        return getInstantiationStrategy().instantiate(beanDefinition);
+    protected Object createBeanInstance(String beanName, BeanDefinition beanDefinition){
+        ConstructorArgumentValues.ValueHolder[] argumentValues = beanDefinition.hasConstructorArgumentValues()
+                ? beanDefinition.getConstructorArgumentValues().getArgumentValues() : NO_ARGUMENT_VALUES;
+        BeanConstructionPlan plan = getConstructionPlan(beanDefinition.getBeanClass(), beanDefinition, argumentValues);
+        if (plan.isDefaultConstructor()){
+            return getInstantiationStrategy().instantiate(beanDefinition);
+        }
+        return plan.instantiate(beanName, this);
+    }
+
+    /**
+     * 获取缓存的构造计划，构造器参数或类型转换服务变化后重新编译
+     * @param beanClass bean的类型
+     * @param beanDefinition bean的详细信息
+     * @param argumentValues bean当前的构造器参数值
+     * @return 构造计划
+     */
+    protected BeanConstructionPlan getConstructionPlan(Class<?> beanClass, BeanDefinition beanDefinition,
+                                                       ConstructorArgumentValues.ValueHolder[] argumentValues){
+        BeanPlanKey key = new BeanPlanKey(beanClass, beanDefinition);
+        ConversionService conversionService = getConversionService();
+        BeanConstructionPlan plan = constructionPlanCache.get(key);
+        if (plan == null || !plan.isCompiledFor(beanClass, argumentValues, conversionService)){
+            plan = BeanConstructionPlan.compile(beanClass, argumentValues, conversionService);
+            constructionPlanCache.put(key, plan);
+        }
+        return plan;
     }
 
     /**
@@ -205,32 +305,150 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
      */
     protected void applyPropertyValues(String beanName,Object bean,BeanDefinition beanDefinition){
         try{
-            for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValues()) {
-                String name = propertyValue.getName();
-                Object value = propertyValue.getValue();
-                if (value instanceof BeanReference){
-                    // beanA依赖beanB，先实例化beanB
-                    BeanReference beanReference = (BeanReference) value;
-                    value = getBean(beanReference.getBeanName());
-                }else {
-                    // 使用配置的转换器，进行类型转换
-                    Class<?> sourceType = value.getClass();
-                    Class<?> targetType = (Class<?>) TypeUtil.getFieldType(bean.getClass(),name);
-                    ConversionService conversionService = getConversionService();
-                    if (conversionService != null){
-                        if (conversionService.canConvert(sourceType,targetType)){
-                            value = conversionService.convert(value,targetType);
-                        }
-                    }
-                }
-                // 通过反射设置属性
-                BeanUtil.setFieldValue(bean, name, value);
+            if (!beanDefinition.hasPropertyValues()){
+                return;
             }
+            List<PropertyValue> propertyValues = beanDefinition.getPropertyValues().asList();
+            getPopulationPlan(bean.getClass(), beanDefinition, propertyValues).populate(beanName, bean, this);
         } catch (Exception ex) {
             throw new BeansException("Error setting property values for bean: "+ beanName,ex);
         }
     }
 
+    /**
+     * 获取缓存的属性填充计划，属性值或类型转换服务变化后重新编译
+     * @param beanClass bean的类型
+     * @param beanDefinition bean的详细信息
+     * @param propertyValues bean当前的全部属性值
+     * @return 属性填充计划
+     */
+    protected BeanPopulationPlan getPopulationPlan(Class<?> beanClass, BeanDefinition beanDefinition, List<PropertyValue> propertyValues){
+        BeanPlanKey key = new BeanPlanKey(beanClass, beanDefinition);
+        ConversionService conversionService = getConversionService();
+        BeanPopulationPlan plan = populationPlanCache.get(key);
+        if (plan == null || !plan.isCompiledFor(beanClass, propertyValues, conversionService)){
+            plan = BeanPopulationPlan.compile(beanClass, propertyValues, conversionService);
+            populationPlanCache.put(key, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * 移除为该BeanDefinition编译的属性填充计划、构造计划以及延迟解析代理，BeanDefinition被替换后不再使用
+     * @param beanDefinition 被替换的BeanDefinition
+     */
+    protected void removeBeanPlans(BeanDefinition beanDefinition){
+        populationPlanCache.keySet().removeIf(key -> key.beanDefinition == beanDefinition);
+        constructionPlanCache.keySet().removeIf(key -> key.beanDefinition == beanDefinition);
+        lazyProxyCache.keySet().removeIf(key -> key.beanDefinition == beanDefinition);
+    }
+
+    @Override
+    public void destroySingletons() {
+        // 代理中缓存的目标单例即将被销毁
+        lazyProxyCache.clear();
+        super.destroySingletons();
+    }
+
+    @Override
+    public Object resolveDependency(String beanName, Class<?> requiredType, boolean lazy, String requestingBeanName) throws BeansException {
+        if (requestingBeanName != null){
+            assertNotPooledIntoSingleton(beanName, requestingBeanName);
+            registerDependentBean(beanName, requestingBeanName);
+        }
+        if (!containsBeanDefinition(beanName)){
+            return getBean(beanName);
+        }
+        BeanDefinition beanDefinition = getBeanDefinition(beanName);
+        if (!lazy && !(beanDefinition.isSingleton() && beanDefinition.isLazyInit())){
+            return getBean(beanName);
+        }
+        // 已经创建的单例无需代理
+        Object sharedInstance = getSingleton(beanName);
+        if (sharedInstance != null){
+            return getObjectForBeanInstance(sharedInstance, beanName);
+        }
+        if (!beanDefinition.isSingleton()){
+            // 非单例bean每个代理各自获取一个实例，不能共享
+            Object proxy = createLazyResolutionProxy(beanName, beanDefinition, requiredType);
+            return proxy != null ? proxy : getBean(beanName);
+        }
+        // 不使用computeIfAbsent，生成CGLIB代理时执行的构造器可能再次解析依赖
+        LazyProxyKey key = new LazyProxyKey(beanName, requiredType, beanDefinition);
+        Object proxy = lazyProxyCache.get(key);
+        if (proxy == null){
+            proxy = createLazyResolutionProxy(beanName, beanDefinition, requiredType);
+            if (proxy == null){
+                return getBean(beanName);
+            }
+            Object existing = lazyProxyCache.putIfAbsent(key, proxy);
+            if (existing != null){
+                proxy = existing;
+            }
+        }
+        return proxy;
+    }
+
+    /**
+     * 池化bean需要通过releaseBean归还，注入单例后永远不会归还，也无法被其他使用者借出，因此拒绝
+     * @param beanName 所依赖的bean的名字
+     * @param requestingBeanName 注入方bean的名字
+     */
+    private void assertNotPooledIntoSingleton(String beanName, String requestingBeanName){
+        if (!containsBeanDefinition(beanName) || !containsBeanDefinition(requestingBeanName)){
+            return;
+        }
+        if (BeanDefinition.SCOPE_POOLED.equals(getBeanDefinition(beanName).getScope())
+                && getBeanDefinition(requestingBeanName).isSingleton()){
+            throw new BeansException("Pooled bean '" + beanName + "' cannot be injected into singleton '" + requestingBeanName
+                    + "': borrow it with getBean and return it with releaseBean instead");
+        }
+    }
+
+    /**
+     * 创建延迟解析代理，注入点为接口时使用JDK代理，否则使用CGLIB代理bean的类型
+     * 使用CGLIB代理时会执行一次bean类型的无参构造器，但不会填充属性和执行初始化方法
+     * @param beanName bean的名字
+     * @param beanDefinition bean的详细信息
+     * @param requiredType 注入点的类型
+     * @return 代理对象，无法代理(FactoryBean、final类、没有可访问的无参构造器等)时返回null
+     */
+    protected Object createLazyResolutionProxy(String beanName, BeanDefinition beanDefinition, Class<?> requiredType){
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        // FactoryBean的类型并不是其产生的对象的类型
+        if (beanClass == null || requiredType == null || FactoryBean.class.isAssignableFrom(beanClass)
+                || !requiredType.isAssignableFrom(beanClass)){
+            return null;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(new LazyInitTargetSource(this, beanName, beanClass));
+        // 没有advisor，CGLIB代理的全部方法都直接分派给目标bean
+        proxyFactory.setFrozen(true);
+        if (requiredType.isInterface()){
+            proxyFactory.setProxyTargetClass(false);
+        } else if (!isSubclassable(beanClass)){
+            return null;
+        }
+        try {
+            return proxyFactory.getProxy();
+        } catch (RuntimeException | LinkageError e){
+            // 无法生成代理类时直接创建bean
+            return null;
+        }
+    }
+
+    private boolean isSubclassable(Class<?> beanClass){
+        if (Modifier.isFinal(beanClass.getModifiers()) || Modifier.isPrivate(beanClass.getModifiers())){
+            return false;
+        }
+        try {
+            Constructor<?> constructor = beanClass.getDeclaredConstructor();
+            return !Modifier.isPrivate(constructor.getModifiers());
+        } catch (NoSuchMethodException e){
+            return false;
+        }
+    }
+
     /**
      * 初始化bean，包括postProcessors的前后置操作
      * @param beanName bean的名字
@@ -261,8 +479,10 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
     @Override
     public Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName) throws BeansException {
         Object result = existingBean;
-        for (BeanPostProcessor processor : getBeanPostProcessors()) {
+        for (BeanPostProcessor processor : getBeanPostProcessorPipeline(existingBean.getClass()).getBeanPostProcessors()) {
+            StartupStep step = startPostProcessorStep(processor, "after-initialization");
             Object current = processor.postProcessAfterInitialization(result, beanName);
+            step.end();
             if (current == null){
                 return result;
             }
@@ -274,8 +494,10 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
     @Override
     public Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName) throws BeansException {
         Object result = existingBean;
-        for (BeanPostProcessor processor : getBeanPostProcessors()) {
+        for (BeanPostProcessor processor : getBeanPostProcessorPipeline(existingBean.getClass()).getBeanPostProcessors()) {
+            StartupStep step = startPostProcessorStep(processor, "before-initialization");
             Object current = processor.postProcessBeforeInitialization(result, beanName);
+            step.end();
             if (current == null){
                 return result;
             }
@@ -315,5 +537,65 @@ public abstract class AbstranctAutowireCapableBeanFactory extends AbstractBeanFa
         this.instantiationStrategy = instantiationStrategy;
     }
 
+    /**
+     * 延迟解析代理的缓存key，BeanDefinition按实例比较，被替换后不会命中旧的代理
+     */
+    private static final class LazyProxyKey {
+        private final String beanName;
+        private final Class<?> requiredType;
+        private final BeanDefinition beanDefinition;
+
+        private LazyProxyKey(String beanName, Class<?> requiredType, BeanDefinition beanDefinition) {
+            this.beanName = beanName;
+            this.requiredType = requiredType;
+            this.beanDefinition = beanDefinition;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LazyProxyKey)) {
+                return false;
+            }
+            LazyProxyKey that = (LazyProxyKey) o;
+            return beanName.equals(that.beanName) && requiredType == that.requiredType && beanDefinition == that.beanDefinition;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * beanName.hashCode() + System.identityHashCode(requiredType)) + System.identityHashCode(beanDefinition);
+        }
+    }
+
+    /**
+     * 属性填充计划和构造计划的缓存key，BeanDefinition的equals只比较beanClass，因此这里按实例比较
+     */
+    private static final class BeanPlanKey {
+        private final Class<?> beanClass;
+        private final BeanDefinition beanDefinition;
+
+        private BeanPlanKey(Class<?> beanClass, BeanDefinition beanDefinition) {
+            this.beanClass = beanClass;
+            this.beanDefinition = beanDefinition;
+        }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BeanPlanKey)) {
+                return false;
+            }
+            BeanPlanKey that = (BeanPlanKey) o;
+            return beanClass == that.beanClass && beanDefinition == that.beanDefinition;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * beanClass.hashCode() + System.identityHashCode(beanDefinition);
+        }
+    }
 }
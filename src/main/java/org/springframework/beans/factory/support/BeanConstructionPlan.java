@@ -0,0 +1,379 @@
+package org.springframework.beans.factory.support;
+
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ClassUtil;
+import cn.hutool.core.util.TypeUtil;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.convert.ConversionService;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * bean构造计划
+ * 针对同一个(bean类型, BeanDefinition)只选择一次构造器，并预先解析每个参数的来源(不可变的字面值提前完成类型转换、bean引用、按类型自动注入、ObjectProvider)，
+ * 之后每次创建bean时只需解析所依赖的bean并通过缓存的构造器句柄调用
+ *
+ * 构造器的选择顺序：xml中配置了constructor-arg时选择参数个数(以及指定的类型)匹配的构造器，
+ * 否则选择标注了@Autowired的构造器，否则类只有一个有参构造器时选择该构造器，都不满足时使用无参构造器
+ */
+public class BeanConstructionPlan {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    /**
+     * 不可变的字面值类型，转换结果可以在所有实例之间共享
+     */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, Class.class, Locale.class, UUID.class));
+
+    private final Class<?> beanClass;
+
+    /**
+     * 编译计划时的构造器参数值，用于判断BeanDefinition的参数是否已被修改
+     */
+    private final ValueHolder[] argumentValues;
+
+    private final ConversionService conversionService;
+
+    private final Constructor<?> constructor;
+
+    private final MethodHandle invoker;
+
+    private final ArgumentResolver[] arguments;
+
+    private BeanConstructionPlan(Class<?> beanClass, ValueHolder[] argumentValues, ConversionService conversionService,
+                                 Constructor<?> constructor, MethodHandle invoker, ArgumentResolver[] arguments) {
+        this.beanClass = beanClass;
+        this.argumentValues = argumentValues;
+        this.conversionService = conversionService;
+        this.constructor = constructor;
+        this.invoker = invoker;
+        this.arguments = arguments;
+    }
+
+    /**
+     * 编译构造计划
+     * @param beanClass bean的类型
+     * @param argumentValues BeanDefinition中的构造器参数值
+     * @param conversionService 类型转换服务，可以为null
+     * @return 构造计划，不需要有参构造器时isDefaultConstructor()为true
+     * @throws BeansException 找不到匹配的构造器或参数无法转换时抛出异常
+     */
+    public static BeanConstructionPlan compile(Class<?> beanClass, ValueHolder[] argumentValues,
+                                               ConversionService conversionService) throws BeansException {
+        Constructor<?> constructor = argumentValues.length > 0 ? findConstructor(beanClass, argumentValues)
+                : findAutowiredConstructor(beanClass);
+        if (constructor == null){
+            return new BeanConstructionPlan(beanClass, argumentValues, conversionService, null, null, null);
+        }
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Type[] genericParameterTypes = constructor.getGenericParameterTypes();
+        Annotation[][] parameterAnnotations = constructor.getParameterAnnotations();
+        ArgumentResolver[] arguments = new ArgumentResolver[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            if (argumentValues.length > 0){
+                Object value = argumentValues[i].getValue();
+                if (value instanceof BeanReference){
+                    arguments[i] = new ArgumentResolver(((BeanReference) value).getBeanName(), parameterType, false, true, null);
+                } else {
+                    // 编译时转换一次，提前暴露无法转换的参数；转换结果可变时每次创建bean重新转换，避免多个实例共享同一个对象
+                    Object converted = convertLiteral(beanClass, i, value, parameterType, conversionService);
+                    if (isImmutable(converted)){
+                        arguments[i] = ArgumentResolver.literal(converted);
+                    } else {
+                        int index = i;
+                        arguments[i] = ArgumentResolver.literal(() -> convertLiteral(beanClass, index, value, parameterType, conversionService));
+                    }
+                }
+                continue;
+            }
+            if (parameterType == ObjectProvider.class || parameterType == ObjectFactory.class){
+                arguments[i] = ArgumentResolver.provider(resolveProvidedType(beanClass, i, genericParameterTypes[i]));
+                continue;
+            }
+            Qualifier qualifier = findAnnotation(parameterAnnotations[i], Qualifier.class);
+            Lazy lazy = findAnnotation(parameterAnnotations[i], Lazy.class);
+            arguments[i] = new ArgumentResolver(qualifier != null ? qualifier.value() : null, parameterType,
+                    lazy != null && lazy.value(), false, null);
+        }
+        MethodHandle invoker;
+        try {
+            constructor.setAccessible(true);
+            invoker = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, parameterTypes.length).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e){
+            throw new BeansException("Cannot access constructor [" + constructor + "]",e);
+        }
+        return new BeanConstructionPlan(beanClass, argumentValues, conversionService, constructor, invoker, arguments);
+    }
+
+    /**
+     * 获取需要自动注入参数的构造器：标注了@Autowired的构造器，或者类唯一的有参构造器
+     * @param beanClass bean的类型
+     * @return 构造器，应当使用无参构造器时返回null
+     * @throws BeansException 存在多个@Autowired构造器时抛出异常
+     */
+    public static Constructor<?> findAutowiredConstructor(Class<?> beanClass) throws BeansException {
+        Constructor<?>[] constructors = beanClass.getDeclaredConstructors();
+        Constructor<?> autowired = null;
+        for (Constructor<?> candidate : constructors) {
+            if (candidate.isAnnotationPresent(Autowired.class)){
+                if (autowired != null){
+                    throw new BeansException("Multiple @Autowired constructors found in [" + beanClass.getName() + "]");
+                }
+                autowired = candidate;
+            }
+        }
+        if (autowired != null){
+            return autowired.getParameterCount() > 0 ? autowired : null;
+        }
+        if (constructors.length == 1 && constructors[0].getParameterCount() > 0){
+            return constructors[0];
+        }
+        return null;
+    }
+
+    /**
+     * 在参数个数相同的构造器中，按constructor-arg指定的类型选择唯一的构造器
+     */
+    private static Constructor<?> findConstructor(Class<?> beanClass, ValueHolder[] argumentValues){
+        for (int i = 0; i < argumentValues.length; i++) {
+            if (argumentValues[i] == null){
+                throw new BeansException("Constructor argument " + i + " of [" + beanClass.getName() + "] is not specified");
+            }
+        }
+        List<Constructor<?>> candidates = new ArrayList<>();
+        for (Constructor<?> candidate : beanClass.getDeclaredConstructors()) {
+            if (candidate.getParameterCount() != argumentValues.length){
+                continue;
+            }
+            Class<?>[] parameterTypes = candidate.getParameterTypes();
+            boolean matches = true;
+            for (int i = 0; i < parameterTypes.length && matches; i++) {
+                String type = argumentValues[i].getType();
+                matches = type == null || type.equals(parameterTypes[i].getName()) || type.equals(parameterTypes[i].getSimpleName());
+            }
+            if (matches){
+                candidates.add(candidate);
+            }
+        }
+        if (candidates.isEmpty()){
+            throw new BeansException("No constructor with " + argumentValues.length + " matching arguments found in [" + beanClass.getName() + "]");
+        }
+        if (candidates.size() > 1){
+            throw new BeansException("Ambiguous constructors with " + argumentValues.length + " arguments in ["
+                    + beanClass.getName() + "], specify the type of constructor-arg: " + candidates);
+        }
+        return candidates.get(0);
+    }
+
+    /**
+     * 字面值类型转换，优先使用配置的转换器，与属性填充保持一致
+     */
+    private static Object convertLiteral(Class<?> beanClass, int index, Object value, Class<?> parameterType,
+                                         ConversionService conversionService){
+        if (value == null){
+            return ClassUtil.getDefaultValue(parameterType);
+        }
+        if (conversionService != null && conversionService.canConvert(value.getClass(), parameterType)){
+            return conversionService.convert(value, parameterType);
+        }
+        if (BasicType.wrap(parameterType).isInstance(value)){
+            return value;
+        }
+        Object converted = Convert.convert(parameterType, value);
+        if (converted == null){
+            throw new BeansException("Cannot convert constructor argument " + index + " of [" + beanClass.getName()
+                    + "] to [" + parameterType.getName() + "]");
+        }
+        return converted;
+    }
+
+    /**
+     * 转换结果是否可以被多个bean实例共享
+     */
+    private static boolean isImmutable(Object value){
+        return value == null || IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum
+                || value.getClass().getName().startsWith("java.time.");
+    }
+
+    /**
+     * 获取ObjectProvider/ObjectFactory参数的泛型参数
+     */
+    private static Class<?> resolveProvidedType(Class<?> beanClass, int index, Type genericParameterType){
+        Type typeArgument = TypeUtil.getTypeArgument(genericParameterType);
+        Class<?> providedType = typeArgument != null ? TypeUtil.getClass(typeArgument) : null;
+        if (providedType == null){
+            throw new BeansException("Cannot resolve the bean type of constructor argument " + index + " of [" + beanClass.getName() + "]");
+        }
+        return providedType;
+    }
+
+    private static <A extends Annotation> A findAnnotation(Annotation[] annotations, Class<A> type){
+        for (Annotation annotation : annotations) {
+            if (type.isInstance(annotation)){
+                return type.cast(annotation);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断该计划是否适用于当前的bean类型、构造器参数值以及类型转换服务
+     * @param beanClass bean的类型
+     * @param argumentValues bean当前的构造器参数值
+     * @param conversionService 当前的类型转换服务
+     * @return 判断结果
+     */
+    public boolean isCompiledFor(Class<?> beanClass, ValueHolder[] argumentValues, ConversionService conversionService){
+        if (this.beanClass != beanClass || this.conversionService != conversionService
+                || this.argumentValues.length != argumentValues.length){
+            return false;
+        }
+        // ValueHolder不可变，参数被修改时会替换为新的实例
+        for (int i = 0; i < argumentValues.length; i++) {
+            if (this.argumentValues[i] != argumentValues[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 是否应当使用无参构造器，由InstantiationStrategy实例化
+     */
+    public boolean isDefaultConstructor(){
+        return constructor == null;
+    }
+
+    /**
+     * @return 选择的构造器，使用无参构造器时为null
+     */
+    public Constructor<?> getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * 解析所依赖的bean并调用构造器
+     * @param beanName 所要创建的bean的名字
+     * @param beanFactory 用于获取所依赖的bean
+     * @return 创建的bean
+     * @throws BeansException 创建失败抛出异常
+     */
+    public Object instantiate(String beanName, AutowireCapableBeanFactory beanFactory) throws BeansException {
+        Object[] args = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            args[i] = arguments[i].resolve(beanName, beanFactory);
+        }
+        try {
+            return (Object) invoker.invokeExact(args);
+        } catch (Error | BeansException e){
+            throw e;
+        } catch (Throwable e){
+            throw new BeansException("Failed to instantiate bean '" + beanName + "' using constructor [" + constructor + "]",e);
+        }
+    }
+
+    /**
+     * 单个构造器参数的来源
+     */
+    private static final class ArgumentResolver {
+        /**
+         * 所依赖的bean的名字，按类型自动注入时为null
+         */
+        private final String beanName;
+        private final Class<?> parameterType;
+        private final boolean lazy;
+        /**
+         * 是否为constructor-arg中配置的值
+         */
+        private final boolean configured;
+        private final Object literal;
+        /**
+         * 字面值转换结果可变时，每次创建bean重新转换
+         */
+        private final Supplier<Object> literalFactory;
+        /**
+         * 参数为ObjectProvider/ObjectFactory时所要获取的bean的类型
+         */
+        private final Class<?> providedType;
+
+        private ArgumentResolver(String beanName, Class<?> parameterType, boolean lazy, boolean configured, Object literal) {
+            this(beanName, parameterType, lazy, configured, literal, null, null);
+        }
+
+        private ArgumentResolver(String beanName, Class<?> parameterType, boolean lazy, boolean configured,
+                                 Object literal, Supplier<Object> literalFactory, Class<?> providedType) {
+            this.beanName = beanName;
+            this.parameterType = parameterType;
+            this.lazy = lazy;
+            this.configured = configured;
+            this.literal = literal;
+            this.literalFactory = literalFactory;
+            this.providedType = providedType;
+        }
+
+        private static ArgumentResolver literal(Object value){
+            return new ArgumentResolver(null, null, false, true, value);
+        }
+
+        private static ArgumentResolver literal(Supplier<Object> literalFactory){
+            return new ArgumentResolver(null, null, false, true, null, literalFactory, null);
+        }
+
+        private static ArgumentResolver provider(Class<?> providedType){
+            return new ArgumentResolver(null, null, false, false, null, null, providedType);
+        }
+
+        private Object resolve(String requestingBeanName, AutowireCapableBeanFactory beanFactory){
+            if (providedType != null){
+                if (!(beanFactory instanceof ListableBeanFactory)){
+                    throw new BeansException("ObjectProvider injection requires a ListableBeanFactory");
+                }
+                return ((ListableBeanFactory) beanFactory).getBeanProvider(providedType);
+            }
+            if (beanName != null){
+                // 所依赖的bean懒加载或者参数标注了@Lazy时注入延迟解析代理
+                return beanFactory.resolveDependency(beanName, parameterType, lazy, requestingBeanName);
+            }
+            if (configured){
+                return literalFactory != null ? literalFactory.get() : literal;
+            }
+            // 与AutowiredAnnotationBeanPostProcessor的解析方式保持一致
+            if (beanFactory instanceof ListableBeanFactory){
+                String[] candidateNames = ((ListableBeanFactory) beanFactory).getBeanNamesForType(parameterType);
+                if (candidateNames.length == 1){
+                    return beanFactory.resolveDependency(candidateNames[0], parameterType, lazy, requestingBeanName);
+                }
+            }
+            return beanFactory.getBean(parameterType);
+        }
+    }
+}
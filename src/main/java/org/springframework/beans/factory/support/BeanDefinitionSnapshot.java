@@ -0,0 +1,414 @@
+package org.springframework.beans.factory.support;
+
+import cn.hutool.core.util.ClassUtil;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+
+/**
+ * BeanDefinition的二进制快照
+ * 将解析xml、扫描类路径得到的BeanDefinition(类、作用域、属性值、构造器参数、bean引用、初始化和销毁方法)写入文件，
+ * 之后启动时通过内存映射读取并直接注册，不再重新解析和扫描；配置文件的校验和或被扫描包中的类文件变化时快照失效
+ *
+ * 文件格式：魔数、版本、校验和、被扫描的包及其类文件的校验和、字符串表(类名、属性名等只存一份)、bean列表，bean中的字符串均为字符串表的下标
+ */
+public class BeanDefinitionSnapshot {
+
+    private static final int MAGIC = 0x59554244;
+
+    private static final short VERSION = 3;
+
+    private static final int NULL_INDEX = -1;
+
+    private static final byte FLAG_LAZY_INIT = 1;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_REFERENCE = 2;
+
+    private BeanDefinitionSnapshot() {
+    }
+
+    /**
+     * 计算配置文件的校验和
+     * @param resources 配置文件
+     * @return 校验和
+     * @throws IOException 读取失败抛出异常
+     */
+    public static long checksum(Resource... resources) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        for (Resource resource : resources) {
+            try (InputStream inputStream = resource.getInputStream()) {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1){
+                    crc.update(buffer, 0, read);
+                }
+            }
+            // 分隔不同的文件，避免内容拼接后相同
+            crc.update(0);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * 计算被扫描包中类文件的校验和，只读取文件名、大小和修改时间，不加载类
+     * @param basePackages 被扫描的包
+     * @return 校验和
+     * @throws IOException 读取失败抛出异常
+     */
+    public static long scanChecksum(String... basePackages) throws IOException {
+        CRC32 crc = new CRC32();
+        ClassLoader classLoader = ClassUtil.getClassLoader();
+        for (String basePackage : basePackages) {
+            String packagePath = basePackage.trim().replace('.', '/');
+            crc.update(packagePath.getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+            Enumeration<URL> urls = classLoader.getResources(packagePath);
+            while (urls.hasMoreElements()){
+                URL url = urls.nextElement();
+                if ("file".equals(url.getProtocol())){
+                    updateDirectory(crc, new File(URLDecoder.decode(url.getFile(), StandardCharsets.UTF_8.name())), packagePath);
+                } else if ("jar".equals(url.getProtocol())){
+                    updateJar(crc, url, packagePath);
+                } else {
+                    // 无法列出的位置，只能按地址计算
+                    updateEntry(crc, url.toString(), 0, 0);
+                }
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static void updateDirectory(CRC32 crc, File directory, String path){
+        File[] files = directory.listFiles();
+        if (files == null){
+            return;
+        }
+        // 目录列表的顺序与文件系统有关，排序后校验和才稳定
+        Arrays.sort(files);
+        for (File file : files) {
+            String name = path + "/" + file.getName();
+            if (file.isDirectory()){
+                updateDirectory(crc, file, name);
+            } else if (file.getName().endsWith(".class")){
+                updateEntry(crc, name, file.length(), file.lastModified());
+            }
+        }
+    }
+
+    private static void updateJar(CRC32 crc, URL url, String packagePath) throws IOException {
+        JarURLConnection connection = (JarURLConnection) url.openConnection();
+        connection.setUseCaches(false);
+        try (JarFile jarFile = connection.getJarFile()) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()){
+                JarEntry entry = entries.nextElement();
+                if (entry.getName().startsWith(packagePath + "/") && entry.getName().endsWith(".class")){
+                    updateEntry(crc, entry.getName(), entry.getSize(), entry.getTime());
+                }
+            }
+        }
+    }
+
+    private static void updateEntry(CRC32 crc, String name, long size, long lastModified){
+        crc.update(name.getBytes(StandardCharsets.UTF_8));
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (size >>> shift));
+        }
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (lastModified >>> shift));
+        }
+    }
+
+    /**
+     * 将注册表中的全部BeanDefinition写入快照文件，先写入临时文件再替换，避免读到写了一半的文件
+     * @param file 快照文件
+     * @param checksum 配置文件的校验和
+     * @param registry BeanDefinition注册表
+     * @return 是否写入成功，属性值不是字符串或bean引用等无法写入快照的情况返回false
+     * @throws IOException 写入失败抛出异常
+     */
+    public static boolean write(File file, long checksum, BeanDefinitionRegistry registry) throws IOException {
+        return write(file, checksum, registry, new String[0]);
+    }
+
+    /**
+     * 将注册表中的全部BeanDefinition写入快照文件，同时记录被扫描的包及其类文件的校验和
+     * @param file 快照文件
+     * @param checksum 配置文件的校验和
+     * @param registry BeanDefinition注册表
+     * @param scannedPackages 解析xml时通过component-scan扫描过的包
+     * @return 是否写入成功，属性值不是字符串或bean引用等无法写入快照的情况返回false
+     * @throws IOException 写入失败抛出异常
+     */
+    public static boolean write(File file, long checksum, BeanDefinitionRegistry registry, String[] scannedPackages) throws IOException {
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream beans = new ByteArrayOutputStream(4096);
+        DataOutputStream out = new DataOutputStream(beans);
+        String[] beanNames = registry.getBeanDefinitionNames();
+        out.writeInt(beanNames.length);
+        for (String beanName : beanNames) {
+            BeanDefinition beanDefinition = registry.getBeanDefinition(beanName);
+            if (beanDefinition.getBeanClass() == null){
+                return false;
+            }
+            out.writeInt(strings.indexOf(beanName));
+            out.writeInt(strings.indexOf(beanDefinition.getBeanClass().getName()));
+            out.writeInt(strings.indexOf(beanDefinition.getScope()));
+            out.writeInt(strings.indexOf(beanDefinition.getInitMethodName()));
+            out.writeInt(strings.indexOf(beanDefinition.getDestroyMethodName()));
+            out.writeByte(beanDefinition.isLazyInit() ? FLAG_LAZY_INIT : 0);
+            List<PropertyValue> propertyValues = beanDefinition.hasPropertyValues()
+                    ? beanDefinition.getPropertyValues().asList() : PropertyValues.EMPTY.asList();
+            out.writeInt(propertyValues.size());
+            for (PropertyValue propertyValue : propertyValues) {
+                out.writeInt(strings.indexOf(propertyValue.getName()));
+                if (!writeValue(out, strings, propertyValue.getValue())){
+                    return false;
+                }
+            }
+            ConstructorArgumentValues.ValueHolder[] argumentValues = beanDefinition.hasConstructorArgumentValues()
+                    ? beanDefinition.getConstructorArgumentValues().getArgumentValues() : new ConstructorArgumentValues.ValueHolder[0];
+            out.writeInt(argumentValues.length);
+            for (ConstructorArgumentValues.ValueHolder argumentValue : argumentValues) {
+                if (argumentValue == null){
+                    return false;
+                }
+                out.writeInt(strings.indexOf(argumentValue.getType()));
+                if (!writeValue(out, strings, argumentValue.getValue())){
+                    return false;
+                }
+            }
+        }
+        out.flush();
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream(beans.size() + strings.size() * 32 + 32);
+        DataOutputStream header = new DataOutputStream(snapshot);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        header.writeLong(checksum);
+        header.writeInt(scannedPackages.length);
+        for (String scannedPackage : scannedPackages) {
+            writeString(header, scannedPackage);
+        }
+        header.writeLong(scanChecksum(scannedPackages));
+        strings.writeTo(header);
+        beans.writeTo(header);
+        header.flush();
+
+        Path target = file.toPath();
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null){
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getName(), ".tmp");
+        try {
+            Files.write(temp, snapshot.toByteArray());
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e){
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+
+    /**
+     * 写入属性值或构造器参数值
+     * @return 是否写入成功，不是字符串或bean引用时返回false
+     */
+    private static boolean writeValue(DataOutputStream out, StringTable strings, Object value) throws IOException {
+        if (value == null){
+            out.writeByte(VALUE_NULL);
+            out.writeInt(NULL_INDEX);
+        } else if (value instanceof String){
+            out.writeByte(VALUE_STRING);
+            out.writeInt(strings.indexOf((String) value));
+        } else if (value instanceof BeanReference){
+            out.writeByte(VALUE_REFERENCE);
+            out.writeInt(strings.indexOf(((BeanReference) value).getBeanName()));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer){
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读取快照文件并注册其中的BeanDefinition
+     * 快照不存在、校验和不一致、被扫描包中的类文件变化、文件损坏或类已不存在时不注册任何BeanDefinition
+     * @param file 快照文件
+     * @param checksum 当前配置文件的校验和
+     * @param registry BeanDefinition注册表
+     * @return 是否从快照中注册了BeanDefinition
+     */
+    public static boolean load(File file, long checksum, BeanDefinitionRegistry registry){
+        return load(file, checksum, registry, ClassUtil.getClassLoader());
+    }
+
+    /**
+     * 读取快照文件并注册其中的BeanDefinition
+     * @param file 快照文件
+     * @param checksum 当前配置文件的校验和
+     * @param registry BeanDefinition注册表
+     * @param beanClassLoader 加载bean类型所用的类加载器，应与解析xml时一致
+     * @return 是否从快照中注册了BeanDefinition
+     */
+    public static boolean load(File file, long checksum, BeanDefinitionRegistry registry, ClassLoader beanClassLoader){
+        if (!file.isFile()){
+            return false;
+        }
+        Map<String, BeanDefinition> beanDefinitions;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            beanDefinitions = read(buffer, checksum, beanClassLoader);
+        } catch (IOException | RuntimeException | ClassNotFoundException | LinkageError e){
+            // 快照损坏或与当前类路径不一致，按原有方式加载
+            return false;
+        }
+        if (beanDefinitions == null){
+            return false;
+        }
+        for (Map.Entry<String, BeanDefinition> entry : beanDefinitions.entrySet()) {
+            registry.registerBeanDefinition(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    private static Map<String, BeanDefinition> read(ByteBuffer buffer, long checksum, ClassLoader beanClassLoader) throws ClassNotFoundException, IOException {
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION || buffer.getLong() != checksum){
+            return null;
+        }
+        // 快照跳过了类路径扫描，被扫描包中的类增删或重新编译后快照失效
+        String[] scannedPackages = new String[buffer.getInt()];
+        for (int i = 0; i < scannedPackages.length; i++) {
+            scannedPackages[i] = readString(buffer);
+        }
+        if (buffer.getLong() != scanChecksum(scannedPackages)){
+            return null;
+        }
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(buffer);
+        }
+        // 同一个类只加载一次
+        Map<String, Class<?>> classes = new HashMap<>();
+        int beanCount = buffer.getInt();
+        Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>(beanCount * 2);
+        for (int i = 0; i < beanCount; i++) {
+            String beanName = string(strings, buffer.getInt());
+            String className = string(strings, buffer.getInt());
+            Class<?> beanClass = classes.get(className);
+            if (beanClass == null){
+                beanClass = Class.forName(className, true, beanClassLoader);
+                classes.put(className, beanClass);
+            }
+            BeanDefinition beanDefinition = new BeanDefinition(beanClass);
+            beanDefinition.setScope(string(strings, buffer.getInt()));
+            beanDefinition.setInitMethodName(string(strings, buffer.getInt()));
+            beanDefinition.setDestroyMethodName(string(strings, buffer.getInt()));
+            beanDefinition.setLazyInit((buffer.get() & FLAG_LAZY_INIT) != 0);
+            int propertyCount = buffer.getInt();
+            for (int j = 0; j < propertyCount; j++) {
+                String name = string(strings, buffer.getInt());
+                beanDefinition.getPropertyValues().addPropertyValue(new PropertyValue(name, readValue(buffer, strings)));
+            }
+            int argumentCount = buffer.getInt();
+            for (int j = 0; j < argumentCount; j++) {
+                String type = string(strings, buffer.getInt());
+                beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(j,
+                        new ConstructorArgumentValues.ValueHolder(readValue(buffer, strings), type));
+            }
+            beanDefinitions.put(beanName, beanDefinition);
+        }
+        return beanDefinitions;
+    }
+
+    private static Object readValue(ByteBuffer buffer, String[] strings){
+        byte kind = buffer.get();
+        String value = string(strings, buffer.getInt());
+        return kind == VALUE_REFERENCE ? new BeanReference(value) : value;
+    }
+
+    private static String string(String[] strings, int index){
+        return index == NULL_INDEX ? null : strings[index];
+    }
+
+    /**
+     * 字符串表，相同的字符串只写入一次
+     */
+    private static final class StringTable {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final List<String> strings = new ArrayList<>();
+
+        private int indexOf(String value){
+            if (value == null){
+                return NULL_INDEX;
+            }
+            Integer index = indexes.get(value);
+            if (index == null){
+                index = strings.size();
+                strings.add(value);
+                indexes.put(value, index);
+            }
+            return index;
+        }
+
+        private int size(){
+            return strings.size();
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(strings.size());
+            for (String value : strings) {
+                writeString(out, value);
+            }
+        }
+    }
+}
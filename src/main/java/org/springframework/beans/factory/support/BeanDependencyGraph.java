@@ -0,0 +1,425 @@
+package org.springframework.beans.factory.support;
+
+import cn.hutool.json.JSONUtil;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * bean之间的依赖关系图，只根据BeanDefinition静态分析，不会实例化任何bean
+ * 依赖来源于PropertyValues和构造器参数中的BeanReference、@Autowired/@Qualifier注解的属性以及自动注入的构造器参数
+ * 可以在创建bean之前找出循环依赖、依赖深度以及扇入/扇出较大的bean，并导出为DOT或JSON
+ */
+public class BeanDependencyGraph {
+
+    /**
+     * bean名称 -> 它所依赖的bean名称，按getBeanDefinitionNames的顺序排列
+     */
+    private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+    /**
+     * bean名称 -> 依赖它的bean名称，即反向边
+     */
+    private final Map<String, Set<String>> dependents = new LinkedHashMap<>();
+
+    /**
+     * 强连通分量以及各bean的依赖深度，首次使用时计算
+     */
+    private List<List<String>> components;
+
+    private Map<String, Integer> depths;
+
+    private BeanDependencyGraph() {
+    }
+
+    /**
+     * 根据bean工厂中的全部BeanDefinition构建依赖图
+     * @param beanFactory bean工厂
+     * @return 依赖图
+     */
+    public static BeanDependencyGraph build(ConfigurableListableBeanFactory beanFactory){
+        BeanDependencyGraph graph = new BeanDependencyGraph();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            graph.dependencies.put(beanName, new LinkedHashSet<>());
+            graph.dependents.put(beanName, new LinkedHashSet<>());
+        }
+        for (String beanName : graph.dependencies.keySet()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            Set<String> dependsOn = graph.dependencies.get(beanName);
+            // xml中ref引用的bean
+            if (beanDefinition.hasPropertyValues()){
+                for (PropertyValue propertyValue : beanDefinition.getPropertyValues().asList()) {
+                    if (propertyValue.getValue() instanceof BeanReference){
+                        dependsOn.add(((BeanReference) propertyValue.getValue()).getBeanName());
+                    }
+                }
+            }
+            // constructor-arg中ref引用的bean
+            ConstructorArgumentValues.ValueHolder[] argumentValues = beanDefinition.hasConstructorArgumentValues()
+                    ? beanDefinition.getConstructorArgumentValues().getArgumentValues() : new ConstructorArgumentValues.ValueHolder[0];
+            for (ConstructorArgumentValues.ValueHolder argumentValue : argumentValues) {
+                if (argumentValue != null && argumentValue.getValue() instanceof BeanReference){
+                    dependsOn.add(((BeanReference) argumentValue.getValue()).getBeanName());
+                }
+            }
+            // @Autowired注入的bean，与AutowiredAnnotationBeanPostProcessor的解析方式保持一致
+            Class<?> beanClass = beanDefinition.getBeanClass();
+            if (beanClass != null && !beanDefinition.hasConstructorArgumentValues()){
+                addConstructorDependencies(beanFactory, beanClass, dependsOn);
+            }
+            if (beanClass != null){
+                for (Field field : beanClass.getDeclaredFields()) {
+                    if (field.getAnnotation(Autowired.class) == null){
+                        continue;
+                    }
+                    Qualifier qualifier = field.getAnnotation(Qualifier.class);
+                    if (qualifier != null){
+                        dependsOn.add(qualifier.value());
+                    } else {
+                        dependsOn.addAll(Arrays.asList(beanFactory.getBeanNamesForType(field.getType())));
+                    }
+                }
+            }
+            // 只保留已定义的bean，忽略直接注册的单例以及自身
+            dependsOn.retainAll(graph.dependencies.keySet());
+            dependsOn.remove(beanName);
+            for (String dependency : dependsOn) {
+                graph.dependents.get(dependency).add(beanName);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * 自动注入的构造器参数，与BeanConstructionPlan的解析方式保持一致
+     */
+    private static void addConstructorDependencies(ConfigurableListableBeanFactory beanFactory, Class<?> beanClass, Set<String> dependsOn){
+        Constructor<?> constructor;
+        try {
+            constructor = BeanConstructionPlan.findAutowiredConstructor(beanClass);
+        } catch (RuntimeException | LinkageError e){
+            // 构造器有误时在创建bean时报告
+            return;
+        }
+        if (constructor == null){
+            return;
+        }
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Annotation[][] parameterAnnotations = constructor.getParameterAnnotations();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            String qualifier = null;
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof Qualifier){
+                    qualifier = ((Qualifier) annotation).value();
+                }
+            }
+            if (qualifier != null){
+                dependsOn.add(qualifier);
+            } else {
+                dependsOn.addAll(Arrays.asList(beanFactory.getBeanNamesForType(parameterTypes[i])));
+            }
+        }
+    }
+
+    /**
+     * @return 图中全部bean的名称，按getBeanDefinitionNames的顺序排列
+     */
+    public Set<String> getBeanNames(){
+        return Collections.unmodifiableSet(dependencies.keySet());
+    }
+
+    /**
+     * 获取指定bean直接依赖的bean
+     * @param beanName bean的名字
+     * @return 直接依赖的bean名称
+     */
+    public Set<String> getDependencies(String beanName){
+        Set<String> dependsOn = dependencies.get(beanName);
+        return dependsOn != null ? Collections.unmodifiableSet(dependsOn) : Collections.<String>emptySet();
+    }
+
+    /**
+     * 获取直接依赖指定bean的bean，销毁时应当先于该bean销毁
+     * @param beanName bean的名字
+     * @return 直接依赖它的bean名称
+     */
+    public Set<String> getDependents(String beanName){
+        Set<String> dependedBy = dependents.get(beanName);
+        return dependedBy != null ? Collections.unmodifiableSet(dependedBy) : Collections.<String>emptySet();
+    }
+
+    /**
+     * @param beanName bean的名字
+     * @return 扇出，即直接依赖的bean数量
+     */
+    public int getFanOut(String beanName){
+        return getDependencies(beanName).size();
+    }
+
+    /**
+     * @param beanName bean的名字
+     * @return 扇入，即直接依赖它的bean数量
+     */
+    public int getFanIn(String beanName){
+        return getDependents(beanName).size();
+    }
+
+    /**
+     * 获取循环依赖，即包含多个bean的强连通分量
+     * @return 循环依赖中的bean，每个分量内部按getBeanDefinitionNames的顺序排列
+     */
+    public List<List<String>> getCycles(){
+        List<List<String>> cycles = new ArrayList<>();
+        for (List<String> component : components()) {
+            if (component.size() > 1){
+                cycles.add(Collections.unmodifiableList(component));
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * 获取依赖深度：不依赖其他bean的深度为1，否则为所依赖bean的最大深度加1
+     * 同一循环依赖中的bean视为一个整体，深度相同
+     * @param beanName bean的名字
+     * @return 依赖深度，bean不在图中时为0
+     */
+    public int getDepth(String beanName){
+        Integer depth = depths().get(beanName);
+        return depth != null ? depth : 0;
+    }
+
+    /**
+     * @return 图中最长依赖链的深度
+     */
+    public int getMaxDepth(){
+        int maxDepth = 0;
+        for (Integer depth : depths().values()) {
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        return maxDepth;
+    }
+
+    /**
+     * 获取最长的一条依赖链，链上的bean必须依次创建，决定了并行创建的下限
+     * @return 从最先创建的bean到最后创建的bean
+     */
+    public List<String> getLongestPath(){
+        String current = null;
+        for (String beanName : dependencies.keySet()) {
+            if (current == null || getDepth(beanName) > getDepth(current)){
+                current = beanName;
+            }
+        }
+        LinkedList<String> path = new LinkedList<>();
+        while (current != null){
+            path.addFirst(current);
+            String next = null;
+            for (String dependency : dependencies.get(current)) {
+                // 沿深度恰好减1的依赖前进，跳过同一循环依赖中的bean
+                if (getDepth(dependency) == getDepth(current) - 1 && (next == null || getDepth(dependency) > getDepth(next))){
+                    next = dependency;
+                }
+            }
+            current = next;
+        }
+        return path;
+    }
+
+    /**
+     * 获取扇入与扇出之和最大的bean，这些bean被修改或创建缓慢时影响范围最大
+     * @param limit 最多返回的数量
+     * @return bean名称，按扇入与扇出之和从大到小排列，相同时按getBeanDefinitionNames的顺序排列
+     */
+    public List<String> getHotspots(int limit){
+        List<String> beanNames = new ArrayList<>(dependencies.keySet());
+        // List.sort是稳定排序，相同时保持注册顺序
+        beanNames.sort(Comparator.comparingInt((String beanName) -> getFanIn(beanName) + getFanOut(beanName)).reversed());
+        return beanNames.subList(0, Math.min(limit, beanNames.size()));
+    }
+
+    /**
+     * 导出为Graphviz的DOT格式，边从bean指向它所依赖的bean，循环依赖中的bean标为红色
+     * @return DOT文本
+     */
+    public String toDot(){
+        Set<String> cyclic = new HashSet<>();
+        for (List<String> cycle : getCycles()) {
+            cyclic.addAll(cycle);
+        }
+        StringBuilder dot = new StringBuilder(dependencies.size() * 64 + 32);
+        dot.append("digraph beans {\n");
+        for (String beanName : dependencies.keySet()) {
+            dot.append("  ").append(JSONUtil.quote(beanName))
+                    .append(" [label=").append(JSONUtil.quote(beanName + " (depth " + getDepth(beanName) + ")"));
+            if (cyclic.contains(beanName)){
+                dot.append(", color=red");
+            }
+            dot.append("];\n");
+        }
+        dependencies.forEach((beanName, dependsOn) -> {
+            for (String dependency : dependsOn) {
+                dot.append("  ").append(JSONUtil.quote(beanName)).append(" -> ").append(JSONUtil.quote(dependency)).append(";\n");
+            }
+        });
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * 导出为JSON，包括每个bean的依赖、深度、扇入扇出以及全部循环依赖
+     * @return JSON文本
+     */
+    public String toJson(){
+        StringBuilder json = new StringBuilder(dependencies.size() * 96 + 64);
+        json.append("{\"maxDepth\":").append(getMaxDepth()).append(",\"beans\":[");
+        boolean first = true;
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            if (!first){
+                json.append(',');
+            }
+            first = false;
+            String beanName = entry.getKey();
+            json.append("{\"name\":").append(JSONUtil.quote(beanName))
+                    .append(",\"depth\":").append(getDepth(beanName))
+                    .append(",\"fanIn\":").append(getFanIn(beanName))
+                    .append(",\"fanOut\":").append(getFanOut(beanName))
+                    .append(",\"dependencies\":");
+            appendNames(json, entry.getValue());
+            json.append('}');
+        }
+        json.append("],\"cycles\":[");
+        List<List<String>> cycles = getCycles();
+        for (int i = 0; i < cycles.size(); i++) {
+            if (i > 0){
+                json.append(',');
+            }
+            appendNames(json, cycles.get(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void appendNames(StringBuilder json, Collection<String> beanNames){
+        json.append('[');
+        boolean first = true;
+        for (String beanName : beanNames) {
+            if (!first){
+                json.append(',');
+            }
+            first = false;
+            json.append(JSONUtil.quote(beanName));
+        }
+        json.append(']');
+    }
+
+    private List<List<String>> components(){
+        if (components == null){
+            components = getStronglyConnectedComponents();
+        }
+        return components;
+    }
+
+    /**
+     * 按依赖顺序遍历强连通分量，分量的深度为其依赖分量的最大深度加1
+     */
+    private Map<String, Integer> depths(){
+        if (depths == null){
+            Map<String, Integer> result = new HashMap<>();
+            for (List<String> component : components()) {
+                int depth = 1;
+                for (String beanName : component) {
+                    for (String dependency : dependencies.get(beanName)) {
+                        Integer dependencyDepth = result.get(dependency);
+                        // 同一分量中的bean尚未计算，跳过
+                        if (dependencyDepth != null){
+                            depth = Math.max(depth, dependencyDepth + 1);
+                        }
+                    }
+                }
+                for (String beanName : component) {
+                    result.put(beanName, depth);
+                }
+            }
+            depths = result;
+        }
+        return depths;
+    }
+
+    /**
+     * 计算强连通分量(Tarjan算法)，同一分量中的bean互相循环依赖
+     * 返回的分量按依赖顺序排列，即任何分量所依赖的分量都排在它前面
+     * @return 强连通分量列表
+     */
+    public List<List<String>> getStronglyConnectedComponents(){
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> lowLink = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        Set<String> onStack = new HashSet<>();
+        List<List<String>> components = new ArrayList<>();
+        Map<String, Integer> registrationOrder = new HashMap<>();
+        for (String beanName : dependencies.keySet()) {
+            registrationOrder.put(beanName, registrationOrder.size());
+        }
+        int counter = 0;
+
+        for (String root : dependencies.keySet()) {
+            if (index.containsKey(root)){
+                continue;
+            }
+            // 用显式栈代替递归，避免依赖链过深时栈溢出
+            Deque<Iterator<String>> iterators = new ArrayDeque<>();
+            Deque<String> path = new ArrayDeque<>();
+            index.put(root, counter);
+            lowLink.put(root, counter++);
+            stack.push(root);
+            onStack.add(root);
+            path.push(root);
+            iterators.push(dependencies.get(root).iterator());
+            while (!path.isEmpty()){
+                String current = path.peek();
+                Iterator<String> iterator = iterators.peek();
+                if (iterator.hasNext()){
+                    String next = iterator.next();
+                    if (!index.containsKey(next)){
+                        index.put(next, counter);
+                        lowLink.put(next, counter++);
+                        stack.push(next);
+                        onStack.add(next);
+                        path.push(next);
+                        iterators.push(dependencies.get(next).iterator());
+                    } else if (onStack.contains(next)){
+                        lowLink.put(current, Math.min(lowLink.get(current), index.get(next)));
+                    }
+                    continue;
+                }
+                path.pop();
+                iterators.pop();
+                if (!path.isEmpty()){
+                    String parent = path.peek();
+                    lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(current)));
+                }
+                if (lowLink.get(current).equals(index.get(current))){
+                    List<String> component = new ArrayList<>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(current));
+                    // 分量内部按getBeanDefinitionNames的顺序排列
+                    component.sort(Comparator.comparingInt(registrationOrder::get));
+                    components.add(component);
+                }
+            }
+        }
+        return components;
+    }
+}
@@ -0,0 +1,177 @@
+package org.springframework.beans.factory.support;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ClassUtil;
+import cn.hutool.core.util.ReflectUtil;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.core.convert.ConversionService;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * bean属性填充计划
+ * 针对同一个(bean类型, BeanDefinition)只解析一次属性对应的字段、目标类型以及是否需要类型转换，
+ * 之后每次创建bean时直接执行计划，不再重复反射查找
+ */
+public class BeanPopulationPlan {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> beanClass;
+
+    /**
+     * 编译计划时的属性值，用于判断BeanDefinition的属性是否已被修改
+     */
+    private final List<PropertyValue> propertyValues;
+
+    private final ConversionService conversionService;
+
+    private final PropertyInjection[] injections;
+
+    private BeanPopulationPlan(Class<?> beanClass, List<PropertyValue> propertyValues,
+                               ConversionService conversionService, PropertyInjection[] injections) {
+        this.beanClass = beanClass;
+        this.propertyValues = propertyValues;
+        this.conversionService = conversionService;
+        this.injections = injections;
+    }
+
+    /**
+     * 编译属性填充计划
+     * @param beanClass bean的类型
+     * @param propertyValues bean的全部属性值
+     * @param conversionService 类型转换服务，可以为null
+     * @return 填充计划
+     * @throws BeansException 找不到属性对应的字段时抛出异常
+     */
+    public static BeanPopulationPlan compile(Class<?> beanClass, List<PropertyValue> propertyValues,
+                                             ConversionService conversionService) throws BeansException {
+        // Map、List、数组类型的bean交由hutool按原有方式设值
+        boolean container = Map.class.isAssignableFrom(beanClass) || List.class.isAssignableFrom(beanClass)
+                || beanClass.isArray();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        PropertyInjection[] injections = new PropertyInjection[propertyValues.size()];
+        for (int i = 0; i < injections.length; i++) {
+            PropertyValue propertyValue = propertyValues.get(i);
+            String name = propertyValue.getName();
+            Object value = propertyValue.getValue();
+            if (container){
+                injections[i] = new PropertyInjection(name, value, null, false, null);
+                continue;
+            }
+            Field field = ReflectUtil.getField(beanClass, name);
+            if (field == null){
+                throw new BeansException("Field [" + name + "] is not exist in [" + beanClass.getName() + "]");
+            }
+            MethodHandle setter;
+            try {
+                field.setAccessible(true);
+                setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException e){
+                throw new BeansException("Cannot access field [" + name + "] of [" + beanClass.getName() + "]",e);
+            }
+            boolean convert = false;
+            if (!(value instanceof BeanReference) && value != null && conversionService != null){
+                // 使用配置的转换器，预先判断是否需要进行类型转换
+                convert = conversionService.canConvert(value.getClass(), field.getType());
+            }
+            injections[i] = new PropertyInjection(name, value, field.getType(), convert, setter);
+        }
+        return new BeanPopulationPlan(beanClass, propertyValues, conversionService, injections);
+    }
+
+    /**
+     * 判断该计划是否适用于当前的bean类型、属性值以及类型转换服务
+     * @param beanClass bean的类型
+     * @param propertyValues bean当前的全部属性值
+     * @param conversionService 当前的类型转换服务
+     * @return 判断结果
+     */
+    public boolean isCompiledFor(Class<?> beanClass, List<PropertyValue> propertyValues, ConversionService conversionService){
+        // PropertyValues写时复制，属性被修改后asList()会返回新的列表，因此只需比较列表本身
+        return this.beanClass == beanClass && this.conversionService == conversionService
+                && this.propertyValues == propertyValues;
+    }
+
+    /**
+     * 执行计划，为bean填充属性
+     * @param beanName 所要填充属性的bean的名字，用于登记它对所引用bean的依赖
+     * @param bean 所要填充属性的bean
+     * @param beanFactory 用于获取所引用的bean
+     * @throws BeansException 填充失败抛出异常
+     */
+    public void populate(String beanName, Object bean, AutowireCapableBeanFactory beanFactory) throws BeansException {
+        for (PropertyInjection injection : injections) {
+            Object value = injection.value;
+            if (value instanceof BeanReference){
+                // beanA依赖beanB，先实例化beanB；beanB懒加载且属性类型已知时注入延迟解析代理
+                value = beanFactory.resolveDependency(((BeanReference) value).getBeanName(), injection.fieldType, false, beanName);
+            } else if (injection.convert){
+                value = conversionService.convert(value, injection.fieldType);
+            }
+            if (injection.setter == null){
+                BeanUtil.setFieldValue(bean, injection.name, value);
+                continue;
+            }
+            value = adaptToFieldType(value, injection.fieldType);
+            try {
+                injection.setter.invokeExact(bean, value);
+            } catch (Error | BeansException e){
+                throw e;
+            } catch (Throwable e){
+                throw new BeansException("Failed to set field [" + injection.name + "] of [" + beanClass.getName() + "]",e);
+            }
+        }
+    }
+
+    /**
+     * 与hutool的ReflectUtil.setFieldValue保持一致：类型不匹配时尝试转换，null值设置为字段类型的默认值
+     */
+    private static Object adaptToFieldType(Object value, Class<?> fieldType){
+        if (value == null){
+            return ClassUtil.getDefaultValue(fieldType);
+        }
+        if (!BasicType.wrap(fieldType).isInstance(value)){
+            Object converted = Convert.convert(fieldType, value);
+            if (converted != null){
+                return converted;
+            }
+        }
+        return value;
+    }
+
+    private static final class PropertyInjection {
+        private final String name;
+        /**
+         * 属性的原始值，BeanReference或者字面值
+         */
+        private final Object value;
+        private final Class<?> fieldType;
+        /**
+         * 是否需要通过ConversionService转换
+         */
+        private final boolean convert;
+        /**
+         * 字段的setter句柄，为null时通过hutool设值
+         */
+        private final MethodHandle setter;
+
+        private PropertyInjection(String name, Object value, Class<?> fieldType, boolean convert, MethodHandle setter) {
+            this.name = name;
+            this.value = value;
+            this.fieldType = fieldType;
+            this.convert = convert;
+            this.setter = setter;
+        }
+    }
+}
@@ -1,20 +1,80 @@
 package org.springframework.beans.factory.support;
 
+import net.sf.cglib.reflect.FastClass;
+import net.sf.cglib.reflect.FastConstructor;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanDefinition;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * 使用CGLIB动态生成子类
+ * 使用CGLIB动态生成类来实例化bean
+ * 每个bean类型只生成一次FastClass并缓存其无参构造器，之后的实例化直接调用生成的代码，不再经过反射
+ * 生成的是调用构造器的辅助类而不是bean的子类，因此bean.getClass()仍然是原始类型
  */
 public class CglibSubclassingInstantiationStrategy implements InstantiationStrategy{
+
     /**
-     * 使用CGLIB动态生成子类
+     * bean类型 -> 构造器调用器
+     */
+    private final Map<Class<?>, ConstructorInvoker> invokerCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 使用CGLIB生成的构造器调用器实例化bean
      * @param beanDefinition bean的详细信息
      * @return 实例化后的对象
      * @throws BeansException 实例化失败抛出异常
      */
     @Override
     public Object instantiate(BeanDefinition beanDefinition) throws BeansException {
-        return null;
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        ConstructorInvoker invoker = invokerCache.get(beanClass);
+        if (invoker == null){
+            invoker = invokerCache.computeIfAbsent(beanClass, this::createInvoker);
+        }
+        try {
+            return invoker.newInstance();
+        } catch (InvocationTargetException e) {
+            throw new BeansException("Failed to instantiate [" + beanClass.getName() + "]",e.getTargetException());
+        } catch (Exception e) {
+            throw new BeansException("Failed to instantiate [" + beanClass.getName() + "]",e);
+        }
+    }
+
+    /**
+     * 优先生成FastClass调用器；构造器为private或者类无法生成(例如运行时未开放java.lang包)时，回退到缓存的反射构造器
+     * @param beanClass bean的类型
+     * @return 构造器调用器
+     */
+    private ConstructorInvoker createInvoker(Class<?> beanClass){
+        Constructor<?> constructor;
+        try {
+            constructor = beanClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e){
+            throw new BeansException("Failed to instantiate [" + beanClass.getName() + "]",e);
+        }
+        // 生成的类与bean位于同一个包中，只要求构造器和类不是private
+        if (!Modifier.isPrivate(constructor.getModifiers()) && !Modifier.isPrivate(beanClass.getModifiers())
+                && !Modifier.isAbstract(beanClass.getModifiers())){
+            try {
+                FastConstructor fastConstructor = FastClass.create(beanClass).getConstructor(constructor);
+                return fastConstructor::newInstance;
+            } catch (RuntimeException | LinkageError e){
+                // 无法生成时使用反射
+            }
+        }
+        constructor.setAccessible(true);
+        return constructor::newInstance;
+    }
+
+    /**
+     * 无参构造器的调用器
+     */
+    private interface ConstructorInvoker {
+        Object newInstance() throws Exception;
     }
 }
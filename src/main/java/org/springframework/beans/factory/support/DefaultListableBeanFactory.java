@@ -2,38 +2,72 @@ package org.springframework.beans.factory.support;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.support.AbstranctAutowireCapableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.core.metrics.StartupStep;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 public class DefaultListableBeanFactory extends AbstranctAutowireCapableBeanFactory
                 implements ConfigurableListableBeanFactory, BeanDefinitionRegistry {
 
+    private static final String[] EMPTY_BEAN_NAMES = new String[0];
+
     private Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>(256);
 
+    /**
+     * 类型索引，key为已注册bean的类及其全部父类和接口，value为对应的bean名称
+     */
+    private final Map<Class<?>, Set<String>> beanNamesByType = new ConcurrentHashMap<>(256);
+
+    /**
+     * 冻结配置后的bean名称和类型索引，均不可变，未冻结时为null
+     */
+    private volatile String[] frozenBeanDefinitionNames;
+
+    private volatile Map<Class<?>, String[]> frozenBeanNamesByType;
+
+    /**
+     * 每次注册BeanDefinition后递增，ObjectProvider据此判断缓存的候选bean名称是否仍然有效
+     */
+    private final AtomicInteger beanDefinitionGeneration = new AtomicInteger();
+
+    /**
+     * 并行提前实例化单例bean所使用的线程池，为null时在当前线程中依次创建
+     */
+    private Executor preInstantiationExecutor;
+
     @Override
     public <T> T getBean(Class<T> requiredType) throws BeansException {
-        List<String> beanNames = new ArrayList<>();
-        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
-            Class beanClass = entry.getValue().getBeanClass();
-            if (requiredType.isAssignableFrom(beanClass)){
-                beanNames.add(entry.getKey());
-            }
-        }
-        if (beanNames.size()==1){
-            return getBean(beanNames.get(0),requiredType);
+        String[] beanNames = getBeanNamesForType(requiredType);
+        if (beanNames.length==1){
+            return getBean(beanNames[0],requiredType);
         }
         throw new BeansException(requiredType + "excepted single bean but found"+
-                beanNames.size() + ":" + beanNames);
+                beanNames.length + ":" + Arrays.toString(beanNames));
     }
 
     @Override
     public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) {
-        beanDefinitionMap.put(beanName,beanDefinition);
+        assertConfigurationNotFrozen("register bean definition '" + beanName + "'");
+        BeanDefinition oldBeanDefinition = beanDefinitionMap.put(beanName,beanDefinition);
+        if (oldBeanDefinition != null){
+            // 覆盖已有的BeanDefinition时，先移除旧类型的索引以及为旧定义编译的计划
+            removeFromTypeIndex(beanName,oldBeanDefinition.getBeanClass());
+            if (oldBeanDefinition != beanDefinition){
+                removeBeanPlans(oldBeanDefinition);
+            }
+        }
+        addToTypeIndex(beanName,beanDefinition.getBeanClass());
+        beanDefinitionGeneration.incrementAndGet();
     }
 
     @Override
@@ -52,32 +86,394 @@ public class DefaultListableBeanFactory extends AbstranctAutowireCapableBeanFact
 
     @Override
     public void preInstantiateSingletons() throws BeansException {
+        if (preInstantiationExecutor != null){
+            preInstantiateSingletonsInParallel(preInstantiationExecutor);
+            return;
+        }
         beanDefinitionMap.forEach((beanName,beanDefinition) ->{
             // 只有当bean是单例且不为懒加载才会被创建
-            if (beanDefinition.isSingleton() && !beanDefinition.isLazyInit()){
+            if (isEagerSingleton(beanDefinition)){
                 getBean(beanName);
             }
         });
     }
 
+    /**
+     * 根据依赖图并行创建单例bean
+     * 互相循环依赖的bean(同一强连通分量)在同一个任务中创建，一个分量所依赖的分量全部创建完成后才会被提交
+     * 依赖图只包含静态的依赖关系，运行时才出现的循环依赖(例如在afterPropertiesSet中调用getBean)可能被拆到两个线程中互相等待，
+     * 这些分量在并行阶段结束后于当前线程中串行重试
+     * @param executor 执行创建任务的线程池
+     */
+    protected void preInstantiateSingletonsInParallel(Executor executor) throws BeansException {
+        BeanDependencyGraph graph = BeanDependencyGraph.build(this);
+        List<List<String>> components = graph.getStronglyConnectedComponents();
+        Map<String, Integer> componentIndex = new HashMap<>();
+        for (int i = 0; i < components.size(); i++) {
+            for (String beanName : components.get(i)) {
+                componentIndex.put(beanName, i);
+            }
+        }
+        // 在线程池中创建的bean以该步骤为父步骤，关键路径可以延伸到这些bean
+        StartupStep step = getApplicationStartup().start("beans.pre-instantiate.parallel");
+        ParallelInstantiation instantiation = new ParallelInstantiation(executor, components, step);
+        for (int i = 0; i < components.size(); i++) {
+            Set<Integer> dependsOn = new HashSet<>();
+            for (String beanName : components.get(i)) {
+                for (String dependency : graph.getDependencies(beanName)) {
+                    dependsOn.add(componentIndex.get(dependency));
+                }
+            }
+            dependsOn.remove(i);
+            instantiation.pendingDependencies[i] = new AtomicInteger(dependsOn.size());
+            for (Integer dependency : dependsOn) {
+                instantiation.dependents.get(dependency).add(i);
+            }
+        }
+        try {
+            instantiation.run();
+        } finally {
+            step.end();
+        }
+    }
+
     @Override
-    public <T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException {
-        Map<String,T> result = new HashMap<>();
-        beanDefinitionMap.forEach((beanName,beanDefinition) -> {
-            Class beanClass = beanDefinition.getBeanClass();
-            if (type.isAssignableFrom(beanClass)){
-                // getBean让其实例化
-                T bean = (T) getBean(beanName);
-                result.put(beanName,bean);
+    public void freezeConfiguration() {
+        Map<Class<?>, String[]> namesByType = new HashMap<>(beanNamesByType.size() * 2);
+        beanNamesByType.forEach((type, beanNames) -> {
+            if (!beanNames.isEmpty()){
+                namesByType.put(type, beanNames.toArray(EMPTY_BEAN_NAMES));
             }
         });
+        this.frozenBeanNamesByType = Collections.unmodifiableMap(namesByType);
+        this.frozenBeanDefinitionNames = beanDefinitionMap.keySet().toArray(EMPTY_BEAN_NAMES);
+        freezeSingletons();
+    }
+
+    /**
+     * 清除冻结时保存的bean名称和类型索引，之后注册的bean可以被查找到
+     */
+    @Override
+    protected void unfreezeConfiguration() {
+        this.frozenBeanNamesByType = null;
+        this.frozenBeanDefinitionNames = null;
+        super.unfreezeConfiguration();
+    }
+
+    private boolean isEagerSingleton(BeanDefinition beanDefinition){
+        return beanDefinition.isSingleton() && !beanDefinition.isLazyInit();
+    }
+
+    public Executor getPreInstantiationExecutor() {
+        return preInstantiationExecutor;
+    }
+
+    /**
+     * 设置后preInstantiateSingletons会按依赖关系并行创建单例bean，可以使用平台线程池或虚拟线程
+     * 只有xml引用、构造器参数等静态依赖参与调度；初始化方法或Aware回调中通过getBean形成的循环依赖跨线程时，
+     * 其中一方的创建会失败并在并行阶段结束后串行重试，失败的一方已执行的构造器和初始化方法会再执行一次
+     * @param preInstantiationExecutor 执行创建任务的线程池，为null时恢复串行创建
+     */
+    public void setPreInstantiationExecutor(Executor preInstantiationExecutor) {
+        this.preInstantiationExecutor = preInstantiationExecutor;
+    }
+
+    @Override
+    public <T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException {
+        Map<String,T> result = new HashMap<>();
+        for (String beanName : getBeanNamesForType(type)) {
+            // getBean让其实例化
+            T bean = (T) getBean(beanName);
+            result.put(beanName,bean);
+        }
         return result;
     }
 
+    @Override
+    public <T> ObjectProvider<T> getBeanProvider(Class<T> requiredType) {
+        return new BeanObjectProvider<>(requiredType);
+    }
+
+    @Override
+    public String[] getBeanNamesForType(Class<?> type) {
+        Map<Class<?>, String[]> frozen = this.frozenBeanNamesByType;
+        if (frozen != null){
+            String[] beanNames = frozen.get(type);
+            return beanNames != null ? beanNames.clone() : EMPTY_BEAN_NAMES;
+        }
+        Set<String> beanNames = beanNamesByType.get(type);
+        if (beanNames == null){
+            return EMPTY_BEAN_NAMES;
+        }
+        return beanNames.toArray(EMPTY_BEAN_NAMES);
+    }
+
     @Override
     public String[] getBeanDefinitionNames() {
+        String[] frozen = this.frozenBeanDefinitionNames;
+        if (frozen != null){
+            return frozen.clone();
+        }
         Set<String> beanNames = beanDefinitionMap.keySet();
         return beanNames.toArray(new String[beanNames.size()]);
     }
 
+    /**
+     * 将bean名称登记到其类型闭包中的每一个类型下
+     * @param beanName bean的名字
+     * @param beanClass bean的类型
+     */
+    private void addToTypeIndex(String beanName, Class<?> beanClass){
+        for (Class<?> type : getTypeClosure(beanClass)) {
+            beanNamesByType.computeIfAbsent(type, key -> ConcurrentHashMap.newKeySet()).add(beanName);
+        }
+    }
+
+    private void removeFromTypeIndex(String beanName, Class<?> beanClass){
+        for (Class<?> type : getTypeClosure(beanClass)) {
+            Set<String> beanNames = beanNamesByType.get(type);
+            if (beanNames != null){
+                beanNames.remove(beanName);
+            }
+        }
+    }
+
+    /**
+     * 获取类自身、全部父类以及全部接口(包括父接口)
+     * @param beanClass bean的类型
+     * @return 类型闭包
+     */
+    private Set<Class<?>> getTypeClosure(Class<?> beanClass){
+        Set<Class<?>> closure = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        if (beanClass != null){
+            pending.push(beanClass);
+        }
+        while (!pending.isEmpty()){
+            Class<?> type = pending.pop();
+            if (!closure.add(type)){
+                continue;
+            }
+            if (type.getSuperclass() != null){
+                pending.push(type.getSuperclass());
+            }
+            for (Class<?> anInterface : type.getInterfaces()) {
+                pending.push(anInterface);
+            }
+        }
+        if (beanClass != null && beanClass.isInterface()){
+            // 与isAssignableFrom语义保持一致，接口类型同样可以赋值给Object
+            closure.add(Object.class);
+        }
+        return closure;
+    }
+
+    /**
+     * 按类型获取bean的句柄，缓存候选bean的名称，注册新的BeanDefinition后重新解析
+     */
+    private class BeanObjectProvider<T> implements ObjectProvider<T> {
+
+        private final Class<T> requiredType;
+
+        private volatile CandidateNames candidates;
+
+        private BeanObjectProvider(Class<T> requiredType) {
+            this.requiredType = requiredType;
+        }
+
+        @Override
+        public T getObject() throws BeansException {
+            String[] beanNames = candidateNames();
+            if (beanNames.length == 0){
+                throw new BeansException("No bean of type [" + requiredType.getName() + "] is defined");
+            }
+            return getBean(uniqueName(beanNames));
+        }
+
+        @Override
+        public T getIfAvailable() throws BeansException {
+            String[] beanNames = candidateNames();
+            return beanNames.length == 0 ? null : getBean(uniqueName(beanNames));
+        }
+
+        @Override
+        public T getIfUnique() throws BeansException {
+            String[] beanNames = candidateNames();
+            return beanNames.length == 1 ? getBean(beanNames[0]) : null;
+        }
+
+        @Override
+        public Stream<T> stream() {
+            return Arrays.stream(candidateNames()).map(this::getBean);
+        }
+
+        private String uniqueName(String[] beanNames){
+            if (beanNames.length > 1){
+                throw new BeansException(requiredType + " excepted single bean but found " +
+                        beanNames.length + ":" + Arrays.toString(beanNames));
+            }
+            return beanNames[0];
+        }
+
+        private T getBean(String beanName){
+            return requiredType.cast(DefaultListableBeanFactory.this.getBean(beanName));
+        }
+
+        private String[] candidateNames(){
+            CandidateNames cached = this.candidates;
+            int generation = beanDefinitionGeneration.get();
+            if (cached == null || cached.generation != generation){
+                cached = new CandidateNames(generation, getBeanNamesForType(requiredType));
+                this.candidates = cached;
+            }
+            return cached.beanNames;
+        }
+    }
+
+    /**
+     * 某一版本的BeanDefinition下解析出的候选bean名称
+     */
+    private static final class CandidateNames {
+        private final int generation;
+        private final String[] beanNames;
+
+        private CandidateNames(int generation, String[] beanNames) {
+            this.generation = generation;
+            this.beanNames = beanNames;
+        }
+    }
+
+    /**
+     * 一次并行实例化的调度状态
+     */
+    private class ParallelInstantiation {
+
+        private final Executor executor;
+
+        private final List<List<String>> components;
+
+        private final AtomicInteger[] pendingDependencies;
+
+        private final List<List<Integer>> dependents;
+
+        private int completed;
+
+        private int inFlight;
+
+        private Throwable failure;
+
+        /**
+         * 因跨线程的循环依赖而失败，需要串行重试的分量
+         */
+        private final List<Integer> retries = new ArrayList<>();
+
+        /**
+         * 发起线程中的步骤，作为各任务中步骤的父步骤
+         */
+        private final StartupStep parentStep;
+
+        private ParallelInstantiation(Executor executor, List<List<String>> components, StartupStep parentStep) {
+            this.executor = executor;
+            this.components = components;
+            this.parentStep = parentStep;
+            this.pendingDependencies = new AtomicInteger[components.size()];
+            this.dependents = new ArrayList<>(components.size());
+            for (int i = 0; i < components.size(); i++) {
+                dependents.add(new ArrayList<>());
+            }
+        }
+
+        private void run(){
+            for (int i = 0; i < components.size(); i++) {
+                if (pendingDependencies[i].get() == 0){
+                    submit(i);
+                }
+            }
+            synchronized (this){
+                // 全部完成，或者出现异常且已提交的任务都已结束
+                while (completed < components.size() && !(failure != null && inFlight == 0)){
+                    try {
+                        wait();
+                    } catch (InterruptedException e){
+                        Thread.currentThread().interrupt();
+                        throw new BeansException("Interrupted while pre-instantiating singletons",e);
+                    }
+                }
+                if (failure != null){
+                    if (failure instanceof BeansException){
+                        throw (BeansException) failure;
+                    }
+                    throw new BeansException("Failed to pre-instantiate singletons",failure);
+                }
+            }
+            // 其他线程都已结束，在当前线程中创建时运行时的循环依赖可以通过提前暴露的引用解决
+            for (Integer component : retries) {
+                for (String beanName : components.get(component)) {
+                    if (isEagerSingleton(getBeanDefinition(beanName))){
+                        getBean(beanName);
+                    }
+                }
+            }
+        }
+
+        private void submit(int component){
+            synchronized (this){
+                if (failure != null){
+                    return;
+                }
+                inFlight++;
+            }
+            try {
+                executor.execute(() -> instantiate(component));
+            } catch (RejectedExecutionException ex){
+                finish(component, ex);
+            }
+        }
+
+        private void instantiate(int component){
+            Throwable error = null;
+            StartupStep step = getApplicationStartup().start("beans.pre-instantiate.component", parentStep)
+                    .tag("beanNames", String.join(",", components.get(component)));
+            try {
+                for (String beanName : components.get(component)) {
+                    if (isEagerSingleton(getBeanDefinition(beanName))){
+                        getBean(beanName);
+                    }
+                }
+            } catch (Throwable ex){
+                error = ex;
+            } finally {
+                step.end();
+            }
+            finish(component, error);
+        }
+
+        private void finish(int component, Throwable error){
+            synchronized (this){
+                inFlight--;
+                completed++;
+                if (isConcurrentCircularReference(error)){
+                    retries.add(component);
+                } else if (error != null && failure == null){
+                    failure = error;
+                }
+                notifyAll();
+            }
+            // 依赖全部就绪的分量可以开始创建
+            for (Integer dependent : dependents.get(component)) {
+                if (pendingDependencies[dependent].decrementAndGet() == 0){
+                    submit(dependent);
+                }
+            }
+        }
+
+        private boolean isConcurrentCircularReference(Throwable error){
+            for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ConcurrentCircularReferenceException){
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -3,52 +3,158 @@ package org.springframework.beans.factory.support;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.DestructionReport;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.metrics.BeanFactoryMetrics;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 线程安全的单例注册表
+ * 一级缓存的读取无锁，二三级缓存以及单例的创建由每个bean名称独立的锁保护，互不相关的bean创建不会互相阻塞
+ */
 public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
+    /**
+     * 等待创建锁时检测跨线程循环等待的间隔(毫秒)
+     */
+    private static final long LOCK_WAIT_INTERVAL = 10;
+
     /**
      * 一级缓存
      */
-    private Map<String,Object> singletonObjects = new HashMap<>();
+    private final Map<String,Object> singletonObjects = new ConcurrentHashMap<>(256);
     /**
      * 二级缓存
      */
-    private Map<String,Object> earlySingletonObjects = new HashMap<>();
+    private final Map<String,Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
     /**
      * 三级缓存
      */
-    private Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>();
+    private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
+
+    /**
+     * 每个bean名称对应的创建锁
+     */
+    private final Map<String, ReentrantLock> singletonLocks = new ConcurrentHashMap<>(256);
+
+    /**
+     * 正在创建中的单例bean，以及创建它的线程
+     */
+    private final Map<String, Thread> singletonsCurrentlyInCreation = new ConcurrentHashMap<>(16);
 
     /**
-     * 废弃bean集合
+     * 正在等待创建锁的线程，以及它所等待的bean名称
      */
-    private final Map<String, DisposableBean> disposableBeans = new HashMap<>();
+    private final Map<Thread, String> threadsAwaitingSingleton = new ConcurrentHashMap<>(16);
 
+    /**
+     * 废弃bean集合，保留注册顺序
+     */
+    private final Map<String, DisposableBean> disposableBeans = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * bean名称 -> 依赖它的bean名称，销毁时依赖方先于被依赖方销毁
+     */
+    private final Map<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
+
+    /**
+     * 并行执行销毁方法的线程池，为null时在当前线程中依次销毁
+     */
+    private Executor destructionExecutor;
+
+    /**
+     * 单个bean以及整个销毁过程的超时时间(纳秒)，0表示不限制
+     */
+    private long beanDestroyTimeout;
+
+    private long destroySingletonsTimeout;
+
+    private volatile DestructionReport lastDestructionReport;
+
+    /**
+     * 运行时指标，默认不做任何记录
+     */
+    private volatile BeanFactoryMetrics beanFactoryMetrics = BeanFactoryMetrics.DEFAULT;
 
 
     @Override
     public Object getSingleton(String beanName) {
+        // 完整创建好的单例直接无锁返回
         Object singletonObject = singletonObjects.get(beanName);
-        if (singletonObject == null){
-            // 说明一级缓存为空
-            singletonObject = earlySingletonObjects.get(beanName);
+        if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)){
+            // 创建线程可重入该锁读取提前暴露的引用，其他线程则等待创建完成，避免拿到未初始化完成的bean
+            ReentrantLock lock = getSingletonLock(beanName);
+            lockSingleton(beanName, lock);
+            try {
+                singletonObject = singletonObjects.get(beanName);
+                if (singletonObject == null){
+                    // 说明一级缓存为空
+                    singletonObject = earlySingletonObjects.get(beanName);
+                    if (singletonObject == null){
+                        // 说明二级缓存为空
+                        ObjectFactory<?> singletonFactory = singletonFactories.remove(beanName);
+                        if (singletonFactory != null) {
+                            singletonObject = singletonFactory.getObject();
+                            // 将三级缓存放进二级缓存
+                            earlySingletonObjects.put(beanName,singletonObject);
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return singletonObject;
+    }
+
+    /**
+     * 获取单例bean，若不存在则在该bean的创建锁内通过singletonFactory创建，保证只创建一次
+     * @param beanName bean的名字
+     * @param singletonFactory 创建bean的工厂
+     * @return 单例bean
+     */
+    public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+        Object singletonObject = singletonObjects.get(beanName);
+        if (singletonObject != null){
+            return singletonObject;
+        }
+        ReentrantLock lock = getSingletonLock(beanName);
+        lockSingleton(beanName, lock);
+        try {
+            // 加锁后再次检查，其他线程可能已经创建完成
+            singletonObject = singletonObjects.get(beanName);
             if (singletonObject == null){
-                // 说明二级缓存为空
-                ObjectFactory<?> singletonFactory = singletonFactories.get(beanName);
-                if (singletonFactory != null) {
+                if (isSingletonCurrentlyInCreation(beanName)){
+                    // 当前线程重入，说明存在循环依赖，从提前暴露的缓存中获取
+                    singletonObject = getSingleton(beanName);
+                    if (singletonObject == null){
+                        throw new BeansException("Requested bean '" + beanName + "' is currently in creation: " +
+                                "is there an unresolvable circular reference?");
+                    }
+                    return singletonObject;
+                }
+                singletonsCurrentlyInCreation.put(beanName, Thread.currentThread());
+                try {
                     singletonObject = singletonFactory.getObject();
-                    // 将三级缓存放进二级缓存
-                    earlySingletonObjects.put(beanName,singletonObject);
+                    addSingleton(beanName, singletonObject);
+                } finally {
+                    singletonsCurrentlyInCreation.remove(beanName);
+                    earlySingletonObjects.remove(beanName);
                     singletonFactories.remove(beanName);
                 }
             }
+            return singletonObject;
+        } finally {
+            lock.unlock();
         }
-        return singletonObject;
     }
 
     @Override
@@ -58,6 +164,22 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
         singletonFactories.remove(beanName);
     }
 
+    /**
+     * @return 已经创建完成的单例bean的名称
+     */
+    public String[] getSingletonNames(){
+        return singletonObjects.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * 获取已经提前暴露的单例引用，只读取二级缓存，不会调用三级缓存中的工厂
+     * @param beanName bean的名字
+     * @return 提前暴露的引用，没有其他bean在创建过程中获取过该bean时返回null
+     */
+    protected Object getEarlySingletonReference(String beanName){
+        return earlySingletonObjects.get(beanName);
+    }
+
     /**
      * 将对应类放入三级缓存
      * @param beanName bean的名字
@@ -66,19 +188,498 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
     protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory){
         singletonFactories.put(beanName,singletonFactory);
     }
+
+    /**
+     * 判断单例bean是否正在创建中
+     * @param beanName bean的名字
+     * @return 判断结果
+     */
+    public boolean isSingletonCurrentlyInCreation(String beanName){
+        return singletonsCurrentlyInCreation.containsKey(beanName);
+    }
+
     public void registerDisposableBean(String beanName, DisposableBean bean){
         disposableBeans.put(beanName,bean);
     }
 
+    /**
+     * 登记bean之间的依赖关系
+     * @param beanName 被依赖的bean
+     * @param dependentBeanName 依赖它的bean
+     */
+    public void registerDependentBean(String beanName, String dependentBeanName){
+        dependentBeanMap.computeIfAbsent(beanName, name -> ConcurrentHashMap.newKeySet()).add(dependentBeanName);
+    }
+
+    /**
+     * @param beanName bean的名字
+     * @return 依赖该bean的bean名称
+     */
+    public String[] getDependentBeans(String beanName){
+        Set<String> dependents = dependentBeanMap.get(beanName);
+        return dependents != null ? dependents.toArray(new String[0]) : new String[0];
+    }
+
+    /**
+     * 销毁单例bean
+     * 依赖方先于被依赖方销毁，互不依赖的bean在destructionExecutor中并发销毁，没有依赖关系时按注册的逆序销毁
+     * 某个bean销毁失败或超时不会中断其他bean的销毁，全部结束后统一抛出异常，详细结果见getLastDestructionReport
+     * @throws BeansException 存在销毁失败、超时或者未销毁的bean时抛出异常
+     */
     public void destroySingletons() {
-        ArrayList<String> beanNames = new ArrayList<>(disposableBeans.keySet());
-        for (String beanName : beanNames) {
-            DisposableBean disposableBean = disposableBeans.remove(beanName);
-            try{
-                disposableBean.destroy();
-            } catch (Exception e){
-                throw new BeansException("Destroy method on bean with name '"+ beanName +"' threw an exception",e);
+        Map<String, DisposableBean> beans;
+        synchronized (disposableBeans){
+            // 取出后即清空，并发调用时每个bean只销毁一次
+            beans = new LinkedHashMap<>(disposableBeans);
+            disposableBeans.clear();
+        }
+        DestructionReport report = new SingletonDestruction(beans).run();
+        this.lastDestructionReport = report;
+        if (!report.isSuccessful()){
+            throw toDestructionException(report);
+        }
+    }
+
+    private BeansException toDestructionException(DestructionReport report){
+        StringBuilder message = new StringBuilder("Failed to destroy singletons:");
+        if (!report.getFailures().isEmpty()){
+            message.append(" failed ").append(report.getFailures().keySet());
+        }
+        if (!report.getTimedOutBeans().isEmpty()){
+            message.append(" timed out ").append(report.getTimedOutBeans());
+        }
+        if (!report.getSkippedBeans().isEmpty()){
+            message.append(" skipped ").append(report.getSkippedBeans());
+        }
+        Iterator<Throwable> failures = report.getFailures().values().iterator();
+        BeansException exception = new BeansException(message.toString(), failures.hasNext() ? failures.next() : null);
+        while (failures.hasNext()){
+            exception.addSuppressed(failures.next());
+        }
+        return exception;
+    }
+
+    /**
+     * @return 最近一次destroySingletons的结果，尚未销毁过时为null
+     */
+    public DestructionReport getLastDestructionReport() {
+        return lastDestructionReport;
+    }
+
+    public Executor getDestructionExecutor() {
+        return destructionExecutor;
+    }
+
+    /**
+     * 设置后互不依赖的bean会并发销毁，超时时间也只有在设置了线程池时才能中断正在执行的销毁方法
+     * @param destructionExecutor 执行销毁方法的线程池，为null时在当前线程中依次销毁
+     */
+    public void setDestructionExecutor(Executor destructionExecutor) {
+        this.destructionExecutor = destructionExecutor;
+    }
+
+    /**
+     * 设置单个bean的销毁超时时间，超时后中断其销毁线程并继续销毁它所依赖的bean
+     * @param timeout 超时时间，0表示不限制
+     * @param unit 时间单位
+     */
+    public void setBeanDestroyTimeout(long timeout, TimeUnit unit) {
+        this.beanDestroyTimeout = unit.toNanos(timeout);
+    }
+
+    /**
+     * 设置整个销毁过程的超时时间，超时后不再等待正在销毁的bean，也不再销毁剩余的bean
+     * @param timeout 超时时间，0表示不限制
+     * @param unit 时间单位
+     */
+    public void setDestroySingletonsTimeout(long timeout, TimeUnit unit) {
+        this.destroySingletonsTimeout = unit.toNanos(timeout);
+    }
+
+    /**
+     * 设置记录运行时指标的BeanFactoryMetrics
+     * @param beanFactoryMetrics 不能为null，关闭统计时使用BeanFactoryMetrics.DEFAULT
+     */
+    public void setBeanFactoryMetrics(BeanFactoryMetrics beanFactoryMetrics) {
+        if (beanFactoryMetrics == null){
+            throw new IllegalArgumentException("BeanFactoryMetrics must not be null");
+        }
+        this.beanFactoryMetrics = beanFactoryMetrics;
+    }
+
+    public BeanFactoryMetrics getBeanFactoryMetrics() {
+        return beanFactoryMetrics;
+    }
+
+    private ReentrantLock getSingletonLock(String beanName){
+        return singletonLocks.computeIfAbsent(beanName, name -> new ReentrantLock());
+    }
+
+    /**
+     * 获取bean的创建锁，等待期间检测跨线程的循环依赖，避免两个线程互相等待对方持有的锁而死锁
+     * @param beanName bean的名字
+     * @param lock 该bean的创建锁
+     */
+    private void lockSingleton(String beanName, ReentrantLock lock){
+        if (lock.tryLock()){
+            return;
+        }
+        Thread current = Thread.currentThread();
+        threadsAwaitingSingleton.put(current, beanName);
+        try {
+            while (!lock.tryLock(LOCK_WAIT_INTERVAL, TimeUnit.MILLISECONDS)){
+                if (isCreationDeadlock(beanName, current)){
+                    throw new ConcurrentCircularReferenceException("Singleton bean '" + beanName + "' is part of a circular reference " +
+                            "that is being created concurrently by another thread");
+                }
+            }
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new BeansException("Interrupted while waiting for creation of singleton bean '" + beanName + "'",e);
+        } finally {
+            threadsAwaitingSingleton.remove(current);
+        }
+    }
+
+    /**
+     * 沿着 "bean -> 创建线程 -> 该线程等待的bean" 链检查是否回到当前线程
+     * @param beanName 当前线程等待的bean
+     * @param current 当前线程
+     * @return 是否构成循环等待
+     */
+    private boolean isCreationDeadlock(String beanName, Thread current){
+        String awaited = beanName;
+        for (int i = 0; i <= threadsAwaitingSingleton.size(); i++) {
+            Thread owner = singletonsCurrentlyInCreation.get(awaited);
+            if (owner == null){
+                return false;
             }
+            if (owner == current){
+                return true;
+            }
+            awaited = threadsAwaitingSingleton.get(owner);
+            if (awaited == null){
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 两个线程分别创建循环依赖中的不同bean，互相等待对方的创建锁；在同一个线程中创建时可以通过提前暴露的引用解决
+     */
+    static class ConcurrentCircularReferenceException extends BeansException {
+
+        ConcurrentCircularReferenceException(String msg) {
+            super(msg);
+        }
+    }
+
+    /**
+     * 一次单例销毁的调度状态，调度在调用destroySingletons的线程中进行，销毁方法在destructionExecutor中执行
+     */
+    private class SingletonDestruction {
+
+        private final List<String> beanNames;
+
+        private final Map<String, Integer> registrationOrder = new HashMap<>();
+
+        private final Map<String, DisposableBean> beans;
+
+        /**
+         * 每个bean还需等待多少个依赖它的bean销毁完成
+         */
+        private final Map<String, Integer> pendingDependents = new HashMap<>();
+
+        /**
+         * bean -> 等待它销毁完成的bean，即它所依赖的bean
+         */
+        private final Map<String, List<String>> waiters = new HashMap<>();
+
+        /**
+         * 可以开始销毁的bean，按注册的逆序排列
+         */
+        private final TreeSet<Integer> ready = new TreeSet<>(Comparator.reverseOrder());
+
+        private final Set<String> started = new HashSet<>();
+
+        private final Map<String, RunningDestruction> running = new LinkedHashMap<>();
+
+        private final BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+
+        private final Map<String, Long> durations = new LinkedHashMap<>();
+
+        private final Map<String, Throwable> failures = new LinkedHashMap<>();
+
+        private final List<String> timedOutBeans = new ArrayList<>();
+
+        private final List<String> skippedBeans = new ArrayList<>();
+
+        private int finished;
+
+        /**
+         * 是否设置了整体超时，未设置时不计算截止时间，避免截止时间取Long.MAX_VALUE后与nanoTime的差值比较溢出
+         */
+        private boolean hasDeadline;
+
+        private long deadline;
+
+        private SingletonDestruction(Map<String, DisposableBean> beans) {
+            this.beans = beans;
+            this.beanNames = new ArrayList<>(beans.keySet());
+            for (String beanName : beanNames) {
+                registrationOrder.put(beanName, registrationOrder.size());
+                pendingDependents.put(beanName, 0);
+            }
+            for (String beanName : beanNames) {
+                for (String dependent : findDisposableDependents(beanName)) {
+                    pendingDependents.merge(beanName, 1, Integer::sum);
+                    waiters.computeIfAbsent(dependent, name -> new ArrayList<>()).add(beanName);
+                }
+            }
+            for (int i = 0; i < beanNames.size(); i++) {
+                if (pendingDependents.get(beanNames.get(i)) == 0){
+                    ready.add(i);
+                }
+            }
+        }
+
+        /**
+         * 查找依赖该bean的、需要销毁的bean，中间经过不需要销毁的bean时继续向上查找
+         */
+        private Set<String> findDisposableDependents(String beanName){
+            Set<String> result = new LinkedHashSet<>();
+            Set<String> visited = new HashSet<>();
+            Deque<String> pending = new ArrayDeque<>();
+            pending.push(beanName);
+            visited.add(beanName);
+            while (!pending.isEmpty()){
+                Set<String> dependents = dependentBeanMap.get(pending.pop());
+                if (dependents == null){
+                    continue;
+                }
+                for (String dependent : dependents) {
+                    if (!visited.add(dependent)){
+                        continue;
+                    }
+                    if (beans.containsKey(dependent)){
+                        result.add(dependent);
+                    } else {
+                        pending.push(dependent);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private DestructionReport run(){
+            long start = System.nanoTime();
+            hasDeadline = destroySingletonsTimeout > 0;
+            // nanoTime可能为负数，只比较差值，加法溢出后差值仍然正确
+            deadline = start + destroySingletonsTimeout;
+            try {
+                while (finished < beanNames.size()){
+                    if (isPastDeadline()){
+                        abandon();
+                        break;
+                    }
+                    while (!ready.isEmpty() && !isPastDeadline()){
+                        submit(beanNames.get(ready.pollFirst()));
+                    }
+                    if (running.isEmpty() && completions.isEmpty()){
+                        // 剩余的bean互相循环依赖，从最后注册的开始销毁
+                        for (int i = beanNames.size() - 1; i >= 0; i--) {
+                            if (!started.contains(beanNames.get(i))){
+                                ready.add(i);
+                                break;
+                            }
+                        }
+                        continue;
+                    }
+                    Completion completion = completions.poll(nextWaitNanos(), TimeUnit.NANOSECONDS);
+                    while (completion != null){
+                        complete(completion);
+                        completion = completions.poll();
+                    }
+                    expireTimedOutBeans();
+                }
+            } catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                abandon();
+            }
+            return new DestructionReport(durations, failures, timedOutBeans, skippedBeans, System.nanoTime() - start);
+        }
+
+        private void submit(String beanName){
+            started.add(beanName);
+            RunningDestruction destruction = new RunningDestruction(System.nanoTime());
+            running.put(beanName, destruction);
+            DisposableBean bean = beans.get(beanName);
+            Runnable task = () -> {
+                Throwable error = null;
+                // 在线程池中排队期间已经超时的不再执行
+                if (destruction.begin()){
+                    try {
+                        bean.destroy();
+                    } catch (Throwable e){
+                        error = e;
+                    }
+                    destruction.end();
+                }
+                completions.add(new Completion(beanName, System.nanoTime() - destruction.startNanos, error));
+            };
+            Executor executor = destructionExecutor;
+            if (executor == null){
+                task.run();
+                return;
+            }
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e){
+                completions.add(new Completion(beanName, 0, e));
+            }
+        }
+
+        private void complete(Completion completion){
+            if (running.remove(completion.beanName) == null){
+                // 已经超时，结果不再计入
+                return;
+            }
+            durations.put(completion.beanName, completion.nanos);
+            if (completion.error != null){
+                failures.put(completion.beanName, new BeansException("Destroy method on bean with name '"
+                        + completion.beanName + "' threw an exception", completion.error));
+            }
+            release(completion.beanName);
+        }
+
+        /**
+         * 该bean销毁结束，它所依赖的bean少等待一个
+         */
+        private void release(String beanName){
+            finished++;
+            List<String> dependencies = waiters.get(beanName);
+            if (dependencies == null){
+                return;
+            }
+            for (String dependency : dependencies) {
+                int pending = pendingDependents.merge(dependency, -1, Integer::sum);
+                if (pending == 0 && !started.contains(dependency)){
+                    ready.add(registrationOrder.get(dependency));
+                }
+            }
+        }
+
+        private void expireTimedOutBeans(){
+            if (beanDestroyTimeout <= 0){
+                return;
+            }
+            long now = System.nanoTime();
+            Iterator<Map.Entry<String, RunningDestruction>> iterator = running.entrySet().iterator();
+            List<String> expired = new ArrayList<>();
+            while (iterator.hasNext()){
+                Map.Entry<String, RunningDestruction> entry = iterator.next();
+                if (now - entry.getValue().startNanos >= beanDestroyTimeout){
+                    entry.getValue().interrupt();
+                    iterator.remove();
+                    expired.add(entry.getKey());
+                }
+            }
+            for (String beanName : expired) {
+                timedOutBeans.add(beanName);
+                release(beanName);
+            }
+        }
+
+        private boolean isPastDeadline(){
+            return hasDeadline && System.nanoTime() - deadline >= 0;
+        }
+
+        private long nextWaitNanos(){
+            long now = System.nanoTime();
+            long wait = hasDeadline ? deadline - now : Long.MAX_VALUE;
+            if (beanDestroyTimeout > 0){
+                for (RunningDestruction destruction : running.values()) {
+                    wait = Math.min(wait, beanDestroyTimeout - (now - destruction.startNanos));
+                }
+            }
+            return Math.max(wait, 0);
+        }
+
+        /**
+         * 整体超时或被中断：正在销毁的bean记为超时，尚未开始的bean记为跳过
+         */
+        private void abandon(){
+            Completion completion;
+            while ((completion = completions.poll()) != null){
+                complete(completion);
+            }
+            for (Map.Entry<String, RunningDestruction> entry : running.entrySet()) {
+                entry.getValue().interrupt();
+                timedOutBeans.add(entry.getKey());
+            }
+            running.clear();
+            for (String beanName : beanNames) {
+                if (!started.contains(beanName)){
+                    skippedBeans.add(beanName);
+                }
+            }
+        }
+    }
+
+    /**
+     * 正在执行的销毁方法，超时时中断执行它的线程
+     */
+    private static final class RunningDestruction {
+
+        private final long startNanos;
+
+        private Thread thread;
+
+        private boolean interrupted;
+
+        private RunningDestruction(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * @return 是否需要执行销毁方法，已经超时的返回false
+         */
+        private synchronized boolean begin(){
+            if (interrupted){
+                return false;
+            }
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * 清除由超时产生的中断标记，避免影响线程池中的线程执行后续任务
+         */
+        private synchronized void end(){
+            thread = null;
+            if (interrupted){
+                Thread.interrupted();
+            }
+        }
+
+        private synchronized void interrupt(){
+            interrupted = true;
+            if (thread != null){
+                thread.interrupt();
+            }
+        }
+    }
+
+    private static final class Completion {
+        private final String beanName;
+        private final long nanos;
+        private final Throwable error;
+
+        private Completion(String beanName, long nanos, Throwable error) {
+            this.beanName = beanName;
+            this.nanos = nanos;
+            this.error = error;
         }
     }
 }
@@ -8,7 +8,7 @@ import org.springframework.beans.factory.config.BeanDefinition;
 
 import java.lang.reflect.Method;
 
-public class DisposableBeanAdapter implements DisposableBean {
+public class DisposableBeanAdapter implements DisposableBean, Runnable {
     private final Object bean;
     private final String beanName;
     private final String destroyMethodName;
@@ -38,4 +38,18 @@ public class DisposableBeanAdapter implements DisposableBean {
             destroyMethod.invoke(bean);
         }
     }
+
+    /**
+     * 作为作用域的销毁回调执行
+     */
+    @Override
+    public void run() {
+        try {
+            destroy();
+        } catch (BeansException e){
+            throw e;
+        } catch (Exception e){
+            throw new BeansException("Destroy method on bean with name '" + beanName + "' threw an exception",e);
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package org.springframework.beans.factory.support;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 冻结配置后的bean查找表，bean名称 -> 已解析的单例对象(FactoryBean则为其产生的单例对象)
+ * 创建后不可变，使用开放寻址的数组存储，查找时不加锁，也无需依次查询三级缓存
+ */
+final class FrozenBeanLookup {
+
+    private final String[] names;
+
+    private final Object[] beans;
+
+    /**
+     * 对应位置的bean是否为FactoryBean产生的对象，仅用于区分统计指标
+     */
+    private final boolean[] factoryBeanObjects;
+
+    private final int mask;
+
+    private final int size;
+
+    /**
+     * @param resolvedBeans bean名称 -> 已解析的单例对象
+     * @param factoryBeanObjectNames 其中由FactoryBean产生对象的bean名称
+     */
+    FrozenBeanLookup(Map<String, Object> resolvedBeans, Set<String> factoryBeanObjectNames) {
+        // 装载因子不超过0.5，保证查找未命中时能够很快遇到空槽
+        int capacity = 2;
+        while (capacity < resolvedBeans.size() * 2){
+            capacity <<= 1;
+        }
+        this.names = new String[capacity];
+        this.beans = new Object[capacity];
+        this.factoryBeanObjects = new boolean[capacity];
+        this.mask = capacity - 1;
+        this.size = resolvedBeans.size();
+        for (Map.Entry<String, Object> entry : resolvedBeans.entrySet()) {
+            int index = indexFor(entry.getKey());
+            while (names[index] != null){
+                index = (index + 1) & mask;
+            }
+            names[index] = entry.getKey();
+            beans[index] = entry.getValue();
+            factoryBeanObjects[index] = factoryBeanObjectNames.contains(entry.getKey());
+        }
+    }
+
+    /**
+     * 查找已解析的bean
+     * @param name bean的名字
+     * @return bean，不在查找表中时返回null
+     */
+    Object get(String name){
+        int index = indexOf(name);
+        return index >= 0 ? beans[index] : null;
+    }
+
+    /**
+     * @param name bean的名字
+     * @return 查找表中该名称对应的是否为FactoryBean产生的对象
+     */
+    boolean isFactoryBeanObject(String name){
+        int index = indexOf(name);
+        return index >= 0 && factoryBeanObjects[index];
+    }
+
+    boolean contains(String name){
+        return get(name) != null;
+    }
+
+    int size(){
+        return size;
+    }
+
+    private int indexOf(String name){
+        int index = indexFor(name);
+        String candidate;
+        while ((candidate = names[index]) != null){
+            if (candidate == name || candidate.equals(name)){
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int indexFor(String name){
+        int hash = name.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
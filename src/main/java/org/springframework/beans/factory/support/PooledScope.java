@@ -0,0 +1,452 @@
+package org.springframework.beans.factory.support;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.Scope;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 池化作用域，适用于创建代价高(持有大缓冲区、解析器等)的原型bean
+ * getBean时从池中借出已初始化的实例，使用完毕后通过release归还；池中没有空闲实例时才创建新实例
+ * 每个线程优先使用自己缓存的一个实例，其次使用共享的空闲队列；线程缓存与共享队列中的空闲实例合计不超过maxIdle，超过时归还的实例会被销毁
+ * 已结束线程缓存的实例在池中没有空闲实例、需要新建时移回共享队列
+ * 实例的销毁回调在归还时由ConfigurableBeanFactory#releaseBean提供
+ * 池只以弱引用记录借出的实例，未归还的实例不会被池持有；池化bean不能注入单例bean
+ */
+public class PooledScope implements Scope, DisposableBean {
+
+    public static final int DEFAULT_MAX_IDLE = 8;
+
+    private static final int MIN_THREAD_SLOT_PRUNE_THRESHOLD = 16;
+
+    private final Map<String, BeanPool> pools = new ConcurrentHashMap<>(16);
+
+    private volatile int maxIdle = DEFAULT_MAX_IDLE;
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        return borrow(name, objectFactory);
+    }
+
+    /**
+     * 销毁该bean池中的空闲实例，已借出的实例不受影响
+     * @param name bean的名字
+     * @return 池中的实例不唯一，始终为null
+     */
+    @Override
+    public Object remove(String name) {
+        BeanPool pool = pools.get(name);
+        if (pool != null){
+            pool.clear(name);
+        }
+        return null;
+    }
+
+    /**
+     * 借出的实例可能被归还复用，创建时注册的回调无法与实例对应，因此忽略，由归还时提供的回调代替
+     */
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+    }
+
+    /**
+     * 借出一个实例
+     * @param beanName bean的名字
+     * @param objectFactory 池中没有空闲实例时用于创建新实例
+     * @return 借出的实例
+     */
+    public Object borrow(String beanName, ObjectFactory<?> objectFactory){
+        return getPool(beanName).borrow(objectFactory);
+    }
+
+    /**
+     * 归还借出的实例，超过空闲上限时实例会被销毁
+     * @param beanName bean的名字
+     * @param bean 借出的实例
+     * @param destroyCallback 实例的销毁回调，可以为null
+     * @throws BeansException 实例不是从该池借出的或已经归还过
+     */
+    public void release(String beanName, Object bean, DisposableBean destroyCallback){
+        getPool(beanName).release(beanName, bean, destroyCallback);
+    }
+
+    /**
+     * 获取池的统计信息
+     * @param beanName bean的名字
+     * @return 统计信息，该bean从未借出过时为null
+     */
+    public PoolStatistics getStatistics(String beanName){
+        BeanPool pool = pools.get(beanName);
+        return pool != null ? pool.statistics() : null;
+    }
+
+    /**
+     * 销毁所有池中的空闲实例
+     */
+    @Override
+    public void destroy() throws BeansException {
+        for (Map.Entry<String, BeanPool> entry : pools.entrySet()) {
+            entry.getValue().clear(entry.getKey());
+        }
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * 设置每个bean的最大空闲实例数，包括各线程缓存的实例
+     * @param maxIdle 最大空闲实例数
+     */
+    public void setMaxIdle(int maxIdle) {
+        if (maxIdle < 0){
+            throw new IllegalArgumentException("maxIdle must not be negative");
+        }
+        this.maxIdle = maxIdle;
+    }
+
+    private BeanPool getPool(String beanName){
+        return pools.computeIfAbsent(beanName, name -> new BeanPool());
+    }
+
+    /**
+     * 池中的空闲实例及其销毁回调
+     */
+    private static final class PooledInstance {
+        private final Object bean;
+        private final DisposableBean destroyCallback;
+
+        private PooledInstance(Object bean, DisposableBean destroyCallback) {
+            this.bean = bean;
+            this.destroyCallback = destroyCallback;
+        }
+    }
+
+    /**
+     * 已借出实例的弱引用集合，以对象身份比较
+     * 借出后从未归还的实例可以被回收，不会因为记录借出状态而泄漏，这些实例与原型bean一样不会执行销毁方法
+     */
+    private static final class LentInstances {
+
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+        private final Set<LentReference> references = ConcurrentHashMap.newKeySet();
+
+        private void add(Object bean){
+            expungeStaleReferences();
+            references.add(new LentReference(bean, queue));
+        }
+
+        /**
+         * @return 实例是否处于借出状态
+         */
+        private boolean remove(Object bean){
+            expungeStaleReferences();
+            return references.remove(new LentReference(bean, null));
+        }
+
+        private void expungeStaleReferences(){
+            Reference<?> reference;
+            while ((reference = queue.poll()) != null){
+                references.remove(reference);
+            }
+        }
+    }
+
+    private static final class LentReference extends WeakReference<Object> {
+
+        private final int hash;
+
+        private LentReference(Object bean, ReferenceQueue<Object> queue) {
+            super(bean, queue);
+            this.hash = System.identityHashCode(bean);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other){
+                return true;
+            }
+            if (!(other instanceof LentReference)){
+                return false;
+            }
+            Object bean = get();
+            return bean != null && bean == ((LentReference) other).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 线程缓存实例的槽位，只以弱引用持有所属线程
+     */
+    private static final class ThreadSlot {
+
+        private final WeakReference<Thread> owner;
+
+        private final AtomicReference<PooledInstance> instance = new AtomicReference<>();
+
+        private ThreadSlot(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        private boolean isOwnerAlive(){
+            Thread thread = owner.get();
+            return thread != null && thread.isAlive();
+        }
+    }
+
+    /**
+     * 单个bean的实例池
+     */
+    private final class BeanPool {
+
+        /**
+         * 共享的空闲队列
+         */
+        private final ConcurrentLinkedDeque<PooledInstance> idle = new ConcurrentLinkedDeque<>();
+
+        /**
+         * 每个线程缓存的一个实例，所有槽位同时登记在threadSlots中，以便销毁时统一清理以及回收已结束线程的实例
+         */
+        private final ThreadLocal<ThreadSlot> threadSlot = new ThreadLocal<>();
+
+        private final ConcurrentLinkedQueue<ThreadSlot> threadSlots = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger threadSlotCount = new AtomicInteger();
+
+        /**
+         * 槽位数超过该值时清理已结束线程的槽位，之后调整为存活槽位数的两倍，均摊后每次新建槽位的清理开销为常数
+         */
+        private volatile int threadSlotPruneThreshold = MIN_THREAD_SLOT_PRUNE_THRESHOLD;
+
+        /**
+         * 已借出、尚未归还的实例，用于拒绝重复归还和归还不属于该池的实例
+         */
+        private final LentInstances borrowed = new LentInstances();
+
+        /**
+         * 空闲实例数，包括共享队列和各线程缓存的实例，不超过maxIdle
+         */
+        private final AtomicInteger idleCount = new AtomicInteger();
+
+        private final AtomicLong borrowCount = new AtomicLong();
+        private final AtomicLong createCount = new AtomicLong();
+        private final AtomicLong threadCacheHitCount = new AtomicLong();
+        private final AtomicLong releaseCount = new AtomicLong();
+        private final AtomicLong evictionCount = new AtomicLong();
+
+        private Object borrow(ObjectFactory<?> objectFactory){
+            borrowCount.incrementAndGet();
+            Object bean;
+            PooledInstance instance = slot().instance.getAndSet(null);
+            if (instance != null){
+                threadCacheHitCount.incrementAndGet();
+            } else {
+                instance = idle.pollFirst();
+                if (instance == null){
+                    // 创建新实例的代价远高于扫描槽位，先回收已结束线程缓存的实例
+                    pruneDeadThreadSlots();
+                    instance = idle.pollFirst();
+                }
+            }
+            if (instance != null){
+                idleCount.decrementAndGet();
+                bean = instance.bean;
+            } else {
+                createCount.incrementAndGet();
+                bean = objectFactory.getObject();
+            }
+            borrowed.add(bean);
+            return bean;
+        }
+
+        private void release(String beanName, Object bean, DisposableBean destroyCallback){
+            if (!borrowed.remove(bean)){
+                throw new BeansException("Bean instance of '" + beanName + "' was not borrowed from this pool or has already been released");
+            }
+            releaseCount.incrementAndGet();
+            PooledInstance instance = new PooledInstance(bean, destroyCallback);
+            if (idleCount.incrementAndGet() > maxIdle){
+                idleCount.decrementAndGet();
+                evictionCount.incrementAndGet();
+                destroyInstance(instance);
+                return;
+            }
+            if (!slot().instance.compareAndSet(null, instance)){
+                // 当前线程已缓存一个实例，放入共享队列，后进先出以便复用较热的实例
+                idle.offerFirst(instance);
+            }
+        }
+
+        private ThreadSlot slot(){
+            ThreadSlot slot = threadSlot.get();
+            if (slot == null){
+                slot = new ThreadSlot(Thread.currentThread());
+                threadSlot.set(slot);
+                threadSlots.add(slot);
+                if (threadSlotCount.incrementAndGet() > threadSlotPruneThreshold){
+                    pruneDeadThreadSlots();
+                    threadSlotPruneThreshold = Math.max(MIN_THREAD_SLOT_PRUNE_THRESHOLD, threadSlotCount.get() * 2);
+                }
+            }
+            return slot;
+        }
+
+        /**
+         * 移除已结束线程的槽位，其缓存的实例移入共享队列，仍然计入空闲实例数
+         */
+        private void pruneDeadThreadSlots(){
+            for (Iterator<ThreadSlot> iterator = threadSlots.iterator(); iterator.hasNext(); ) {
+                ThreadSlot slot = iterator.next();
+                if (slot.isOwnerAlive()){
+                    continue;
+                }
+                iterator.remove();
+                threadSlotCount.decrementAndGet();
+                PooledInstance instance = slot.instance.getAndSet(null);
+                if (instance != null){
+                    idle.offerLast(instance);
+                }
+            }
+        }
+
+        private void clear(String beanName){
+            BeansException failure = null;
+            PooledInstance instance;
+            while ((instance = idle.pollFirst()) != null){
+                idleCount.decrementAndGet();
+                failure = destroyQuietly(beanName, instance, failure);
+            }
+            for (ThreadSlot slot : threadSlots) {
+                instance = slot.instance.getAndSet(null);
+                if (instance != null){
+                    idleCount.decrementAndGet();
+                    failure = destroyQuietly(beanName, instance, failure);
+                }
+            }
+            if (failure != null){
+                throw failure;
+            }
+        }
+
+        private BeansException destroyQuietly(String beanName, PooledInstance instance, BeansException failure){
+            try {
+                destroyInstance(instance);
+            } catch (BeansException e){
+                if (failure == null){
+                    return new BeansException("Destroy method on pooled bean with name '" + beanName + "' threw an exception",e);
+                }
+            }
+            return failure;
+        }
+
+        private void destroyInstance(PooledInstance instance){
+            if (instance.destroyCallback == null){
+                return;
+            }
+            try {
+                instance.destroyCallback.destroy();
+            } catch (Exception e){
+                throw new BeansException("Failed to destroy pooled bean instance",e);
+            }
+        }
+
+        private PoolStatistics statistics(){
+            return new PoolStatistics(borrowCount.get(), createCount.get(), threadCacheHitCount.get(),
+                    releaseCount.get(), evictionCount.get(), idleCount.get());
+        }
+    }
+
+    /**
+     * 池的统计信息快照
+     */
+    public static final class PoolStatistics {
+        private final long borrowCount;
+        private final long createCount;
+        private final long threadCacheHitCount;
+        private final long releaseCount;
+        private final long evictionCount;
+        private final int idleCount;
+
+        public PoolStatistics(long borrowCount, long createCount, long threadCacheHitCount,
+                              long releaseCount, long evictionCount, int idleCount) {
+            this.borrowCount = borrowCount;
+            this.createCount = createCount;
+            this.threadCacheHitCount = threadCacheHitCount;
+            this.releaseCount = releaseCount;
+            this.evictionCount = evictionCount;
+            this.idleCount = idleCount;
+        }
+
+        /**
+         * @return 借出次数
+         */
+        public long getBorrowCount() {
+            return borrowCount;
+        }
+
+        /**
+         * @return 因池中没有空闲实例而新建的次数
+         */
+        public long getCreateCount() {
+            return createCount;
+        }
+
+        /**
+         * @return 命中线程缓存的次数
+         */
+        public long getThreadCacheHitCount() {
+            return threadCacheHitCount;
+        }
+
+        /**
+         * @return 归还次数
+         */
+        public long getReleaseCount() {
+            return releaseCount;
+        }
+
+        /**
+         * @return 超过空闲上限而被销毁的次数
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return 当前空闲实例数，包括共享队列和各线程缓存的实例，不超过maxIdle
+         */
+        public int getIdleCount() {
+            return idleCount;
+        }
+
+        @Override
+        public String toString() {
+            return "PoolStatistics{" +
+                    "borrowCount=" + borrowCount +
+                    ", createCount=" + createCount +
+                    ", threadCacheHitCount=" + threadCacheHitCount +
+                    ", releaseCount=" + releaseCount +
+                    ", evictionCount=" + evictionCount +
+                    ", idleCount=" + idleCount +
+                    '}';
+        }
+    }
+}
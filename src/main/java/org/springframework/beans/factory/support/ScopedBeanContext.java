@@ -0,0 +1,74 @@
+package org.springframework.beans.factory.support;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一个作用域上下文(一个线程或者一次任务)中的bean及其销毁回调
+ * 通常只被所属线程访问，容器关闭时可能被其他线程销毁，因此方法均加锁
+ */
+class ScopedBeanContext {
+
+    private final Map<String, Object> beans = new LinkedHashMap<>();
+
+    private final Map<String, Runnable> destructionCallbacks = new LinkedHashMap<>();
+
+    private boolean closed;
+
+    synchronized Object get(String name, ObjectFactory<?> objectFactory){
+        if (closed){
+            throw new BeansException("Scope for bean with name '" + name + "' has already ended");
+        }
+        Object bean = beans.get(name);
+        if (bean == null){
+            bean = objectFactory.getObject();
+            beans.put(name, bean);
+        }
+        return bean;
+    }
+
+    synchronized Object remove(String name){
+        destructionCallbacks.remove(name);
+        return beans.remove(name);
+    }
+
+    synchronized void registerDestructionCallback(String name, Runnable callback){
+        destructionCallbacks.put(name, callback);
+    }
+
+    /**
+     * 结束该上下文，按创建顺序的逆序执行销毁回调
+     * @throws BeansException 全部回调执行完后抛出第一个失败
+     */
+    void close() throws BeansException {
+        List<Map.Entry<String, Runnable>> callbacks;
+        synchronized (this){
+            if (closed){
+                return;
+            }
+            closed = true;
+            callbacks = new ArrayList<>(destructionCallbacks.entrySet());
+            destructionCallbacks.clear();
+            beans.clear();
+        }
+        BeansException failure = null;
+        for (int i = callbacks.size() - 1; i >= 0; i--) {
+            Map.Entry<String, Runnable> callback = callbacks.get(i);
+            try {
+                callback.getValue().run();
+            } catch (RuntimeException e){
+                if (failure == null){
+                    failure = new BeansException("Destruction callback for scoped bean with name '" + callback.getKey() + "' threw an exception",e);
+                }
+            }
+        }
+        if (failure != null){
+            throw failure;
+        }
+    }
+}
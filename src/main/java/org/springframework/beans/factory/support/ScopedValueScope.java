@@ -0,0 +1,104 @@
+package org.springframework.beans.factory.support;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.Scope;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 任务作用域，语义参照ScopedValue：作用域只在run/call执行期间有效，任务返回时执行其中bean的销毁回调
+ * 与线程作用域不同，作用域绑定在一次任务而不是线程上，适用于虚拟线程等每个任务一个线程、或者线程池复用线程的场景
+ * 嵌套调用会开启新的作用域，返回后恢复外层作用域；作用域不会传递给任务中启动的其他线程
+ */
+public class ScopedValueScope implements Scope {
+
+    private final ThreadLocal<ScopedBeanContext> currentContext = new ThreadLocal<>();
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        return requireContext(name).get(name, objectFactory);
+    }
+
+    @Override
+    public Object remove(String name) {
+        ScopedBeanContext context = currentContext.get();
+        return context != null ? context.remove(name) : null;
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        requireContext(name).registerDestructionCallback(name, callback);
+    }
+
+    /**
+     * 在新的作用域中执行任务
+     * @param task 任务
+     */
+    public void run(Runnable task){
+        ScopedBeanContext previous = enter();
+        boolean completed = false;
+        try {
+            task.run();
+            completed = true;
+        } finally {
+            exit(previous, completed);
+        }
+    }
+
+    /**
+     * 在新的作用域中执行有返回值的任务
+     * @param task 任务
+     * @return 任务的返回值
+     * @throws Exception 任务抛出的异常
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        ScopedBeanContext previous = enter();
+        boolean completed = false;
+        try {
+            T result = task.call();
+            completed = true;
+            return result;
+        } finally {
+            exit(previous, completed);
+        }
+    }
+
+    /**
+     * @return 当前线程是否处于该作用域中
+     */
+    public boolean isActive(){
+        return currentContext.get() != null;
+    }
+
+    private ScopedBeanContext enter(){
+        ScopedBeanContext previous = currentContext.get();
+        currentContext.set(new ScopedBeanContext());
+        return previous;
+    }
+
+    private void exit(ScopedBeanContext previous, boolean completed){
+        ScopedBeanContext context = currentContext.get();
+        if (previous == null){
+            currentContext.remove();
+        } else {
+            currentContext.set(previous);
+        }
+        try {
+            context.close();
+        } catch (BeansException e){
+            // 任务本身已失败时不覆盖其异常
+            if (completed){
+                throw e;
+            }
+        }
+    }
+
+    private ScopedBeanContext requireContext(String name){
+        ScopedBeanContext context = currentContext.get();
+        if (context == null){
+            throw new BeansException("No scoped-value scope is active on the current thread for bean with name '" + name + "'");
+        }
+        return context;
+    }
+}
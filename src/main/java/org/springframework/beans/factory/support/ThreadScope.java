@@ -0,0 +1,84 @@
+package org.springframework.beans.factory.support;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.Scope;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 线程作用域，每个线程持有各自的bean实例，适用于格式化器、摘要计算器等非线程安全的辅助对象
+ * 线程结束时无法自动感知，需要在线程(或线程池任务)结束前调用endScope执行销毁回调；容器关闭时销毁所有线程中剩余的bean
+ */
+public class ThreadScope implements Scope, DisposableBean {
+
+    private final ThreadLocal<ScopedBeanContext> threadContext = new ThreadLocal<>();
+
+    /**
+     * 所有尚未结束的线程上下文，用于容器关闭时统一销毁
+     */
+    private final Set<ScopedBeanContext> activeContexts = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        return currentContext().get(name, objectFactory);
+    }
+
+    @Override
+    public Object remove(String name) {
+        ScopedBeanContext context = threadContext.get();
+        return context != null ? context.remove(name) : null;
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        currentContext().registerDestructionCallback(name, callback);
+    }
+
+    /**
+     * 结束当前线程的作用域，执行当前线程中bean的销毁回调
+     * @throws BeansException 销毁回调执行失败时抛出异常
+     */
+    public void endScope() throws BeansException {
+        ScopedBeanContext context = threadContext.get();
+        if (context == null){
+            return;
+        }
+        threadContext.remove();
+        activeContexts.remove(context);
+        context.close();
+    }
+
+    /**
+     * 销毁所有线程中剩余的bean
+     */
+    @Override
+    public void destroy() throws BeansException {
+        BeansException failure = null;
+        for (ScopedBeanContext context : activeContexts) {
+            activeContexts.remove(context);
+            try {
+                context.close();
+            } catch (BeansException e){
+                if (failure == null){
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null){
+            throw failure;
+        }
+    }
+
+    private ScopedBeanContext currentContext(){
+        ScopedBeanContext context = threadContext.get();
+        if (context == null){
+            context = new ScopedBeanContext();
+            threadContext.set(context);
+            activeContexts.add(context);
+        }
+        return context;
+    }
+}
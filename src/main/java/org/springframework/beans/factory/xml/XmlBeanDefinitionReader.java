@@ -9,6 +9,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.support.AbstractBeanDefinitionReader;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
@@ -17,7 +18,10 @@ import org.springframework.core.io.ResourceLoader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 读取配置在xml文件中的bean的定义信息
@@ -25,6 +29,9 @@ import java.util.List;
 public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
     public static final String BEAN_ELEMENT = "bean";
     public static final String PROPERTY_ELEMENT = "property";
+    public static final String CONSTRUCTOR_ARG_ELEMENT = "constructor-arg";
+    public static final String INDEX_ATTRIBUTE = "index";
+    public static final String TYPE_ATTRIBUTE = "type";
     public static final String ID_ATTRIBUTE = "id";
     public static final String NAME_ATTRIBUTE = "name";
     public static final String CLASS_ATTRIBUTE = "class";
@@ -37,6 +44,11 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
     public static final String BASE_PACKAGE_ATTRIBUTE = "base-package";
     public static final String COMPONENT_SCAN_ELEMENT = "component-scan";
 
+    /**
+     * 已扫描的包，用于计算BeanDefinition快照的校验和
+     */
+    private final Set<String> scannedPackages = new LinkedHashSet<>();
+
     public XmlBeanDefinitionReader(BeanDefinitionRegistry registry) {
         super(registry);
     }
@@ -101,7 +113,7 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
             String lazyInit = bean.attributeValue(LAZYINIT_ATTRIBUTE);
             Class<?> clazz;
             try {
-                clazz = Class.forName(className);
+                clazz = Class.forName(className, true, getBeanClassLoader());
             } catch (ClassNotFoundException e){
                 throw new BeansException("Cannot find class["+className+"]");
             }
@@ -120,6 +132,28 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
                 beanDefinition.setScope(beanScope);
             }
 
+            // 构造器参数，未指定index时按标签顺序排列
+            List<Element> constructorArgList = bean.elements(CONSTRUCTOR_ARG_ELEMENT);
+            for (Element constructorArg : constructorArgList) {
+                String indexAttribute = constructorArg.attributeValue(INDEX_ATTRIBUTE);
+                String refAttribute = constructorArg.attributeValue(REF_ATTRIBUTE);
+                Object value = constructorArg.attributeValue(VALUE_ATTRIBUTE);
+                if (StrUtil.isNotEmpty(refAttribute)){
+                    value = new BeanReference(refAttribute);
+                }
+                ConstructorArgumentValues.ValueHolder valueHolder =
+                        new ConstructorArgumentValues.ValueHolder(value, constructorArg.attributeValue(TYPE_ATTRIBUTE));
+                if (StrUtil.isEmpty(indexAttribute)){
+                    beanDefinition.getConstructorArgumentValues().addArgumentValue(valueHolder);
+                    continue;
+                }
+                try {
+                    beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(Integer.parseInt(indexAttribute), valueHolder);
+                } catch (IllegalArgumentException e){
+                    throw new BeansException("Invalid constructor-arg index [" + indexAttribute + "] of bean [" + beanName + "]",e);
+                }
+            }
+
             List<Element> propertyList = bean.elements(PROPERTY_ELEMENT);
             for (Element property : propertyList) {
                 String propertyNameAttribute = property.attributeValue(NAME_ATTRIBUTE);
@@ -153,7 +187,15 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
      */
     private void scanPackage(String scanPath){
         String[] basePackages = StrUtil.splitToArray(scanPath, ',');
+        Collections.addAll(scannedPackages, basePackages);
         ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(getRegistry());
         scanner.doScan(basePackages);
     }
+
+    /**
+     * @return 通过component-scan扫描过的包
+     */
+    public String[] getScannedPackages() {
+        return scannedPackages.toArray(new String[0]);
+    }
 }
@@ -1,6 +1,8 @@
 package org.springframework.context;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.DestructionReport;
+import org.springframework.core.metrics.ApplicationStartup;
 
 public interface ConfigurableApplicationContext extends ApplicationContext{
     /**
@@ -18,4 +20,17 @@ public interface ConfigurableApplicationContext extends ApplicationContext{
      * 向虚拟机中注册一个钩子方法，在虚拟机关闭之前执行关闭容器等操作
      */
     void registerShutdownHook();
+
+    /**
+     * @return 关闭容器时销毁单例bean的结果，包括每个bean的销毁耗时，尚未关闭时为null
+     */
+    DestructionReport getDestructionReport();
+
+    /**
+     * 设置记录启动过程各步骤耗时的ApplicationStartup，需要在refresh之前设置
+     * @param applicationStartup 默认为ApplicationStartup.DEFAULT，不做任何记录
+     */
+    void setApplicationStartup(ApplicationStartup applicationStartup);
+
+    ApplicationStartup getApplicationStartup();
 }
@@ -27,6 +27,8 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
                 if (StrUtil.isNotEmpty(beanScope)){
                     candidate.setScope(beanScope);
                 }
+                // 解析bean是否懒加载
+                candidate.setLazyInit(resolveLazyInit(candidate));
                 // 生成bean的名称
                 String beanName = determineBeanName(candidate);
                 // 注册BeanDefinition
@@ -53,6 +55,17 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
         return StrUtil.EMPTY;
     }
 
+    /**
+     * 判断bean是否懒加载
+     * @param beanDefinition bean的详细信息
+     * @return 判断结果
+     */
+    private boolean resolveLazyInit(BeanDefinition beanDefinition){
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        Lazy lazy = beanClass.getAnnotation(Lazy.class);
+        return lazy != null && lazy.value();
+    }
+
     /**
      * 生成bean的名称
      * @param beanDefinition bean的详细信息
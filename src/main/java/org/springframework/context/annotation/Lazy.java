@@ -0,0 +1,13 @@
+package org.springframework.context.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 标注在类上表示该bean懒加载；标注在@Autowired属性或构造器参数上表示注入延迟解析代理，第一次调用方法时才获取所依赖的bean
+ */
+@Target({ElementType.TYPE,ElementType.FIELD,ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Lazy {
+    boolean value() default true;
+}
@@ -2,9 +2,11 @@ package org.springframework.context.support;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.DestructionReport;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
@@ -16,6 +18,8 @@ import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.converter.ConverterRegistry;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
 import java.util.Collection;
 import java.util.Map;
@@ -27,6 +31,10 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 
     private ApplicationEventMulticaster applicationEventMulticaster;
 
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    private volatile DestructionReport destructionReport;
+
     public abstract ConfigurableListableBeanFactory getBeanFactory();
     @Override
     public Object getBean(String beanName) throws BeansException {
@@ -53,6 +61,16 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         return getBeanFactory().getBeansOfType(type);
     }
 
+    @Override
+    public <T> ObjectProvider<T> getBeanProvider(Class<T> requiredType) {
+        return getBeanFactory().getBeanProvider(requiredType);
+    }
+
+    @Override
+    public String[] getBeanNamesForType(Class<?> type) {
+        return getBeanFactory().getBeanNamesForType(type);
+    }
+
     @Override
     public String[] getBeanDefinitionNames() {
         return getBeanFactory().getBeanDefinitionNames();
@@ -61,30 +79,59 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 
     @Override
     public void refresh() throws BeansException {
-        // 创建BeanFactory,并加载BeanDefinition(包括注解定义的)
-        refreshBeanFactory();
-        ConfigurableListableBeanFactory beanFactory = getBeanFactory();
-
-        // 添加ApplicationContextAwareProcessor，让继承自ApplicationContextAware的bean能感知bean
-        beanFactory.addBeanPostProcessor(new ApplicationContextAwareProcessor(this));
-
-        // 在bean实例化之前，执行BeanFactoryPostProcessor
-        invokeBeanFactoryPostProcessors(beanFactory);
-
-        // BeanPostProcessor需要提前与其他bean实例化之前注册
-        registerBeanPostProcessors(beanFactory);
-
-        // 初始化事件发布者
-        initApplicationEventMulticaster();
-
-        // 注册事件监听器
-        registerListeners();
+        StartupStep refreshStep = applicationStartup.start("context.refresh");
+        try {
+            // 创建BeanFactory,并加载BeanDefinition(包括注解定义的)
+            StartupStep step = applicationStartup.start("context.beanfactory.refresh");
+            refreshBeanFactory();
+            step.end();
+            ConfigurableListableBeanFactory beanFactory = getBeanFactory();
+            beanFactory.setApplicationStartup(applicationStartup);
+
+            // 添加ApplicationContextAwareProcessor，让继承自ApplicationContextAware的bean能感知bean
+            beanFactory.addBeanPostProcessor(new ApplicationContextAwareProcessor(this));
+
+            // 在bean实例化之前，执行BeanFactoryPostProcessor
+            step = applicationStartup.start("context.beanfactory.post-process");
+            invokeBeanFactoryPostProcessors(beanFactory);
+            step.end();
+
+            // BeanPostProcessor需要提前与其他bean实例化之前注册
+            step = applicationStartup.start("context.beans.post-process.register");
+            registerBeanPostProcessors(beanFactory);
+            step.end();
+
+            // 初始化事件发布者
+            initApplicationEventMulticaster();
+
+            // 注册事件监听器
+            step = applicationStartup.start("context.listeners.register");
+            registerListeners();
+            step.end();
+
+            // 注册类型转换器和提前实例化单例bean
+            step = applicationStartup.start("context.beans.pre-instantiate");
+            finishBeanFactoryInitialization(beanFactory);
+            step.end();
+
+            // 发布容器刷新完成事件
+            finishRefresh();
+        } finally {
+            refreshStep.end();
+        }
+    }
 
-        // 注册类型转换器和提前实例化单例bean
-        finishBeanFactoryInitialization(beanFactory);
+    @Override
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
+    }
 
-        // 发布容器刷新完成事件
-        finishRefresh();
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        if (applicationStartup == null){
+            throw new IllegalArgumentException("ApplicationStartup must not be null");
+        }
+        this.applicationStartup = applicationStartup;
     }
 
     /**
@@ -138,6 +185,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         }
         // 提前实例化单例bean
         beanFactory.preInstantiateSingletons();
+        // 冻结配置，之后获取单例bean只需一次查表
+        beanFactory.freezeConfiguration();
     }
     /**
      * 注册BeanPostProcessor
@@ -175,11 +224,20 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         // 发布容器关闭事件
         publishEvent(new ContextClosedEvent(this));
 
-        // 执行单例bean的销毁方法
-        destroyBeans();
+        // 执行单例bean的销毁方法，销毁失败时同样记录每个bean的销毁耗时
+        try {
+            destroyBeans();
+        } finally {
+            this.destructionReport = getBeanFactory().getLastDestructionReport();
+        }
     }
     protected void destroyBeans(){
         getBeanFactory().destroySingletons();
     }
 
+    @Override
+    public DestructionReport getDestructionReport() {
+        return destructionReport;
+    }
+
 }
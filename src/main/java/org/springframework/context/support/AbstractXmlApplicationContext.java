@@ -1,18 +1,68 @@
 package org.springframework.context.support;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.support.BeanDefinitionSnapshot;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
 
 public abstract class AbstractXmlApplicationContext extends AbstractRefreshableApplicationContext{
 
+    /**
+     * BeanDefinition快照文件，为null时每次都解析xml
+     */
+    private File beanDefinitionSnapshot;
 
     protected void loadBeanDefinitions(DefaultListableBeanFactory beanFactory){
         XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(beanFactory, this);
         String[] configLocations = getConfigLocations();
-        if (configLocations != null){
+        if (configLocations == null){
+            return;
+        }
+        if (beanDefinitionSnapshot == null){
             beanDefinitionReader.loadBeanDefinitions(configLocations);
+            return;
+        }
+        long checksum = getConfigChecksum(configLocations);
+        // 配置和被扫描的类都未变化时直接从快照中注册，跳过xml解析和类路径扫描
+        if (BeanDefinitionSnapshot.load(beanDefinitionSnapshot, checksum, beanFactory, beanDefinitionReader.getBeanClassLoader())){
+            return;
+        }
+        beanDefinitionReader.loadBeanDefinitions(configLocations);
+        try {
+            BeanDefinitionSnapshot.write(beanDefinitionSnapshot, checksum, beanFactory, beanDefinitionReader.getScannedPackages());
+        } catch (IOException e){
+            // 快照只用于加速启动，写入失败不影响本次启动
+        }
+    }
+
+    private long getConfigChecksum(String[] configLocations){
+        Resource[] resources = new Resource[configLocations.length];
+        for (int i = 0; i < configLocations.length; i++) {
+            resources[i] = getResource(configLocations[i]);
+        }
+        try {
+            return BeanDefinitionSnapshot.checksum(resources);
+        } catch (IOException e){
+            throw new BeansException("IOException reading config locations for checksum",e);
         }
     }
 
+    public File getBeanDefinitionSnapshot() {
+        return beanDefinitionSnapshot;
+    }
+
+    /**
+     * 设置BeanDefinition快照文件，需要在refresh之前设置
+     * 快照记录component-scan扫描过的包，包中类文件的名称、大小或修改时间变化后快照失效
+     * @param beanDefinitionSnapshot 快照文件，不存在或已失效时会在加载xml后重新生成
+     */
+    public void setBeanDefinitionSnapshot(File beanDefinitionSnapshot) {
+        this.beanDefinitionSnapshot = beanDefinitionSnapshot;
+    }
+
     protected abstract String[] getConfigLocations();
 }
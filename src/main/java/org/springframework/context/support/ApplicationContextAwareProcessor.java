@@ -25,4 +25,9 @@ public class ApplicationContextAwareProcessor implements BeanPostProcessor {
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
         return bean;
     }
+
+    @Override
+    public boolean isApplicableTo(Class<?> beanClass) {
+        return ApplicationContextAware.class.isAssignableFrom(beanClass);
+    }
 }
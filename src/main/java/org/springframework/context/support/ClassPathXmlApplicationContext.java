@@ -22,8 +22,21 @@ public class ClassPathXmlApplicationContext extends AbstractXmlApplicationContex
      * @throws BeansException 应用上下文创建失败抛出异常
      */
     public ClassPathXmlApplicationContext(String[] configLocations) throws BeansException {
+        this(configLocations, true);
+    }
+
+    /**
+     * 从xml文件加载BeanDefinition
+     *
+     * @param configLocations xml配置文件
+     * @param refresh 是否自动刷新上下文，为false时可以在调用refresh之前对上下文进行配置
+     * @throws BeansException 应用上下文创建失败抛出异常
+     */
+    public ClassPathXmlApplicationContext(String[] configLocations, boolean refresh) throws BeansException {
         this.configLocations = configLocations;
-        refresh();
+        if (refresh){
+            refresh();
+        }
     }
 
     protected String[] getConfigLocations(){
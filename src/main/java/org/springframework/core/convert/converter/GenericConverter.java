@@ -6,7 +6,7 @@ import java.util.Set;
 public interface GenericConverter {
     Set<ConvertiblePair> getConvertibleTypes();
 
-    Object convert(Object source,Class sourceType,Class targetType);
+    Object convert(Object source,Class<?> sourceType,Class<?> targetType);
 
     public static final class ConvertiblePair {
         private final Class<?> sourceType;
@@ -10,6 +10,7 @@ import org.springframework.core.convert.converter.GenericConverter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GenericConversionService implements ConversionService, ConverterRegistry {
 
@@ -18,7 +19,38 @@ public class GenericConversionService implements ConversionService, ConverterReg
      */
     private Map<GenericConverter.ConvertiblePair,GenericConverter> converters = new HashMap<>();
 
+    /**
+     * 转换器查找结果的缓存，避免每次转换都遍历类型层次，注册新的转换器时清空
+     */
+    private final Map<GenericConverter.ConvertiblePair,GenericConverter> converterCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 表示没有对应转换器的缓存占位
+     */
+    private static final GenericConverter NO_MATCH = new GenericConverter() {
+        @Override
+        public Set<ConvertiblePair> getConvertibleTypes() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Object convert(Object source, Class<?> sourceType, Class<?> targetType) {
+            return source;
+        }
+    };
+
     protected GenericConverter getConverter(Class<?> sourceType,Class<?> targetType) {
+        GenericConverter.ConvertiblePair cacheKey = new GenericConverter.ConvertiblePair(sourceType, targetType);
+        GenericConverter converter = converterCache.get(cacheKey);
+        if (converter == null){
+            converter = findConverter(sourceType, targetType);
+            converterCache.put(cacheKey, converter != null ? converter : NO_MATCH);
+            return converter;
+        }
+        return converter != NO_MATCH ? converter : null;
+    }
+
+    private GenericConverter findConverter(Class<?> sourceType,Class<?> targetType) {
         List<Class<?>> sourceCandidates = getClassHierarchy(sourceType);
         List<Class<?>> targetCandidates = getClassHierarchy(targetType);
         for (Class<?> sourceCandidate : sourceCandidates) {
@@ -72,6 +104,7 @@ public class GenericConversionService implements ConversionService, ConverterReg
         for (GenericConverter.ConvertiblePair convertibleType : converterAdapter.getConvertibleTypes()) {
             converters.put(convertibleType,converterAdapter);
         }
+        converterCache.clear();
     }
 
     private GenericConverter.ConvertiblePair getRequiredTypeInfo(Object object){
@@ -90,6 +123,7 @@ public class GenericConversionService implements ConversionService, ConverterReg
         for (GenericConverter.ConvertiblePair convertibleType : converterFactoryAdapter.getConvertibleTypes()) {
             converters.put(convertibleType,converterFactoryAdapter);
         }
+        converterCache.clear();
     }
 
     @Override
@@ -97,6 +131,7 @@ public class GenericConversionService implements ConversionService, ConverterReg
         for (GenericConverter.ConvertiblePair convertibleType : converter.getConvertibleTypes()) {
             converters.put(convertibleType,converter);
         }
+        converterCache.clear();
     }
 
     /**
@@ -119,7 +154,7 @@ public class GenericConversionService implements ConversionService, ConverterReg
         }
 
         @Override
-        public Object convert(Object source, Class sourceType, Class targetType) {
+        public Object convert(Object source, Class<?> sourceType, Class<?> targetType) {
             return converter.convert(source);
         }
     }
@@ -140,7 +175,7 @@ public class GenericConversionService implements ConversionService, ConverterReg
         }
 
         @Override
-        public Object convert(Object source, Class sourceType, Class targetType) {
+        public Object convert(Object source, Class<?> sourceType, Class<?> targetType) {
             return converterFactory.getConverter(targetType).convert(source);
         }
     }
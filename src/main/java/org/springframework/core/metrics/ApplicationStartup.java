@@ -0,0 +1,31 @@
+package org.springframework.core.metrics;
+
+/**
+ * 记录容器启动过程中各个步骤的耗时
+ * 默认实现不做任何记录，开销可以忽略；需要分析启动耗时时使用BufferingApplicationStartup
+ */
+public interface ApplicationStartup {
+
+    /**
+     * 不做任何记录的默认实现
+     */
+    ApplicationStartup DEFAULT = new DefaultApplicationStartup();
+
+    /**
+     * 开始一个步骤，当前线程中尚未结束的步骤即为其父步骤
+     * @param name 步骤名称
+     * @return 开始的步骤，结束时需要调用StartupStep#end
+     */
+    StartupStep start(String name);
+
+    /**
+     * 以指定的步骤为父步骤开始一个步骤，用于在线程池中继续记录发起线程中某个步骤的子步骤
+     * 之后在当前线程中开始的步骤以返回的步骤为父步骤
+     * @param name 步骤名称
+     * @param parent 父步骤，为null时与start(String)相同
+     * @return 开始的步骤，结束时需要调用StartupStep#end
+     */
+    default StartupStep start(String name, StartupStep parent) {
+        return start(name);
+    }
+}
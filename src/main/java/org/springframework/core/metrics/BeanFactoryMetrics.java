@@ -0,0 +1,51 @@
+package org.springframework.core.metrics;
+
+/**
+ * bean工厂运行时指标的SPI：getBean命中单例缓存与新建的次数、各bean的创建耗时、提前暴露引用(循环依赖)的解析次数以及FactoryBean的调用情况
+ * 默认实现不做任何记录，isEnabled()为false时bean工厂不会计时，开销可以忽略；需要统计时使用SimpleBeanFactoryMetrics
+ */
+public interface BeanFactoryMetrics {
+
+    /**
+     * 不做任何记录的默认实现
+     */
+    BeanFactoryMetrics DEFAULT = new DefaultBeanFactoryMetrics();
+
+    /**
+     * @return 是否需要记录，为false时bean工厂跳过计时
+     */
+    boolean isEnabled();
+
+    /**
+     * getBean直接从单例缓存中取得了bean
+     * @param beanName bean的名字
+     */
+    void singletonCacheHit(String beanName);
+
+    /**
+     * 创建了一个bean
+     * @param beanName bean的名字
+     * @param scope bean的作用域
+     * @param durationNanos 创建耗时，包括创建其所依赖的bean的时间
+     */
+    void beanCreated(String beanName, String scope, long durationNanos);
+
+    /**
+     * getBean拿到了正在创建中的单例提前暴露的引用，即发生了循环依赖
+     * @param beanName bean的名字
+     */
+    void earlyReferenceResolved(String beanName);
+
+    /**
+     * 单例FactoryBean所产生的对象从缓存中取得
+     * @param beanName bean的名字
+     */
+    void factoryBeanObjectCacheHit(String beanName);
+
+    /**
+     * 调用了FactoryBean#getObject
+     * @param beanName bean的名字
+     * @param durationNanos 调用耗时
+     */
+    void factoryBeanObjectCreated(String beanName, long durationNanos);
+}
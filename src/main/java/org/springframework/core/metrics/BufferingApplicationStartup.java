@@ -0,0 +1,180 @@
+package org.springframework.core.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 将步骤记录到固定容量的内存缓冲区中，缓冲区写满后丢弃之后结束的步骤
+ * 记录一个步骤只需要一次原子自增和一次数组写入，不加锁，可以在并行创建bean时使用
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+    private final int capacity;
+
+    private final AtomicReferenceArray<StartupTimeline.StepRecord> buffer;
+
+    private final AtomicInteger writeIndex = new AtomicInteger();
+
+    private final AtomicLong idGenerator = new AtomicLong();
+
+    /**
+     * 每个线程中尚未结束的步骤，栈顶为当前步骤
+     */
+    private final ThreadLocal<Deque<BufferedStartupStep>> currentSteps = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * @param capacity 最多记录的步骤数
+     */
+    public BufferingApplicationStartup(int capacity) {
+        if (capacity <= 0){
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        Deque<BufferedStartupStep> steps = currentSteps();
+        BufferedStartupStep parent = steps.peek();
+        return push(steps, name, parent != null ? parent.id : null);
+    }
+
+    @Override
+    public StartupStep start(String name, StartupStep parent) {
+        if (parent == null){
+            return start(name);
+        }
+        return push(currentSteps(), name, parent.getId());
+    }
+
+    private Deque<BufferedStartupStep> currentSteps(){
+        Deque<BufferedStartupStep> steps = currentSteps.get();
+        if (steps == null){
+            steps = new ArrayDeque<>();
+            currentSteps.set(steps);
+        }
+        return steps;
+    }
+
+    private StartupStep push(Deque<BufferedStartupStep> steps, String name, Long parentId){
+        BufferedStartupStep step = new BufferedStartupStep(idGenerator.incrementAndGet(), parentId, name, steps);
+        steps.push(step);
+        return step;
+    }
+
+    /**
+     * 获取已结束步骤的快照
+     * @return 启动时间线
+     */
+    public StartupTimeline getTimeline(){
+        int recorded = Math.min(writeIndex.get(), capacity);
+        List<StartupTimeline.StepRecord> records = new ArrayList<>(recorded);
+        for (int i = 0; i < recorded; i++) {
+            StartupTimeline.StepRecord record = buffer.get(i);
+            // 已占位但尚未写入的槽位
+            if (record != null){
+                records.add(record);
+            }
+        }
+        return new StartupTimeline(records, getDroppedStepCount());
+    }
+
+    /**
+     * @return 缓冲区写满后被丢弃的步骤数
+     */
+    public int getDroppedStepCount(){
+        return Math.max(0, writeIndex.get() - capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void record(StartupTimeline.StepRecord record){
+        int index = writeIndex.getAndIncrement();
+        if (index < capacity){
+            buffer.set(index, record);
+        }
+    }
+
+    private final class BufferedStartupStep implements StartupStep {
+
+        private final long id;
+
+        private final Long parentId;
+
+        private final String name;
+
+        private final Deque<BufferedStartupStep> owner;
+
+        private final long startNanos = System.nanoTime();
+
+        private Map<String, String> tags;
+
+        private boolean ended;
+
+        private BufferedStartupStep(long id, Long parentId, String name, Deque<BufferedStartupStep> owner) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.owner = owner;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return parentId;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            if (ended){
+                throw new IllegalStateException("StartupStep '" + name + "' has already ended");
+            }
+            if (tags == null){
+                tags = new LinkedHashMap<>(4);
+            }
+            tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public void end() {
+            if (ended){
+                return;
+            }
+            ended = true;
+            long endNanos = System.nanoTime();
+            // 步骤应当按开始的逆序结束，出现异常路径时一并移除未结束的子步骤
+            while (!owner.isEmpty()){
+                if (owner.pop() == this){
+                    break;
+                }
+            }
+            record(new StartupTimeline.StepRecord(id, parentId, name,
+                    tags != null ? Collections.unmodifiableMap(tags) : Collections.<String, String>emptyMap(),
+                    Thread.currentThread().getName(),
+                    startNanos - BufferingApplicationStartup.this.startNanos, endNanos - startNanos));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.springframework.core.metrics;
+
+/**
+ * 不做任何记录的ApplicationStartup，所有步骤共用同一个空实现
+ */
+class DefaultApplicationStartup implements ApplicationStartup {
+
+    private static final StartupStep NO_OP_STEP = new NoOpStartupStep();
+
+    @Override
+    public StartupStep start(String name) {
+        return NO_OP_STEP;
+    }
+
+    private static final class NoOpStartupStep implements StartupStep {
+
+        @Override
+        public String getName() {
+            return "no-op";
+        }
+
+        @Override
+        public long getId() {
+            return 0L;
+        }
+
+        @Override
+        public Long getParentId() {
+            return null;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+}
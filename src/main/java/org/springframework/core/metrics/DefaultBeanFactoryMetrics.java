@@ -0,0 +1,32 @@
+package org.springframework.core.metrics;
+
+/**
+ * 不做任何记录的BeanFactoryMetrics
+ */
+class DefaultBeanFactoryMetrics implements BeanFactoryMetrics {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void singletonCacheHit(String beanName) {
+    }
+
+    @Override
+    public void beanCreated(String beanName, String scope, long durationNanos) {
+    }
+
+    @Override
+    public void earlyReferenceResolved(String beanName) {
+    }
+
+    @Override
+    public void factoryBeanObjectCacheHit(String beanName) {
+    }
+
+    @Override
+    public void factoryBeanObjectCreated(String beanName, long durationNanos) {
+    }
+}
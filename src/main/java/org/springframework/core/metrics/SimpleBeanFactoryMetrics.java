@@ -0,0 +1,256 @@
+package org.springframework.core.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 在内存中累计bean工厂运行时指标的BeanFactoryMetrics，计数使用LongAdder，并发getBean时不会互相竞争
+ * 可以通过registerMBean注册为JMX MBean
+ */
+public class SimpleBeanFactoryMetrics implements BeanFactoryMetrics, SimpleBeanFactoryMetricsMBean {
+
+    public static final String DEFAULT_OBJECT_NAME = "org.springframework:type=BeanFactoryMetrics";
+
+    private final LongAdder singletonCacheHits = new LongAdder();
+
+    private final LongAdder singletonCreations = new LongAdder();
+
+    private final LongAdder prototypeCreations = new LongAdder();
+
+    private final LongAdder scopedCreations = new LongAdder();
+
+    private final LongAdder earlyReferenceResolutions = new LongAdder();
+
+    private final LongAdder factoryBeanObjectCreations = new LongAdder();
+
+    private final LongAdder factoryBeanObjectCacheHits = new LongAdder();
+
+    /**
+     * bean名称 -> 该bean的创建统计
+     */
+    private final Map<String, BeanStatistics> beanStatistics = new ConcurrentHashMap<>(256);
+
+    private volatile ObjectName registeredName;
+
+    private static final String[] PROTOTYPE_CREATION_ITEMS = {"beanName", "creations"};
+
+    private static final CompositeType PROTOTYPE_CREATION_TYPE;
+
+    private static final TabularType PROTOTYPE_CREATIONS_TYPE;
+
+    static {
+        try {
+            PROTOTYPE_CREATION_TYPE = new CompositeType("PrototypeCreation", "原型bean的创建次数",
+                    PROTOTYPE_CREATION_ITEMS, PROTOTYPE_CREATION_ITEMS, new OpenType<?>[]{SimpleType.STRING, SimpleType.LONG});
+            PROTOTYPE_CREATIONS_TYPE = new TabularType("PrototypeCreations", "按bean名称统计的原型bean创建次数",
+                    PROTOTYPE_CREATION_TYPE, new String[]{"beanName"});
+        } catch (OpenDataException e){
+            throw new IllegalStateException("Failed to create open types for bean factory metrics",e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void singletonCacheHit(String beanName) {
+        singletonCacheHits.increment();
+    }
+
+    @Override
+    public void beanCreated(String beanName, String scope, long durationNanos) {
+        if ("singleton".equals(scope)){
+            singletonCreations.increment();
+        } else if ("prototype".equals(scope)){
+            prototypeCreations.increment();
+        } else {
+            scopedCreations.increment();
+        }
+        BeanStatistics statistics = beanStatistics.get(beanName);
+        if (statistics == null){
+            statistics = beanStatistics.computeIfAbsent(beanName, name -> new BeanStatistics(scope));
+        }
+        statistics.latency.record(durationNanos);
+    }
+
+    @Override
+    public void earlyReferenceResolved(String beanName) {
+        earlyReferenceResolutions.increment();
+    }
+
+    @Override
+    public void factoryBeanObjectCacheHit(String beanName) {
+        factoryBeanObjectCacheHits.increment();
+    }
+
+    @Override
+    public void factoryBeanObjectCreated(String beanName, long durationNanos) {
+        factoryBeanObjectCreations.increment();
+    }
+
+    @Override
+    public long getSingletonCacheHits() {
+        return singletonCacheHits.sum();
+    }
+
+    @Override
+    public long getSingletonCreations() {
+        return singletonCreations.sum();
+    }
+
+    @Override
+    public long getPrototypeCreations() {
+        return prototypeCreations.sum();
+    }
+
+    @Override
+    public long getScopedCreations() {
+        return scopedCreations.sum();
+    }
+
+    @Override
+    public long getEarlyReferenceResolutions() {
+        return earlyReferenceResolutions.sum();
+    }
+
+    @Override
+    public long getFactoryBeanObjectCreations() {
+        return factoryBeanObjectCreations.sum();
+    }
+
+    @Override
+    public long getFactoryBeanObjectCacheHits() {
+        return factoryBeanObjectCacheHits.sum();
+    }
+
+    /**
+     * @return bean名称 -> 原型bean的创建次数
+     */
+    public Map<String, Long> getPrototypeCreationsByBean() {
+        Map<String, Long> result = new TreeMap<>();
+        beanStatistics.forEach((beanName, statistics) -> {
+            if ("prototype".equals(statistics.scope)){
+                result.put(beanName, statistics.latency.getCount());
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public TabularData getPrototypeCreationsTable() {
+        TabularDataSupport table = new TabularDataSupport(PROTOTYPE_CREATIONS_TYPE);
+        try {
+            for (Map.Entry<String, Long> entry : getPrototypeCreationsByBean().entrySet()) {
+                table.put(new CompositeDataSupport(PROTOTYPE_CREATION_TYPE, PROTOTYPE_CREATION_ITEMS,
+                        new Object[]{entry.getKey(), entry.getValue()}));
+            }
+        } catch (OpenDataException e){
+            throw new IllegalStateException("Failed to convert prototype creations to open data",e);
+        }
+        return table;
+    }
+
+    @Override
+    public long getCreationCount(String beanName) {
+        BeanStatistics statistics = beanStatistics.get(beanName);
+        return statistics != null ? statistics.latency.getCount() : 0;
+    }
+
+    @Override
+    public double getCreationLatencyMillis(String beanName, double percentile) {
+        LatencyHistogram latency = getCreationLatency(beanName);
+        return latency != null ? latency.getPercentileNanos(percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1) : 0;
+    }
+
+    /**
+     * @param beanName bean的名字
+     * @return 该bean的创建耗时直方图，从未创建过时为null
+     */
+    public LatencyHistogram getCreationLatency(String beanName){
+        BeanStatistics statistics = beanStatistics.get(beanName);
+        return statistics != null ? statistics.latency : null;
+    }
+
+    @Override
+    public void reset() {
+        singletonCacheHits.reset();
+        singletonCreations.reset();
+        prototypeCreations.reset();
+        scopedCreations.reset();
+        earlyReferenceResolutions.reset();
+        factoryBeanObjectCreations.reset();
+        factoryBeanObjectCacheHits.reset();
+        beanStatistics.clear();
+    }
+
+    /**
+     * 以DEFAULT_OBJECT_NAME注册到平台MBeanServer
+     * @return 注册的名称
+     */
+    public ObjectName registerMBean(){
+        try {
+            return registerMBean(new ObjectName(DEFAULT_OBJECT_NAME));
+        } catch (JMException e){
+            throw new IllegalStateException("Failed to register bean factory metrics MBean",e);
+        }
+    }
+
+    /**
+     * 注册到平台MBeanServer
+     * @param objectName 注册的名称
+     * @return 注册的名称
+     */
+    public ObjectName registerMBean(ObjectName objectName){
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = server.registerMBean(this, objectName).getObjectName();
+            this.registeredName = name;
+            return name;
+        } catch (JMException e){
+            throw new IllegalStateException("Failed to register bean factory metrics MBean [" + objectName + "]",e);
+        }
+    }
+
+    /**
+     * 从平台MBeanServer中注销，未注册时不做任何操作
+     */
+    public void unregisterMBean(){
+        ObjectName name = this.registeredName;
+        if (name == null){
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e){
+            throw new IllegalStateException("Failed to unregister bean factory metrics MBean [" + name + "]",e);
+        } finally {
+            this.registeredName = null;
+        }
+    }
+
+    private static final class BeanStatistics {
+        private final String scope;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private BeanStatistics(String scope) {
+            this.scope = scope;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.springframework.core.metrics;
+
+import javax.management.openmbean.TabularData;
+
+/**
+ * SimpleBeanFactoryMetrics的JMX管理接口
+ */
+public interface SimpleBeanFactoryMetricsMBean {
+
+    long getSingletonCacheHits();
+
+    long getSingletonCreations();
+
+    long getPrototypeCreations();
+
+    long getScopedCreations();
+
+    long getEarlyReferenceResolutions();
+
+    long getFactoryBeanObjectCreations();
+
+    long getFactoryBeanObjectCacheHits();
+
+    /**
+     * 按bean名称统计的原型bean创建次数，使用JMX开放类型，通用的JMX客户端也可以读取
+     * @return 每行包括beanName和creations，以beanName为索引
+     */
+    TabularData getPrototypeCreationsTable();
+
+    /**
+     * @param beanName bean的名字
+     * @return 该bean的创建次数
+     */
+    long getCreationCount(String beanName);
+
+    /**
+     * @param beanName bean的名字
+     * @param percentile 百分位，取值范围[0, 1]
+     * @return 该bean创建耗时的百分位数(毫秒)
+     */
+    double getCreationLatencyMillis(String beanName, double percentile);
+
+    void reset();
+}
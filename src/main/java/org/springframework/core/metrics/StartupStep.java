@@ -0,0 +1,32 @@
+package org.springframework.core.metrics;
+
+/**
+ * 启动过程中的一个步骤
+ */
+public interface StartupStep {
+
+    String getName();
+
+    /**
+     * @return 步骤的唯一id
+     */
+    long getId();
+
+    /**
+     * @return 父步骤的id，没有父步骤时为null
+     */
+    Long getParentId();
+
+    /**
+     * 为步骤添加标签，例如bean的名字
+     * @param key 标签名
+     * @param value 标签值
+     * @return 当前步骤
+     */
+    StartupStep tag(String key, String value);
+
+    /**
+     * 结束步骤
+     */
+    void end();
+}
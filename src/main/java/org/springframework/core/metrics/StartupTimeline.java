@@ -0,0 +1,275 @@
+package org.springframework.core.metrics;
+
+import cn.hutool.json.JSONUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 启动过程的时间线，由BufferingApplicationStartup记录的步骤构成，可以分析最慢的bean和关键路径并导出为JSON
+ */
+public class StartupTimeline {
+
+    /**
+     * 创建一个bean的步骤名称，步骤带有beanName标签
+     */
+    public static final String BEAN_INSTANTIATE_STEP = "beans.instantiate";
+
+    public static final String BEAN_NAME_TAG = "beanName";
+
+    private final List<StepRecord> steps;
+
+    private final int droppedStepCount;
+
+    private final Map<Long, List<StepRecord>> children = new HashMap<>();
+
+    public StartupTimeline(List<StepRecord> steps, int droppedStepCount) {
+        List<StepRecord> sorted = new ArrayList<>(steps);
+        sorted.sort(Comparator.comparingLong(StepRecord::getStartNanos));
+        this.steps = Collections.unmodifiableList(sorted);
+        this.droppedStepCount = droppedStepCount;
+        for (StepRecord step : this.steps) {
+            if (step.getParentId() != null){
+                children.computeIfAbsent(step.getParentId(), id -> new ArrayList<>()).add(step);
+            }
+        }
+    }
+
+    /**
+     * @return 全部步骤，按开始时间排列
+     */
+    public List<StepRecord> getSteps() {
+        return steps;
+    }
+
+    public int getDroppedStepCount() {
+        return droppedStepCount;
+    }
+
+    /**
+     * 获取步骤的直接子步骤
+     * @param step 步骤
+     * @return 子步骤，按开始时间排列
+     */
+    public List<StepRecord> getChildren(StepRecord step){
+        List<StepRecord> result = children.get(step.getId());
+        return result != null ? Collections.unmodifiableList(result) : Collections.<StepRecord>emptyList();
+    }
+
+    /**
+     * 获取自身耗时最长的bean，自身耗时不包括创建其依赖的bean所花费的时间
+     * @param limit 最多返回的数量
+     * @return 按自身耗时降序排列的bean耗时
+     */
+    public List<BeanTiming> getSlowestBeans(int limit){
+        List<BeanTiming> timings = new ArrayList<>();
+        for (StepRecord step : steps) {
+            if (!BEAN_INSTANTIATE_STEP.equals(step.getName())){
+                continue;
+            }
+            long nestedBeans = 0;
+            for (StepRecord nested : getNestedBeanSteps(step)) {
+                nestedBeans += nested.getDurationNanos();
+            }
+            timings.add(new BeanTiming(step.getTags().get(BEAN_NAME_TAG), step.getDurationNanos(),
+                    step.getDurationNanos() - nestedBeans));
+        }
+        timings.sort(Comparator.comparingLong(BeanTiming::getSelfNanos).reversed());
+        return timings.size() > limit ? new ArrayList<>(timings.subList(0, limit)) : timings;
+    }
+
+    /**
+     * 关键路径：从耗时最长的根步骤开始，每一层选择耗时最长的子步骤，直到没有子步骤
+     * @return 关键路径上的步骤，由外到内排列
+     */
+    public List<StepRecord> getCriticalPath(){
+        List<StepRecord> path = new ArrayList<>();
+        StepRecord current = null;
+        for (StepRecord step : steps) {
+            if (step.getParentId() == null && (current == null || step.getDurationNanos() > current.getDurationNanos())){
+                current = step;
+            }
+        }
+        while (current != null){
+            path.add(current);
+            StepRecord slowest = null;
+            for (StepRecord child : getChildren(current)) {
+                if (slowest == null || child.getDurationNanos() > slowest.getDurationNanos()){
+                    slowest = child;
+                }
+            }
+            current = slowest;
+        }
+        return path;
+    }
+
+    /**
+     * 导出为JSON，包括全部步骤、最慢的10个bean以及关键路径上的步骤id
+     * @return JSON字符串
+     */
+    public String toJson(){
+        StringBuilder json = new StringBuilder(steps.size() * 128 + 64);
+        json.append("{\"droppedSteps\":").append(droppedStepCount).append(",\"steps\":[");
+        for (int i = 0; i < steps.size(); i++) {
+            if (i > 0){
+                json.append(',');
+            }
+            StepRecord step = steps.get(i);
+            json.append("{\"id\":").append(step.getId())
+                    .append(",\"parentId\":").append(step.getParentId())
+                    .append(",\"name\":").append(JSONUtil.quote(step.getName()))
+                    .append(",\"thread\":").append(JSONUtil.quote(step.getThreadName()))
+                    .append(",\"startNanos\":").append(step.getStartNanos())
+                    .append(",\"durationNanos\":").append(step.getDurationNanos())
+                    .append(",\"tags\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> tag : step.getTags().entrySet()) {
+                if (!first){
+                    json.append(',');
+                }
+                first = false;
+                json.append(JSONUtil.quote(tag.getKey())).append(':').append(JSONUtil.quote(tag.getValue()));
+            }
+            json.append("}}");
+        }
+        json.append("],\"slowestBeans\":[");
+        List<BeanTiming> slowestBeans = getSlowestBeans(10);
+        for (int i = 0; i < slowestBeans.size(); i++) {
+            if (i > 0){
+                json.append(',');
+            }
+            BeanTiming timing = slowestBeans.get(i);
+            json.append("{\"beanName\":").append(JSONUtil.quote(timing.getBeanName()))
+                    .append(",\"totalNanos\":").append(timing.getTotalNanos())
+                    .append(",\"selfNanos\":").append(timing.getSelfNanos()).append('}');
+        }
+        json.append("],\"criticalPath\":[");
+        List<StepRecord> criticalPath = getCriticalPath();
+        for (int i = 0; i < criticalPath.size(); i++) {
+            if (i > 0){
+                json.append(',');
+            }
+            json.append(criticalPath.get(i).getId());
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * 获取嵌套在该步骤中、最近一层的bean创建步骤
+     */
+    private List<StepRecord> getNestedBeanSteps(StepRecord step){
+        List<StepRecord> result = new ArrayList<>();
+        List<StepRecord> pending = new ArrayList<>(getChildren(step));
+        while (!pending.isEmpty()){
+            StepRecord child = pending.remove(pending.size() - 1);
+            if (BEAN_INSTANTIATE_STEP.equals(child.getName())){
+                result.add(child);
+            } else {
+                pending.addAll(getChildren(child));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 已结束的步骤，不可变
+     */
+    public static final class StepRecord {
+        private final long id;
+        private final Long parentId;
+        private final String name;
+        private final Map<String, String> tags;
+        private final String threadName;
+        private final long startNanos;
+        private final long durationNanos;
+
+        public StepRecord(long id, Long parentId, String name, Map<String, String> tags,
+                          String threadName, long startNanos, long durationNanos) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.tags = tags;
+            this.threadName = threadName;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public Long getParentId() {
+            return parentId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Map<String, String> getTags() {
+            return tags;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * @return 相对于开始记录时的开始时间(纳秒)
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return name + tags + " " + durationNanos / 1000 + "us";
+        }
+    }
+
+    /**
+     * 一个bean的创建耗时
+     */
+    public static final class BeanTiming {
+        private final String beanName;
+        private final long totalNanos;
+        private final long selfNanos;
+
+        public BeanTiming(String beanName, long totalNanos, long selfNanos) {
+            this.beanName = beanName;
+            this.totalNanos = totalNanos;
+            this.selfNanos = selfNanos;
+        }
+
+        public String getBeanName() {
+            return beanName;
+        }
+
+        /**
+         * @return 总耗时，包括创建其依赖的bean
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return 自身耗时
+         */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        @Override
+        public String toString() {
+            return beanName + " " + selfNanos / 1000 + "us";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.springframework.testBeanClassLoader.ioc;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionSnapshot;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.testBeanClassLoader.ioc.bean.ChildFirstClassLoader;
+import org.springframework.testBeanClassLoader.ioc.bean.Greeter;
+
+import java.io.File;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeanClassLoaderTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testPointcutClassLoader() throws Exception {
+		ClassLoader classLoader = new ChildFirstClassLoader(getClass().getClassLoader(), Greeter.class.getName());
+		Class<?> greeterClass = classLoader.loadClass(Greeter.class.getName());
+		assertThat(greeterClass).isNotSameAs(Greeter.class);
+
+		//使用上下文类加载器解析切点，可以匹配由该类加载器加载的bean类型
+		Thread thread = Thread.currentThread();
+		ClassLoader previous = thread.getContextClassLoader();
+		thread.setContextClassLoader(classLoader);
+		AspectJExpressionPointcut pointcut;
+		try {
+			pointcut = new AspectJExpressionPointcut("execution(* " + Greeter.class.getName() + ".greet(..))");
+		} finally {
+			thread.setContextClassLoader(previous);
+		}
+		assertThat(pointcut.matches(greeterClass)).isTrue();
+		assertThat(pointcut.matches(greeterClass.getMethod("greet", String.class), greeterClass)).isTrue();
+		assertThat(pointcut.matches(greeterClass.getMethod("toString"), greeterClass)).isFalse();
+
+		//显式指定类加载器
+		AspectJExpressionPointcut explicit = new AspectJExpressionPointcut("execution(* " + Greeter.class.getName() + ".greet(..))", classLoader);
+		assertThat(explicit.matches(greeterClass.getMethod("greet", String.class), greeterClass)).isTrue();
+	}
+
+	@Test
+	public void testSnapshotClassLoader() throws Exception {
+		File snapshot = new File(temporaryFolder.getRoot(), "beans.snapshot");
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("greeter", new BeanDefinition(Greeter.class));
+		assertThat(BeanDefinitionSnapshot.write(snapshot, 1L, beanFactory)).isTrue();
+
+		//从快照加载时使用指定的类加载器加载bean类型
+		ClassLoader classLoader = new ChildFirstClassLoader(getClass().getClassLoader(), Greeter.class.getName());
+		DefaultListableBeanFactory loaded = new DefaultListableBeanFactory();
+		assertThat(BeanDefinitionSnapshot.load(snapshot, 1L, loaded, classLoader)).isTrue();
+		assertThat(loaded.getBeanDefinition("greeter").getBeanClass().getClassLoader()).isSameAs(classLoader);
+
+		//默认使用上下文类加载器
+		Thread thread = Thread.currentThread();
+		ClassLoader previous = thread.getContextClassLoader();
+		thread.setContextClassLoader(classLoader);
+		DefaultListableBeanFactory contextLoaded = new DefaultListableBeanFactory();
+		try {
+			assertThat(BeanDefinitionSnapshot.load(snapshot, 1L, contextLoaded)).isTrue();
+		} finally {
+			thread.setContextClassLoader(previous);
+		}
+		assertThat(contextLoaded.getBeanDefinition("greeter").getBeanClass().getClassLoader()).isSameAs(classLoader);
+	}
+}
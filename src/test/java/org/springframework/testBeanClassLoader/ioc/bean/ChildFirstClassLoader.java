@@ -0,0 +1,50 @@
+package org.springframework.testBeanClassLoader.ioc.bean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 自己加载指定的类，得到与应用类加载器中同名但不同的类型
+ */
+public class ChildFirstClassLoader extends ClassLoader {
+
+	private final String className;
+
+	public ChildFirstClassLoader(ClassLoader parent, String className) {
+		super(parent);
+		this.className = className;
+	}
+
+	@Override
+	protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		if (!className.equals(name)) {
+			return super.loadClass(name, resolve);
+		}
+		synchronized (getClassLoadingLock(name)) {
+			Class<?> loaded = findLoadedClass(name);
+			if (loaded == null) {
+				byte[] bytes = readClass(name);
+				loaded = defineClass(name, bytes, 0, bytes.length);
+			}
+			return loaded;
+		}
+	}
+
+	private byte[] readClass(String name) throws ClassNotFoundException {
+		try (InputStream inputStream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+			if (inputStream == null) {
+				throw new ClassNotFoundException(name);
+			}
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, read);
+			}
+			return outputStream.toByteArray();
+		} catch (IOException e) {
+			throw new ClassNotFoundException(name, e);
+		}
+	}
+}
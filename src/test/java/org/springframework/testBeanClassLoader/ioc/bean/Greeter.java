@@ -0,0 +1,8 @@
+package org.springframework.testBeanClassLoader.ioc.bean;
+
+public class Greeter {
+
+	public String greet(String name) {
+		return "hello " + name;
+	}
+}
@@ -0,0 +1,110 @@
+package org.springframework.testBeanDefinitionSnapshot.ioc;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionSnapshot;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testBeanDefinitionSnapshot.ioc.bean.Garage;
+import org.springframework.testBeanDefinitionSnapshot.ioc.bean.Person;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeanDefinitionSnapshotTest {
+
+	private static final String CONFIG_LOCATION = "classpath:testBeanDefinitionSnapshot/snapshot.xml";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testBeanDefinitionSnapshot() throws Exception {
+		File snapshot = new File(temporaryFolder.getRoot(), "beans.snapshot");
+
+		//第一次启动解析xml并生成快照
+		ClassPathXmlApplicationContext first = createContext(snapshot);
+		assertThat(snapshot).exists();
+		DefaultListableBeanFactory parsed = first.getBeanFactory();
+
+		//配置未变化时从快照注册，BeanDefinition与解析xml得到的一致
+		DefaultListableBeanFactory loaded = new DefaultListableBeanFactory();
+		long checksum = BeanDefinitionSnapshot.checksum(first.getResource(CONFIG_LOCATION));
+		assertThat(BeanDefinitionSnapshot.load(snapshot, checksum, loaded)).isTrue();
+		String[] beanNames = parsed.getBeanDefinitionNames();
+		Arrays.sort(beanNames);
+		String[] loadedNames = loaded.getBeanDefinitionNames();
+		Arrays.sort(loadedNames);
+		assertThat(loadedNames).containsExactly(beanNames);
+		for (String beanName : beanNames) {
+			assertSameDefinition(parsed.getBeanDefinition(beanName), loaded.getBeanDefinition(beanName));
+		}
+
+		//从快照启动的容器
+		ClassPathXmlApplicationContext second = createContext(snapshot);
+		Garage garage = second.getBean("garage", Garage.class);
+		assertThat(garage.getPerson().getName()).isEqualTo("derek");
+		assertThat(garage.getPerson().getCar().getBrand()).isEqualTo("porsche");
+		assertThat(second.getBean("person")).isNotSameAs(second.getBean("person"));
+
+		//校验和不一致或文件损坏时快照失效
+		assertThat(BeanDefinitionSnapshot.load(snapshot, checksum + 1, new DefaultListableBeanFactory())).isFalse();
+		Files.write(snapshot.toPath(), new byte[]{1, 2, 3});
+		DefaultListableBeanFactory corrupted = new DefaultListableBeanFactory();
+		assertThat(BeanDefinitionSnapshot.load(snapshot, checksum, corrupted)).isFalse();
+		assertThat(corrupted.getBeanDefinitionNames()).isEmpty();
+
+		//失效的快照在下次启动时重新生成
+		ClassPathXmlApplicationContext third = createContext(snapshot);
+		assertThat(third.getBean("person", Person.class).getName()).isEqualTo("derek");
+		assertThat(BeanDefinitionSnapshot.load(snapshot, checksum, new DefaultListableBeanFactory())).isTrue();
+
+		//被扫描包中的类文件变化后快照失效，重新扫描后生成新的快照
+		File garageClass = new File(Garage.class.getResource("Garage.class").toURI());
+		long lastModified = garageClass.lastModified();
+		try {
+			assertThat(garageClass.setLastModified(lastModified + 2000)).isTrue();
+			assertThat(BeanDefinitionSnapshot.load(snapshot, checksum, new DefaultListableBeanFactory())).isFalse();
+			ClassPathXmlApplicationContext fourth = createContext(snapshot);
+			assertThat(fourth.getBean("garage", Garage.class).getPerson().getName()).isEqualTo("derek");
+			assertThat(BeanDefinitionSnapshot.load(snapshot, checksum, new DefaultListableBeanFactory())).isTrue();
+		} finally {
+			garageClass.setLastModified(lastModified);
+		}
+	}
+
+	private ClassPathXmlApplicationContext createContext(File snapshot) {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(new String[]{CONFIG_LOCATION}, false);
+		applicationContext.setBeanDefinitionSnapshot(snapshot);
+		applicationContext.refresh();
+		return applicationContext;
+	}
+
+	private void assertSameDefinition(BeanDefinition expected, BeanDefinition actual) {
+		assertThat(actual.getBeanClass()).isEqualTo(expected.getBeanClass());
+		assertThat(actual.isSingleton()).isEqualTo(expected.isSingleton());
+		assertThat(actual.isPrototype()).isEqualTo(expected.isPrototype());
+		assertThat(actual.isLazyInit()).isEqualTo(expected.isLazyInit());
+		assertThat(actual.getInitMethodName()).isEqualTo(expected.getInitMethodName());
+		assertThat(actual.getDestroyMethodName()).isEqualTo(expected.getDestroyMethodName());
+		PropertyValue[] expectedValues = expected.getPropertyValues().getPropertyValues();
+		PropertyValue[] actualValues = actual.getPropertyValues().getPropertyValues();
+		assertThat(actualValues).hasSameSizeAs(expectedValues);
+		for (int i = 0; i < expectedValues.length; i++) {
+			assertThat(actualValues[i].getName()).isEqualTo(expectedValues[i].getName());
+			if (expectedValues[i].getValue() instanceof BeanReference) {
+				assertThat(((BeanReference) actualValues[i].getValue()).getBeanName())
+						.isEqualTo(((BeanReference) expectedValues[i].getValue()).getBeanName());
+			} else {
+				assertThat(actualValues[i].getValue()).isEqualTo(expectedValues[i].getValue());
+			}
+		}
+	}
+}
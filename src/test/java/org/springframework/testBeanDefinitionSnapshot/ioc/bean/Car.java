@@ -0,0 +1,10 @@
+package org.springframework.testBeanDefinitionSnapshot.ioc.bean;
+
+public class Car {
+
+	private String brand;
+
+	public String getBrand() {
+		return brand;
+	}
+}
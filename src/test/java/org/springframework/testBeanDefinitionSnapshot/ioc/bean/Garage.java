@@ -0,0 +1,15 @@
+package org.springframework.testBeanDefinitionSnapshot.ioc.bean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class Garage {
+
+	@Autowired
+	private Person person;
+
+	public Person getPerson() {
+		return person;
+	}
+}
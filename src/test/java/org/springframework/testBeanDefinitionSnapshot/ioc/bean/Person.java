@@ -0,0 +1,22 @@
+package org.springframework.testBeanDefinitionSnapshot.ioc.bean;
+
+public class Person {
+
+	private String name;
+
+	private Car car;
+
+	public void init() {
+	}
+
+	public void destroy() {
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Car getCar() {
+		return car;
+	}
+}
@@ -0,0 +1,90 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testBeanPostProcessorPipeline.ioc.bean.Car;
+import org.springframework.testBeanPostProcessorPipeline.ioc.bean.CountingAutoProxyCreator;
+import org.springframework.testBeanPostProcessorPipeline.ioc.bean.Engine;
+import org.springframework.testBeanPostProcessorPipeline.ioc.bean.FlightAdvice;
+import org.springframework.testBeanPostProcessorPipeline.ioc.bean.PipelineInspectingBeanFactory;
+import org.springframework.testBeanPostProcessorPipeline.ioc.bean.Pilot;
+import org.springframework.testBeanPostProcessorPipeline.ioc.bean.Plane;
+import org.springframework.testBeanPostProcessorPipeline.ioc.bean.RecordingInstantiationAwarePostProcessor;
+import org.springframework.testBeanPostProcessorPipeline.ioc.bean.RecordingPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeanPostProcessorPipelineTest {
+
+	@Test
+	public void testBeanPostProcessorPipeline() throws Exception {
+		List<String> calls = new ArrayList<>();
+		PipelineInspectingBeanFactory beanFactory = new PipelineInspectingBeanFactory();
+		beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+		beanFactory.registerBeanDefinition("engine", new BeanDefinition(Engine.class));
+		AutowiredAnnotationBeanPostProcessor autowired = new AutowiredAnnotationBeanPostProcessor();
+		autowired.setBeanFactory(beanFactory);
+		RecordingPostProcessor all = new RecordingPostProcessor("all", null, calls);
+		RecordingInstantiationAwarePostProcessor properties = new RecordingInstantiationAwarePostProcessor("properties", calls);
+		RecordingPostProcessor engineOnly = new RecordingPostProcessor("engineOnly", Engine.class, calls);
+		beanFactory.addBeanPostProcessor(autowired);
+		beanFactory.addBeanPostProcessor(all);
+		beanFactory.addBeanPostProcessor(properties);
+		beanFactory.addBeanPostProcessor(engineOnly);
+
+		//按bean类型划分，不适用的BeanPostProcessor被跳过，InstantiationAware单独成组
+		assertThat(beanFactory.beanPostProcessorsOf(Car.class)).containsExactly(autowired, all, properties);
+		assertThat(beanFactory.instantiationAwareBeanPostProcessorsOf(Car.class)).containsExactly(autowired, properties);
+		assertThat(beanFactory.beanPostProcessorsOf(Engine.class)).containsExactly(all, properties, engineOnly);
+		assertThat(beanFactory.instantiationAwareBeanPostProcessorsOf(Engine.class)).containsExactly(properties);
+
+		//同一类型复用划分结果，注册新的BeanPostProcessor后重新划分
+		Object carPipeline = beanFactory.pipelineOf(Car.class);
+		assertThat(beanFactory.pipelineOf(Car.class)).isSameAs(carPipeline);
+		RecordingPostProcessor late = new RecordingPostProcessor("late", null, calls);
+		beanFactory.addBeanPostProcessor(late);
+		assertThat(beanFactory.pipelineOf(Car.class)).isNotSameAs(carPipeline);
+		assertThat(beanFactory.beanPostProcessorsOf(Car.class)).containsExactly(autowired, all, properties, late);
+
+		//重复注册时移到末尾
+		beanFactory.addBeanPostProcessor(all);
+		assertThat(beanFactory.beanPostProcessorsOf(Car.class)).containsExactly(autowired, properties, late, all);
+
+		//AutowiredAnnotationBeanPostProcessor返回原bean，后续的BeanPostProcessor照常执行
+		Car car = beanFactory.getBean("car", Car.class);
+		assertThat(car.getEngine()).isSameAs(beanFactory.getBean("engine"));
+		assertThat(autowired.postProcessBeforeInitialization(car, "car")).isSameAs(car);
+		assertThat(autowired.postProcessAfterInitialization(car, "car")).isSameAs(car);
+		assertThat(calls).containsSubsequence("properties:properties:car", "properties:before:car", "late:before:car",
+				"all:before:car", "properties:after:car", "late:after:car", "all:after:car");
+		assertThat(calls).contains("engineOnly:before:engine", "engineOnly:after:engine");
+		assertThat(calls).noneMatch(call -> call.startsWith("engineOnly:") && call.endsWith(":car"));
+	}
+
+	@Test
+	public void testAdvisedSingletonProxiedOnce() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testBeanPostProcessorPipeline/auto-proxy.xml");
+		CountingAutoProxyCreator autoProxyCreator = applicationContext.getBean("autoProxyCreator", CountingAutoProxyCreator.class);
+
+		//提前暴露引用的pilot和正常初始化的plane都只创建一次代理
+		assertThat(autoProxyCreator.getProxyCount("pilot")).isEqualTo(1);
+		assertThat(autoProxyCreator.getProxyCount("plane")).isEqualTo(1);
+
+		//容器中的单例与注入到其他bean中的是同一个代理
+		Pilot pilot = applicationContext.getBean("pilot", Pilot.class);
+		Plane plane = applicationContext.getBean("plane", Plane.class);
+		assertThat(pilot.getClass()).isNotEqualTo(Pilot.class);
+		assertThat(plane.getClass()).isNotEqualTo(Plane.class);
+		assertThat(pilot.getPlane()).isSameAs(plane);
+		assertThat(plane.getPilot()).isSameAs(pilot);
+		assertThat(pilot.fly()).isEqualTo("fly");
+		assertThat(plane.takeOff()).isEqualTo("takeOff");
+		assertThat(applicationContext.getBean("flightAdvice", FlightAdvice.class).getCount()).isEqualTo(2);
+		applicationContext.close();
+	}
+}
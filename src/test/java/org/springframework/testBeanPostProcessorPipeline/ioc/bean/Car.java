@@ -0,0 +1,13 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc.bean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class Car {
+
+	@Autowired
+	private Engine engine;
+
+	public Engine getEngine() {
+		return engine;
+	}
+}
@@ -0,0 +1,24 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc.bean;
+
+import org.springframework.aop.framework.autoproxy.DefaultAdvisorAutoProxyCreator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CountingAutoProxyCreator extends DefaultAdvisorAutoProxyCreator {
+
+	private final Map<String, Integer> proxyCounts = new ConcurrentHashMap<>();
+
+	@Override
+	protected Object wrapIfNecessary(Object bean, String beanName) {
+		Object wrapped = super.wrapIfNecessary(bean, beanName);
+		if (wrapped != bean) {
+			proxyCounts.merge(beanName, 1, Integer::sum);
+		}
+		return wrapped;
+	}
+
+	public int getProxyCount(String beanName) {
+		return proxyCounts.getOrDefault(beanName, 0);
+	}
+}
@@ -0,0 +1,4 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc.bean;
+
+public class Engine {
+}
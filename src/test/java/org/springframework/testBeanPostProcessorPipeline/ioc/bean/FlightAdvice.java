@@ -0,0 +1,19 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc.bean;
+
+import org.springframework.aop.MethodBeforeAdvice;
+
+import java.lang.reflect.Method;
+
+public class FlightAdvice implements MethodBeforeAdvice {
+
+	private int count;
+
+	@Override
+	public void before(Method method, Object[] args, Object target) throws Throwable {
+		count++;
+	}
+
+	public int getCount() {
+		return count;
+	}
+}
@@ -0,0 +1,18 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc.bean;
+
+public class Pilot {
+
+	private Plane plane;
+
+	public String fly() {
+		return "fly";
+	}
+
+	public Plane getPlane() {
+		return plane;
+	}
+
+	public void setPlane(Plane plane) {
+		this.plane = plane;
+	}
+}
@@ -0,0 +1,23 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc.bean;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * 公开为各bean类型划分的BeanPostProcessor数组
+ */
+public class PipelineInspectingBeanFactory extends DefaultListableBeanFactory {
+
+	public Object pipelineOf(Class<?> beanClass) {
+		return getBeanPostProcessorPipeline(beanClass);
+	}
+
+	public BeanPostProcessor[] beanPostProcessorsOf(Class<?> beanClass) {
+		return getBeanPostProcessorPipeline(beanClass).getBeanPostProcessors();
+	}
+
+	public InstantiationAwareBeanPostProcessor[] instantiationAwareBeanPostProcessorsOf(Class<?> beanClass) {
+		return getBeanPostProcessorPipeline(beanClass).getInstantiationAwareBeanPostProcessors();
+	}
+}
@@ -0,0 +1,18 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc.bean;
+
+public class Plane {
+
+	private Pilot pilot;
+
+	public String takeOff() {
+		return "takeOff";
+	}
+
+	public Pilot getPilot() {
+		return pilot;
+	}
+
+	public void setPilot(Pilot pilot) {
+		this.pilot = pilot;
+	}
+}
@@ -0,0 +1,39 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc.bean;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+
+import java.util.List;
+
+/**
+ * 记录属性填充前的回调
+ */
+public class RecordingInstantiationAwarePostProcessor extends RecordingPostProcessor implements InstantiationAwareBeanPostProcessor {
+
+	private final String name;
+
+	private final List<String> calls;
+
+	public RecordingInstantiationAwarePostProcessor(String name, List<String> calls) {
+		super(name, null, calls);
+		this.name = name;
+		this.calls = calls;
+	}
+
+	@Override
+	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+		return null;
+	}
+
+	@Override
+	public boolean postProcessAfterInstantiation(Object bean, String beanName) throws BeansException {
+		return true;
+	}
+
+	@Override
+	public PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName) throws BeansException {
+		calls.add(name + ":properties:" + beanName);
+		return pvs;
+	}
+}
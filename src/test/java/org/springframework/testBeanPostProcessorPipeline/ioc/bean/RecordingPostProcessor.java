@@ -0,0 +1,41 @@
+package org.springframework.testBeanPostProcessorPipeline.ioc.bean;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.List;
+
+/**
+ * 记录初始化前后回调，applicableType不为null时只处理该类型的bean
+ */
+public class RecordingPostProcessor implements BeanPostProcessor {
+
+	private final String name;
+
+	private final Class<?> applicableType;
+
+	private final List<String> calls;
+
+	public RecordingPostProcessor(String name, Class<?> applicableType, List<String> calls) {
+		this.name = name;
+		this.applicableType = applicableType;
+		this.calls = calls;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+		calls.add(name + ":before:" + beanName);
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		calls.add(name + ":after:" + beanName);
+		return bean;
+	}
+
+	@Override
+	public boolean isApplicableTo(Class<?> beanClass) {
+		return applicableType == null || applicableType.isAssignableFrom(beanClass);
+	}
+}
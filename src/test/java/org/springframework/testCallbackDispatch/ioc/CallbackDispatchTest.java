@@ -0,0 +1,103 @@
+package org.springframework.testCallbackDispatch.ioc;
+
+import org.junit.Test;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.testCallbackDispatch.ioc.bean.AccountService;
+import org.springframework.testCallbackDispatch.ioc.bean.AccountServiceImpl;
+import org.springframework.testCallbackDispatch.ioc.bean.CountingInterceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CallbackDispatchTest {
+
+	@Test
+	public void testFrozenCglibProxy() throws Exception {
+		AccountServiceImpl target = new AccountServiceImpl();
+		CountingInterceptor interceptor = new CountingInterceptor();
+		ProxyFactory proxyFactory = createProxyFactory(target, "transfer", interceptor);
+		proxyFactory.setFrozen(true);
+		AccountServiceImpl proxy = (AccountServiceImpl) proxyFactory.getProxy();
+
+		//匹配advisor的方法经过拦截器链
+		assertThat(proxy.transfer("a")).isEqualTo("transfer:a");
+		assertThat(interceptor.getCount()).isEqualTo(1);
+		assertThat(isIntercepted(target.getLastStackTrace())).isTrue();
+
+		//没有匹配advisor的方法直接分派给目标对象
+		assertThat(proxy.balance("a")).isEqualTo("balance:a");
+		assertThat(interceptor.getCount()).isEqualTo(1);
+		assertThat(isIntercepted(target.getLastStackTrace())).isFalse();
+
+		//冻结后不能再添加advisor
+		assertThatThrownBy(() -> proxyFactory.addAdvisor(createAdvisor("balance", interceptor)))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void testObjectMethods() throws Exception {
+		for (boolean proxyTargetClass : new boolean[]{false, true}) {
+			AccountServiceImpl target = new AccountServiceImpl();
+			CountingInterceptor interceptor = new CountingInterceptor();
+			AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+			advisor.setExpression("execution(* *(..))");
+			advisor.setAdvice(interceptor);
+			ProxyFactory proxyFactory = new ProxyFactory();
+			proxyFactory.setTargetSource(new TargetSource(target));
+			proxyFactory.addAdvisor(advisor);
+			proxyFactory.setProxyTargetClass(proxyTargetClass);
+			AccountService proxy = (AccountService) proxyFactory.getProxy();
+
+			//equals、hashCode、toString即使匹配advisor也直接调用目标对象
+			assertThat(proxy.toString()).isEqualTo("accountService");
+			assertThat(proxy.hashCode()).isEqualTo(target.hashCode());
+			assertThat(proxy.equals(target)).isTrue();
+			assertThat(interceptor.getCount()).isEqualTo(0);
+			assertThat(proxy.balance("a")).isEqualTo("balance:a");
+			assertThat(interceptor.getCount()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void testUnfrozenCglibProxy() throws Exception {
+		AccountServiceImpl target = new AccountServiceImpl();
+		CountingInterceptor interceptor = new CountingInterceptor();
+		ProxyFactory proxyFactory = createProxyFactory(target, "transfer", interceptor);
+		AccountServiceImpl proxy = (AccountServiceImpl) proxyFactory.getProxy();
+		assertThat(proxy.balance("a")).isEqualTo("balance:a");
+		assertThat(interceptor.getCount()).isEqualTo(0);
+
+		//未冻结时，创建代理之后添加的advisor对所有方法生效
+		proxyFactory.addAdvisor(createAdvisor("balance", interceptor));
+		assertThat(proxy.balance("a")).isEqualTo("balance:a");
+		assertThat(interceptor.getCount()).isEqualTo(1);
+	}
+
+	private ProxyFactory createProxyFactory(Object target, String methodName, CountingInterceptor interceptor) {
+		ProxyFactory proxyFactory = new ProxyFactory();
+		proxyFactory.setTargetSource(new TargetSource(target));
+		proxyFactory.addAdvisor(createAdvisor(methodName, interceptor));
+		return proxyFactory;
+	}
+
+	private AspectJExpressionPointcutAdvisor createAdvisor(String methodName, CountingInterceptor interceptor) {
+		AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+		advisor.setExpression("execution(* org.springframework.testCallbackDispatch.ioc.bean.AccountService+." + methodName + "(..))");
+		advisor.setAdvice(interceptor);
+		return advisor;
+	}
+
+	private static boolean isIntercepted(StackTraceElement[] stackTrace) {
+		for (StackTraceElement element : stackTrace) {
+			if (CallbackDispatchTest.class.getName().equals(element.getClassName())) {
+				return false;
+			}
+			if (element.getClassName().startsWith("org.springframework.aop.framework.")) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,8 @@
+package org.springframework.testCallbackDispatch.ioc.bean;
+
+public interface AccountService {
+
+	String transfer(String account);
+
+	String balance(String account);
+}
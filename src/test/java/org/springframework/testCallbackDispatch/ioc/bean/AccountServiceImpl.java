@@ -0,0 +1,27 @@
+package org.springframework.testCallbackDispatch.ioc.bean;
+
+public class AccountServiceImpl implements AccountService {
+
+	private StackTraceElement[] lastStackTrace;
+
+	@Override
+	public String transfer(String account) {
+		lastStackTrace = new Throwable().getStackTrace();
+		return "transfer:" + account;
+	}
+
+	@Override
+	public String balance(String account) {
+		lastStackTrace = new Throwable().getStackTrace();
+		return "balance:" + account;
+	}
+
+	@Override
+	public String toString() {
+		return "accountService";
+	}
+
+	public StackTraceElement[] getLastStackTrace() {
+		return lastStackTrace;
+	}
+}
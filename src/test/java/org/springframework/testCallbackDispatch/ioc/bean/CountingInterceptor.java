@@ -0,0 +1,19 @@
+package org.springframework.testCallbackDispatch.ioc.bean;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+public class CountingInterceptor implements MethodInterceptor {
+
+	private int count;
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		count++;
+		return invocation.proceed();
+	}
+
+	public int getCount() {
+		return count;
+	}
+}
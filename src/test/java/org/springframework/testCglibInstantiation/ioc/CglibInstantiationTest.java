@@ -0,0 +1,38 @@
+package org.springframework.testCglibInstantiation.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.CglibSubclassingInstantiationStrategy;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testCglibInstantiation.ioc.bean.Car;
+import org.springframework.testCglibInstantiation.ioc.bean.Engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CglibInstantiationTest {
+
+	@Test
+	public void testCglibInstantiation() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testCglibInstantiation/cglib-instantiation.xml") {
+			@Override
+			protected DefaultListableBeanFactory createBeanFactory() {
+				DefaultListableBeanFactory beanFactory = super.createBeanFactory();
+				beanFactory.setInstantiationStrategy(new CglibSubclassingInstantiationStrategy());
+				return beanFactory;
+			}
+		};
+
+		Car car1 = applicationContext.getBean("car", Car.class);
+		Car car2 = applicationContext.getBean("car", Car.class);
+		assertThat(car1).isNotSameAs(car2);
+		//生成的是构造器调用器而不是子类
+		assertThat(car1.getClass()).isEqualTo(Car.class);
+		//构造器由生成的FastClass直接调用，没有回退到反射
+		assertThat(car1.getInstantiator()).startsWith(Car.class.getName() + "$$FastClassByCGLIB$$");
+		assertThat(car2.getInstantiator()).isEqualTo(car1.getInstantiator());
+		assertThat(car2.getBrand()).isEqualTo("porsche");
+
+		Engine engine = applicationContext.getBean("engine", Engine.class);
+		assertThat(engine.getModel()).isEqualTo("v8");
+	}
+}
@@ -0,0 +1,19 @@
+package org.springframework.testCglibInstantiation.ioc.bean;
+
+public class Car {
+
+	private String brand;
+
+	/**
+	 * 调用构造器的类，用于区分生成的调用器和反射
+	 */
+	private final String instantiator = new Throwable().getStackTrace()[1].getClassName();
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public String getInstantiator() {
+		return instantiator;
+	}
+}
@@ -0,0 +1,13 @@
+package org.springframework.testCglibInstantiation.ioc.bean;
+
+public class Engine {
+
+	private String model;
+
+	private Engine() {
+	}
+
+	public String getModel() {
+		return model;
+	}
+}
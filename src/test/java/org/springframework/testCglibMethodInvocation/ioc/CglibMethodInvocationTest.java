@@ -0,0 +1,54 @@
+package org.springframework.testCglibMethodInvocation.ioc;
+
+import org.junit.Test;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.testCglibMethodInvocation.ioc.bean.CountingInterceptor;
+import org.springframework.testCglibMethodInvocation.ioc.bean.OrderService;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CglibMethodInvocationTest {
+
+	@Test
+	public void testCglibMethodInvocation() throws Exception {
+		OrderService target = new OrderService();
+		CountingInterceptor interceptor = new CountingInterceptor();
+		AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+		advisor.setExpression("execution(* org.springframework.testCglibMethodInvocation.ioc.bean.OrderService.*Order(..))");
+		advisor.setAdvice(interceptor);
+		ProxyFactory proxyFactory = new ProxyFactory();
+		proxyFactory.setTargetSource(new TargetSource(target));
+		proxyFactory.addAdvisor(advisor);
+		OrderService proxy = (OrderService) proxyFactory.getProxy();
+
+		//拦截器链执行完毕后通过MethodProxy调用目标方法，不经过Method.invoke
+		assertThat(proxy.placeOrder("book")).isEqualTo("order:book");
+		assertThat(interceptor.getCount()).isEqualTo(1);
+		assertThat(isReflectiveCall(target.getLastStackTrace())).isFalse();
+
+		//目标方法抛出的受检异常原样抛出
+		assertThatThrownBy(() -> proxy.cancelOrder("book")).isInstanceOf(IOException.class).hasMessage("cannot cancel book");
+		assertThat(interceptor.getCount()).isEqualTo(2);
+	}
+
+	/**
+	 * 只检查代理调用到目标方法之间的栈帧，测试方法本身也是被反射调用的
+	 */
+	private static boolean isReflectiveCall(StackTraceElement[] stackTrace) {
+		for (StackTraceElement element : stackTrace) {
+			if (CglibMethodInvocationTest.class.getName().equals(element.getClassName())) {
+				return false;
+			}
+			if (Method.class.getName().equals(element.getClassName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,21 @@
+package org.springframework.testCglibMethodInvocation.ioc.bean;
+
+import java.io.IOException;
+
+public class OrderService {
+
+	private StackTraceElement[] lastStackTrace;
+
+	public String placeOrder(String item) {
+		lastStackTrace = new Throwable().getStackTrace();
+		return "order:" + item;
+	}
+
+	public void cancelOrder(String item) throws IOException {
+		throw new IOException("cannot cancel " + item);
+	}
+
+	public StackTraceElement[] getLastStackTrace() {
+		return lastStackTrace;
+	}
+}
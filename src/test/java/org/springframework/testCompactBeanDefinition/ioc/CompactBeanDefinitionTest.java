@@ -0,0 +1,82 @@
+package org.springframework.testCompactBeanDefinition.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.testCompactBeanDefinition.ioc.bean.Car;
+import org.springframework.testCompactBeanDefinition.ioc.bean.Engine;
+import org.springframework.testCompactBeanDefinition.ioc.bean.EngineModelPostProcessor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompactBeanDefinitionTest {
+
+	@Test
+	public void testCompactBeanDefinition() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:testCompactBeanDefinition/compact-bean-definition.xml");
+
+		//默认作用域的字符串与标志位一致
+		BeanDefinition engineDefinition = beanFactory.getBeanDefinition("engine");
+		assertThat(engineDefinition.getScope()).isEqualTo(BeanDefinition.SCOPE_SINGLETON);
+		assertThat(engineDefinition.isSingleton()).isTrue();
+		assertThat(engineDefinition.isPrototype()).isFalse();
+		assertThat(engineDefinition.isLazyInit()).isFalse();
+
+		BeanDefinition carDefinition = beanFactory.getBeanDefinition("car");
+		assertThat(carDefinition.isPrototype()).isTrue();
+		assertThat(carDefinition.isSingleton()).isFalse();
+		assertThat(carDefinition.isLazyInit()).isTrue();
+		carDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
+		assertThat(carDefinition.isSingleton()).isTrue();
+		assertThat(carDefinition.isLazyInit()).isTrue();
+		carDefinition.setLazyInit(false);
+		assertThat(carDefinition.isLazyInit()).isFalse();
+		carDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+
+		//没有属性和构造器参数的bean不会创建对应的集合
+		beanFactory.getBean("engine");
+		assertThat(engineDefinition.hasPropertyValues()).isFalse();
+		assertThat(engineDefinition.hasConstructorArgumentValues()).isFalse();
+
+		//读取属性不复制，修改后返回新的快照
+		PropertyValues propertyValues = carDefinition.getPropertyValues();
+		List<PropertyValue> snapshot = propertyValues.asList();
+		assertThat(propertyValues.asList()).isSameAs(snapshot).hasSize(2);
+		assertThat(propertyValues.getPropertyValues()).isNotSameAs(propertyValues.getPropertyValues());
+		assertThatThrownBy(() -> snapshot.add(new PropertyValue("brand", "audi"))).isInstanceOf(UnsupportedOperationException.class);
+		Car car = beanFactory.getBean("car", Car.class);
+		assertThat(car.getBrand()).isEqualTo("porsche");
+		assertThat(car.getEngine()).isSameAs(beanFactory.getBean("engine", Engine.class));
+
+		propertyValues.addPropertyValue(new PropertyValue("brand", "audi"));
+		assertThat(propertyValues.asList()).isNotSameAs(snapshot).hasSize(2);
+		assertThat(snapshot.get(0).getValue()).isEqualTo("porsche");
+		assertThat(propertyValues.getPropertyValue("brand").getValue()).isEqualTo("audi");
+		assertThat(beanFactory.getBean("car", Car.class).getBrand()).isEqualTo("audi");
+
+		//属性名被intern，共享的空属性集不能修改
+		assertThat(propertyValues.getPropertyValue("engine").getName()).isSameAs("engine");
+		assertThat(PropertyValues.EMPTY.isEmpty()).isTrue();
+		assertThatThrownBy(() -> PropertyValues.EMPTY.addPropertyValue(new PropertyValue("brand", "audi")))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void testPostProcessorAddsPropertyValue() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:testCompactBeanDefinition/compact-bean-definition.xml");
+		beanFactory.addBeanPostProcessor(new EngineModelPostProcessor());
+
+		//没有属性的bean传给InstantiationAwareBeanPostProcessor的属性集也可以直接添加属性
+		Engine engine = beanFactory.getBean("engine", Engine.class);
+		assertThat(engine.getModel()).isEqualTo("v8");
+		assertThat(beanFactory.getBeanDefinition("engine").getPropertyValues().getPropertyValue("model").getValue()).isEqualTo("v8");
+	}
+}
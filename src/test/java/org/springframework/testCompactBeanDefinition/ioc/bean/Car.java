@@ -0,0 +1,16 @@
+package org.springframework.testCompactBeanDefinition.ioc.bean;
+
+public class Car {
+
+	private String brand;
+
+	private Engine engine;
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public Engine getEngine() {
+		return engine;
+	}
+}
@@ -0,0 +1,10 @@
+package org.springframework.testCompactBeanDefinition.ioc.bean;
+
+public class Engine {
+
+	private String model;
+
+	public String getModel() {
+		return model;
+	}
+}
@@ -0,0 +1,50 @@
+package org.springframework.testConcurrentSingleton.ioc;
+
+import org.junit.Test;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testConcurrentSingleton.ioc.bean.SlowService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentSingletonTest {
+
+	@Test
+	public void testConcurrentLazySingleton() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testConcurrentSingleton/concurrent-singleton.xml");
+		SlowService.INSTANCES.set(0);
+
+		int threads = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Object>> futures = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			futures.add(executor.submit(new Callable<Object>() {
+				@Override
+				public Object call() throws Exception {
+					start.await();
+					return applicationContext.getBean("slowService");
+				}
+			}));
+		}
+		start.countDown();
+
+		Object first = futures.get(0).get();
+		for (Future<Object> future : futures) {
+			assertThat(future.get()).isSameAs(first);
+		}
+		executor.shutdown();
+
+		//懒加载单例在并发getBean下只创建一次，并且循环依赖仍然可以解决
+		assertThat(SlowService.INSTANCES.get()).isEqualTo(1);
+		SlowService slowService = (SlowService) first;
+		assertThat(slowService.getRepository().getService()).isSameAs(slowService);
+	}
+}
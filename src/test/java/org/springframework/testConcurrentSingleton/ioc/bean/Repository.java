@@ -0,0 +1,10 @@
+package org.springframework.testConcurrentSingleton.ioc.bean;
+
+public class Repository {
+
+	private SlowService service;
+
+	public SlowService getService() {
+		return service;
+	}
+}
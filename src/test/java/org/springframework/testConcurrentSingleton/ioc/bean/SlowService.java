@@ -0,0 +1,25 @@
+package org.springframework.testConcurrentSingleton.ioc.bean;
+
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SlowService implements InitializingBean {
+
+	public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	private Repository repository;
+
+	public SlowService() {
+		INSTANCES.incrementAndGet();
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		Thread.sleep(50);
+	}
+
+	public Repository getRepository() {
+		return repository;
+	}
+}
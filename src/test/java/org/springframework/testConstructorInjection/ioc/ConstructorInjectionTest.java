@@ -0,0 +1,80 @@
+package org.springframework.testConstructorInjection.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.BeanDependencyGraph;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testConstructorInjection.ioc.bean.Car;
+import org.springframework.testConstructorInjection.ioc.bean.Engine;
+import org.springframework.testConstructorInjection.ioc.bean.Itinerary;
+import org.springframework.testConstructorInjection.ioc.bean.Mechanic;
+import org.springframework.testConstructorInjection.ioc.bean.Partner;
+import org.springframework.testConstructorInjection.ioc.bean.Report;
+import org.springframework.testConstructorInjection.ioc.bean.Tyre;
+import org.springframework.testConstructorInjection.ioc.bean.Workshop;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConstructorInjectionTest {
+
+	@Test
+	public void testConstructorInjection() throws Exception {
+		Report.INIT_COUNT.set(0);
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testConstructorInjection/constructor-injection.xml");
+
+		//constructor-arg中的占位符被替换，字面值转换为参数类型，ref注入所引用的bean
+		Engine engine = applicationContext.getBean("engine", Engine.class);
+		assertThat(engine.getModel()).isEqualTo("V8");
+		assertThat(engine.getCylinders()).isEqualTo(8);
+		Car car = applicationContext.getBean("car", Car.class);
+		assertThat(car.getEngine()).isSameAs(engine);
+		assertThat(car.getOwner()).isEqualTo("alice");
+
+		//参数个数相同时按type选择构造器
+		Tyre tyre = applicationContext.getBean("tyre", Tyre.class);
+		assertThat(tyre.getSize()).isEqualTo(17);
+		assertThat(tyre.getBrand()).isNull();
+
+		//转换结果可变的字面值每次创建bean重新转换，原型实例之间不共享
+		Itinerary first = applicationContext.getBean("itinerary", Itinerary.class);
+		Itinerary second = applicationContext.getBean("itinerary", Itinerary.class);
+		assertThat(first.getStops()).containsExactly("beijing", "shanghai");
+		assertThat(second.getStops()).isNotSameAs(first.getStops());
+		first.getStops().add("guangzhou");
+		assertThat(second.getStops()).containsExactly("beijing", "shanghai");
+
+		//@Autowired构造器优先于无参构造器，参数支持@Qualifier
+		Mechanic mechanic = applicationContext.getBean("mechanic", Mechanic.class);
+		assertThat(mechanic.getEngine()).isSameAs(engine);
+		assertThat(mechanic.getCar()).isSameAs(car);
+
+		//唯一的有参构造器自动注入，@Lazy参数注入延迟解析代理
+		Workshop workshop = applicationContext.getBean("workshop", Workshop.class);
+		assertThat(workshop.getMechanic()).isSameAs(mechanic);
+		assertThat(Report.INIT_COUNT.get()).isEqualTo(0);
+		assertThat(workshop.getReport().getTitle()).isEqualTo("weekly");
+		assertThat(Report.INIT_COUNT.get()).isEqualTo(1);
+
+		//构造器参数同样计入依赖图
+		BeanDependencyGraph graph = BeanDependencyGraph.build(applicationContext.getBeanFactory());
+		assertThat(graph.getDependencies("car")).containsExactly("engine");
+		assertThat(graph.getDependencies("workshop")).containsExactly("mechanic", "report");
+
+		//构造器之间的循环依赖无法解决
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("first", partner("second"));
+		beanFactory.registerBeanDefinition("second", partner("first"));
+		assertThatThrownBy(() -> beanFactory.getBean("first")).isInstanceOf(BeansException.class);
+	}
+
+	private BeanDefinition partner(String other) {
+		BeanDefinition beanDefinition = new BeanDefinition(Partner.class);
+		beanDefinition.getConstructorArgumentValues().addArgumentValue(new ConstructorArgumentValues.ValueHolder(new BeanReference(other)));
+		return beanDefinition;
+	}
+}
@@ -0,0 +1,21 @@
+package org.springframework.testConstructorInjection.ioc.bean;
+
+public class Car {
+
+	private final Engine engine;
+
+	private final String owner;
+
+	public Car(Engine engine, String owner) {
+		this.engine = engine;
+		this.owner = owner;
+	}
+
+	public Engine getEngine() {
+		return engine;
+	}
+
+	public String getOwner() {
+		return owner;
+	}
+}
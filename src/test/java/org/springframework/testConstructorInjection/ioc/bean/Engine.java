@@ -0,0 +1,21 @@
+package org.springframework.testConstructorInjection.ioc.bean;
+
+public class Engine {
+
+	private final String model;
+
+	private final int cylinders;
+
+	public Engine(String model, int cylinders) {
+		this.model = model;
+		this.cylinders = cylinders;
+	}
+
+	public String getModel() {
+		return model;
+	}
+
+	public int getCylinders() {
+		return cylinders;
+	}
+}
@@ -0,0 +1,16 @@
+package org.springframework.testConstructorInjection.ioc.bean;
+
+import java.util.List;
+
+public class Itinerary {
+
+	private final List<String> stops;
+
+	public Itinerary(List<String> stops) {
+		this.stops = stops;
+	}
+
+	public List<String> getStops() {
+		return stops;
+	}
+}
@@ -0,0 +1,31 @@
+package org.springframework.testConstructorInjection.ioc.bean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+@Component
+public class Mechanic {
+
+	private final Engine engine;
+
+	private final Car car;
+
+	public Mechanic() {
+		this(null, null);
+	}
+
+	@Autowired
+	public Mechanic(@Qualifier("engine") Engine engine, Car car) {
+		this.engine = engine;
+		this.car = car;
+	}
+
+	public Engine getEngine() {
+		return engine;
+	}
+
+	public Car getCar() {
+		return car;
+	}
+}
@@ -0,0 +1,14 @@
+package org.springframework.testConstructorInjection.ioc.bean;
+
+public class Partner {
+
+	private final Partner other;
+
+	public Partner(Partner other) {
+		this.other = other;
+	}
+
+	public Partner getOther() {
+		return other;
+	}
+}
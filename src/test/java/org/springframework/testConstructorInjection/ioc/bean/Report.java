@@ -0,0 +1,18 @@
+package org.springframework.testConstructorInjection.ioc.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Report {
+
+	public static final AtomicInteger INIT_COUNT = new AtomicInteger();
+
+	private String title;
+
+	public void init() {
+		INIT_COUNT.incrementAndGet();
+	}
+
+	public String getTitle() {
+		return title;
+	}
+}
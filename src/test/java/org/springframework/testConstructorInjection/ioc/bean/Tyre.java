@@ -0,0 +1,24 @@
+package org.springframework.testConstructorInjection.ioc.bean;
+
+public class Tyre {
+
+	private String brand;
+
+	private int size;
+
+	public Tyre(String brand) {
+		this.brand = brand;
+	}
+
+	public Tyre(int size) {
+		this.size = size;
+	}
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public int getSize() {
+		return size;
+	}
+}
@@ -0,0 +1,25 @@
+package org.springframework.testConstructorInjection.ioc.bean;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+@Component
+public class Workshop {
+
+	private final Mechanic mechanic;
+
+	private final Report report;
+
+	public Workshop(Mechanic mechanic, @Lazy Report report) {
+		this.mechanic = mechanic;
+		this.report = report;
+	}
+
+	public Mechanic getMechanic() {
+		return mechanic;
+	}
+
+	public Report getReport() {
+		return report;
+	}
+}
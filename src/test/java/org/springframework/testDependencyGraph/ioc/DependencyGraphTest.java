@@ -0,0 +1,58 @@
+package org.springframework.testDependencyGraph.ioc;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import org.junit.Test;
+import org.springframework.beans.factory.support.BeanDependencyGraph;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DependencyGraphTest {
+
+	@Test
+	public void testDependencyGraph() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:testDependencyGraph/dependency-graph.xml");
+		BeanDependencyGraph graph = BeanDependencyGraph.build(beanFactory);
+
+		//只分析BeanDefinition，不会创建bean
+		assertThat(beanFactory.getSingletonNames()).isEmpty();
+
+		//ref引用与@Autowired/@Qualifier属性都会成为依赖
+		assertThat(graph.getDependencies("gateway")).containsExactly("orderService", "auditor");
+		assertThat(graph.getDependencies("auditor")).containsExactly("repository");
+		assertThat(graph.getDependents("repository")).containsExactlyInAnyOrder("orderService", "auditor", "ping");
+
+		//循环依赖
+		assertThat(graph.getCycles()).hasSize(1);
+		assertThat(graph.getCycles().get(0)).containsExactly("ping", "pong");
+
+		//依赖深度，循环依赖中的bean深度相同
+		assertThat(graph.getDepth("repository")).isEqualTo(1);
+		assertThat(graph.getDepth("orderService")).isEqualTo(2);
+		assertThat(graph.getDepth("gateway")).isEqualTo(3);
+		assertThat(graph.getDepth("ping")).isEqualTo(2);
+		assertThat(graph.getDepth("pong")).isEqualTo(2);
+		assertThat(graph.getMaxDepth()).isEqualTo(3);
+		assertThat(graph.getLongestPath()).containsExactly("repository", "orderService", "gateway");
+
+		//扇入扇出
+		assertThat(graph.getFanIn("repository")).isEqualTo(3);
+		assertThat(graph.getFanOut("gateway")).isEqualTo(2);
+		assertThat(graph.getHotspots(1)).containsExactly("repository");
+
+		//导出
+		String dot = graph.toDot();
+		assertThat(dot).startsWith("digraph beans {");
+		assertThat(dot).contains("\"gateway\" -> \"orderService\";");
+		assertThat(dot).contains("\"ping\" [label=\"ping (depth 2)\", color=red];");
+		JSONObject json = JSONUtil.parseObj(graph.toJson());
+		assertThat(json.getInt("maxDepth")).isEqualTo(3);
+		assertThat(json.getJSONArray("beans")).hasSize(6);
+		JSONArray cycles = json.getJSONArray("cycles");
+		assertThat(cycles.getJSONArray(0).toList(String.class)).containsExactly("ping", "pong");
+	}
+}
@@ -0,0 +1,15 @@
+package org.springframework.testDependencyGraph.ioc.bean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+public class Auditor {
+
+	@Autowired
+	@Qualifier("repository")
+	private Repository repository;
+
+	public Repository getRepository() {
+		return repository;
+	}
+}
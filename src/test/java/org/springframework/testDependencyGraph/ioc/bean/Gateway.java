@@ -0,0 +1,19 @@
+package org.springframework.testDependencyGraph.ioc.bean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class Gateway {
+
+	private OrderService orderService;
+
+	@Autowired
+	private Auditor auditor;
+
+	public OrderService getOrderService() {
+		return orderService;
+	}
+
+	public Auditor getAuditor() {
+		return auditor;
+	}
+}
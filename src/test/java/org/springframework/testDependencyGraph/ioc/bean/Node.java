@@ -0,0 +1,16 @@
+package org.springframework.testDependencyGraph.ioc.bean;
+
+public class Node {
+
+	private Node partner;
+
+	private Repository repository;
+
+	public Node getPartner() {
+		return partner;
+	}
+
+	public Repository getRepository() {
+		return repository;
+	}
+}
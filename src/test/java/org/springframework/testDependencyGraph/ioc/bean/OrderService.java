@@ -0,0 +1,10 @@
+package org.springframework.testDependencyGraph.ioc.bean;
+
+public class OrderService {
+
+	private Repository repository;
+
+	public Repository getRepository() {
+		return repository;
+	}
+}
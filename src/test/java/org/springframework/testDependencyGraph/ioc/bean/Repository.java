@@ -0,0 +1,4 @@
+package org.springframework.testDependencyGraph.ioc.bean;
+
+public class Repository {
+}
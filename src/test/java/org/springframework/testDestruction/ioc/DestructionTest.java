@@ -0,0 +1,63 @@
+package org.springframework.testDestruction.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.DestructionReport;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testDestruction.ioc.bean.Pool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DestructionTest {
+
+	@Test
+	public void testDestruction() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		AtomicReference<DefaultListableBeanFactory> factory = new AtomicReference<>();
+		try {
+			ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testDestruction/destruction.xml") {
+				@Override
+				protected DefaultListableBeanFactory createBeanFactory() {
+					DefaultListableBeanFactory beanFactory = super.createBeanFactory();
+					beanFactory.setDestructionExecutor(executor);
+					beanFactory.setBeanDestroyTimeout(1, TimeUnit.SECONDS);
+					factory.set(beanFactory);
+					return beanFactory;
+				}
+			};
+
+			//注入时登记依赖关系，关闭时无需重新分析全部BeanDefinition
+			assertThat(factory.get().getDependentBeans("database")).containsExactly("service");
+			assertThat(factory.get().getDependentBeans("cache")).containsExactly("service");
+			assertThat(factory.get().getDependentBeans("service")).isEmpty();
+
+			//失败和超时的bean不会中断其他bean的销毁，全部结束后统一抛出异常
+			long start = System.nanoTime();
+			assertThatThrownBy(applicationContext::close).isInstanceOf(BeansException.class)
+					.hasMessageContaining("broken").hasMessageContaining("stuck");
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+
+			DestructionReport report = applicationContext.getDestructionReport();
+			assertThat(report.getDurations()).containsKeys("database", "cache", "service", "broken");
+			assertThat(report.getFailures()).containsOnlyKeys("broken");
+			assertThat(report.getTimedOutBeans()).containsExactly("stuck");
+			assertThat(report.getSkippedBeans()).isEmpty();
+
+			//依赖方先于被依赖方销毁，互不依赖的bean并发销毁
+			long serviceEnd = Pool.DESTROY_TIMES.get("service")[1];
+			assertThat(Pool.DESTROY_TIMES.get("database")[0]).isGreaterThanOrEqualTo(serviceEnd);
+			assertThat(Pool.DESTROY_TIMES.get("cache")[0]).isGreaterThanOrEqualTo(serviceEnd);
+			assertThat(Pool.MAX_RUNNING.get()).isGreaterThan(1);
+			assertThat(TimeUnit.NANOSECONDS.toMillis(report.getDurations().get("database"))).isGreaterThanOrEqualTo(300);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
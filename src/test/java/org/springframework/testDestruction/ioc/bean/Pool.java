@@ -0,0 +1,46 @@
+package org.springframework.testDestruction.ioc.bean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Pool {
+
+	public static final Map<String, long[]> DESTROY_TIMES = new ConcurrentHashMap<>();
+
+	public static final AtomicInteger RUNNING = new AtomicInteger();
+
+	public static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+
+	private String name;
+
+	private long delayMillis;
+
+	private boolean fail;
+
+	private Pool upstream;
+
+	private Pool secondary;
+
+	public void close() throws Exception {
+		long start = System.nanoTime();
+		MAX_RUNNING.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+		try {
+			if (fail) {
+				throw new IllegalStateException(name + " cannot be closed");
+			}
+			Thread.sleep(delayMillis);
+		} finally {
+			RUNNING.decrementAndGet();
+			DESTROY_TIMES.put(name, new long[]{start, System.nanoTime()});
+		}
+	}
+
+	public Pool getUpstream() {
+		return upstream;
+	}
+
+	public Pool getSecondary() {
+		return secondary;
+	}
+}
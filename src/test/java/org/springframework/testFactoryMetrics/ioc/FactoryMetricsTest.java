@@ -0,0 +1,97 @@
+package org.springframework.testFactoryMetrics.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.core.metrics.BeanFactoryMetrics;
+import org.springframework.core.metrics.LatencyHistogram;
+import org.springframework.core.metrics.SimpleBeanFactoryMetrics;
+import org.springframework.testFactoryMetrics.ioc.bean.Car;
+import org.springframework.testFactoryMetrics.ioc.bean.Part;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FactoryMetricsTest {
+
+	@Test
+	public void testFactoryMetrics() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:testFactoryMetrics/factory-metrics.xml");
+
+		//默认不记录任何指标
+		assertThat(beanFactory.getBeanFactoryMetrics()).isSameAs(BeanFactoryMetrics.DEFAULT);
+		assertThat(beanFactory.getBeanFactoryMetrics().isEnabled()).isFalse();
+		assertThatThrownBy(() -> beanFactory.setBeanFactoryMetrics(null)).isInstanceOf(IllegalArgumentException.class);
+
+		SimpleBeanFactoryMetrics metrics = new SimpleBeanFactoryMetrics();
+		beanFactory.setBeanFactoryMetrics(metrics);
+
+		//car和engine循环依赖，engine通过提前暴露的引用拿到car
+		Car car = beanFactory.getBean("car", Car.class);
+		assertThat(car.getEngine().getCar()).isSameAs(car);
+		assertThat(metrics.getSingletonCreations()).isEqualTo(2);
+		assertThat(metrics.getEarlyReferenceResolutions()).isEqualTo(1);
+		assertThat(metrics.getSingletonCacheHits()).isEqualTo(0);
+		assertThat(beanFactory.getBean("car")).isSameAs(car);
+		assertThat(metrics.getSingletonCacheHits()).isEqualTo(1);
+
+		//car的创建耗时包括创建engine的时间
+		LatencyHistogram carLatency = metrics.getCreationLatency("car");
+		assertThat(carLatency.getCount()).isEqualTo(1);
+		assertThat(carLatency.getMaxNanos()).isGreaterThanOrEqualTo(metrics.getCreationLatency("engine").getMaxNanos());
+		assertThat(carLatency.getPercentileNanos(0.99)).isGreaterThanOrEqualTo(carLatency.getMaxNanos());
+		assertThat(metrics.getCreationLatency("wheel")).isNull();
+
+		//原型bean按bean名称统计创建次数
+		for (int i = 0; i < 3; i++) {
+			beanFactory.getBean("wheel");
+		}
+		assertThat(metrics.getPrototypeCreations()).isEqualTo(3);
+		assertThat(metrics.getPrototypeCreationsByBean()).containsOnlyKeys("wheel").containsEntry("wheel", 3L);
+		assertThat(metrics.getCreationCount("wheel")).isEqualTo(3);
+
+		//单例FactoryBean只调用一次getObject，之后从缓存中获取
+		Part part = beanFactory.getBean("part", Part.class);
+		assertThat(beanFactory.getBean("part")).isSameAs(part);
+		assertThat(metrics.getFactoryBeanObjectCreations()).isEqualTo(1);
+		assertThat(metrics.getFactoryBeanObjectCacheHits()).isEqualTo(1);
+		assertThat(metrics.getSingletonCreations()).isEqualTo(3);
+
+		//冻结后的查找表区分普通单例和FactoryBean产生的对象
+		long singletonCacheHits = metrics.getSingletonCacheHits();
+		beanFactory.freezeConfiguration();
+		assertThat(metrics.getFactoryBeanObjectCacheHits()).isEqualTo(1);
+		assertThat(beanFactory.getBean("part")).isSameAs(part);
+		assertThat(beanFactory.getBean("car")).isSameAs(car);
+		assertThat(metrics.getFactoryBeanObjectCacheHits()).isEqualTo(2);
+		assertThat(metrics.getSingletonCacheHits()).isEqualTo(singletonCacheHits + 1);
+
+		//注册为MBean后可以通过JMX读取
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = metrics.registerMBean(new ObjectName("org.springframework:type=BeanFactoryMetrics,name=testFactoryMetrics"));
+		try {
+			assertThat(server.isRegistered(objectName)).isTrue();
+			assertThat(server.getAttribute(objectName, "SingletonCreations")).isEqualTo(3L);
+			assertThat(server.getAttribute(objectName, "PrototypeCreations")).isEqualTo(3L);
+			assertThat(server.invoke(objectName, "getCreationCount", new Object[]{"wheel"}, new String[]{String.class.getName()})).isEqualTo(3L);
+			//按bean统计的创建次数以开放类型导出
+			TabularData prototypeCreations = (TabularData) server.getAttribute(objectName, "PrototypeCreationsTable");
+			assertThat(prototypeCreations.size()).isEqualTo(1);
+			CompositeData wheel = prototypeCreations.get(new Object[]{"wheel"});
+			assertThat(wheel.get("creations")).isEqualTo(3L);
+			server.invoke(objectName, "reset", null, null);
+			assertThat(metrics.getPrototypeCreations()).isEqualTo(0);
+			assertThat(metrics.getCreationLatency("car")).isNull();
+		} finally {
+			metrics.unregisterMBean();
+		}
+		assertThat(server.isRegistered(objectName)).isFalse();
+	}
+}
@@ -0,0 +1,10 @@
+package org.springframework.testFactoryMetrics.ioc.bean;
+
+public class Car {
+
+	private Engine engine;
+
+	public Engine getEngine() {
+		return engine;
+	}
+}
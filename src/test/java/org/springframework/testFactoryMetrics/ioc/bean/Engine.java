@@ -0,0 +1,10 @@
+package org.springframework.testFactoryMetrics.ioc.bean;
+
+public class Engine {
+
+	private Car car;
+
+	public Car getCar() {
+		return car;
+	}
+}
@@ -0,0 +1,16 @@
+package org.springframework.testFactoryMetrics.ioc.bean;
+
+import org.springframework.beans.factory.FactoryBean;
+
+public class PartFactoryBean implements FactoryBean<Part> {
+
+	@Override
+	public Part getObject() throws Exception {
+		return new Part();
+	}
+
+	@Override
+	public boolean isSingleton() {
+		return true;
+	}
+}
@@ -0,0 +1,4 @@
+package org.springframework.testFactoryMetrics.ioc.bean;
+
+public class Wheel {
+}
@@ -0,0 +1,70 @@
+package org.springframework.testFrozenConfiguration.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testFrozenConfiguration.ioc.bean.Connection;
+import org.springframework.testFrozenConfiguration.ioc.bean.Registry;
+import org.springframework.testFrozenConfiguration.ioc.bean.Session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FrozenConfigurationTest {
+
+	@Test
+	public void testFrozenConfiguration() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testFrozenConfiguration/frozen-configuration.xml");
+		DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) applicationContext.getBeanFactory();
+		assertThat(beanFactory.isConfigurationFrozen()).isTrue();
+
+		//冻结后直接从查找表返回已创建的单例，FactoryBean返回其产生的对象
+		Registry registry = applicationContext.getBean("registry", Registry.class);
+		assertThat(registry.getRegion()).isEqualTo("east");
+		assertThat(applicationContext.getBean("registry")).isSameAs(registry);
+		Connection connection = applicationContext.getBean("connection", Connection.class);
+		assertThat(connection.getUrl()).isEqualTo("jdbc:h2:mem:frozen");
+		assertThat(registry.getConnection()).isSameAs(connection);
+		assertThat(beanFactory.getBeanNamesForType(Registry.class)).containsExactlyInAnyOrder("registry", "lazyRegistry");
+
+		//原型bean和懒加载的单例不在查找表中，仍按原有方式创建
+		Session session = applicationContext.getBean("session", Session.class);
+		assertThat(session).isNotSameAs(applicationContext.getBean("session"));
+		assertThat(session.getRegistry()).isSameAs(registry);
+		Registry lazyRegistry = applicationContext.getBean("lazyRegistry", Registry.class);
+		assertThat(lazyRegistry.getRegion()).isEqualTo("west");
+		assertThat(applicationContext.getBean("lazyRegistry")).isSameAs(lazyRegistry);
+
+		//冻结后不允许修改配置
+		assertThatThrownBy(() -> beanFactory.registerBeanDefinition("other", new BeanDefinition(Registry.class)))
+				.isInstanceOf(BeansException.class);
+		assertThat(beanFactory.containsBeanDefinition("other")).isFalse();
+		assertThatThrownBy(() -> beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+				return bean;
+			}
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+				return bean;
+			}
+		})).isInstanceOf(BeansException.class);
+		assertThatThrownBy(() -> beanFactory.addSingleton("registry", new Registry()))
+				.isInstanceOf(BeansException.class);
+		assertThat(applicationContext.getBean("registry")).isSameAs(registry);
+
+		//关闭后查找表失效
+		applicationContext.close();
+		assertThat(beanFactory.isConfigurationFrozen()).isFalse();
+
+		//关闭后注册的bean可以通过名称、类型和ObjectProvider查找到
+		beanFactory.registerBeanDefinition("other", new BeanDefinition(Session.class));
+		assertThat(beanFactory.getBeanDefinitionNames()).contains("other", "registry");
+		assertThat(beanFactory.getBeanNamesForType(Session.class)).containsExactlyInAnyOrder("session", "other");
+		assertThat(beanFactory.getBeanProvider(Session.class).stream()).hasSize(2);
+	}
+}
@@ -0,0 +1,14 @@
+package org.springframework.testFrozenConfiguration.ioc.bean;
+
+public class Connection {
+
+	private final String url;
+
+	public Connection(String url) {
+		this.url = url;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+}
@@ -0,0 +1,18 @@
+package org.springframework.testFrozenConfiguration.ioc.bean;
+
+import org.springframework.beans.factory.FactoryBean;
+
+public class ConnectionFactoryBean implements FactoryBean<Connection> {
+
+	private String url;
+
+	@Override
+	public Connection getObject() throws Exception {
+		return new Connection(url);
+	}
+
+	@Override
+	public boolean isSingleton() {
+		return true;
+	}
+}
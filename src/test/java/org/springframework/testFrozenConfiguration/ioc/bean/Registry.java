@@ -0,0 +1,16 @@
+package org.springframework.testFrozenConfiguration.ioc.bean;
+
+public class Registry {
+
+	private String region;
+
+	private Connection connection;
+
+	public String getRegion() {
+		return region;
+	}
+
+	public Connection getConnection() {
+		return connection;
+	}
+}
@@ -0,0 +1,10 @@
+package org.springframework.testFrozenConfiguration.ioc.bean;
+
+public class Session {
+
+	private Registry registry;
+
+	public Registry getRegistry() {
+		return registry;
+	}
+}
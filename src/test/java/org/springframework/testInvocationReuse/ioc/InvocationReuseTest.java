@@ -0,0 +1,52 @@
+package org.springframework.testInvocationReuse.ioc;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Test;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.testInvocationReuse.ioc.bean.Counter;
+import org.springframework.testInvocationReuse.ioc.bean.RecordingInterceptor;
+import org.springframework.testInvocationReuse.ioc.bean.RecursiveCounter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvocationReuseTest {
+
+	@Test
+	public void testInvocationReuse() throws Throwable {
+		for (boolean proxyTargetClass : new boolean[]{false, true}) {
+			RecursiveCounter target = new RecursiveCounter();
+			RecordingInterceptor interceptor = new RecordingInterceptor();
+			Counter proxy = createProxy(target, interceptor, proxyTargetClass);
+			target.setSelf(proxy);
+
+			//嵌套调用每一层使用各自的调用对象，超过复用深度时创建新的调用对象
+			assertThat(proxy.countDown(3)).isEqualTo(3);
+			assertThat(interceptor.getArguments()).containsExactly(0, 1, 2, 3);
+			assertThat(proxy.countDown(20)).isEqualTo(20);
+			assertThat(interceptor.getArguments()).hasSize(25);
+			assertThat(interceptor.getArguments().get(24)).isEqualTo(20);
+
+			//复制的调用对象在调用结束后仍然可以执行
+			assertThat(proxy.echo("retain")).isEqualTo("retain");
+			assertThat(proxy.echo("other")).isEqualTo("other");
+			MethodInvocation retained = interceptor.getRetained();
+			assertThat(retained.getArguments()).containsExactly("retain");
+			assertThat(retained.getThis()).isSameAs(target);
+			assertThat(retained.proceed()).isEqualTo("retain");
+		}
+	}
+
+	private Counter createProxy(Counter target, RecordingInterceptor interceptor, boolean proxyTargetClass) {
+		AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+		advisor.setExpression("execution(* org.springframework.testInvocationReuse.ioc.bean.Counter.*(..))");
+		advisor.setAdvice(interceptor);
+		ProxyFactory proxyFactory = new ProxyFactory();
+		proxyFactory.setTargetSource(new TargetSource(target));
+		proxyFactory.setProxyTargetClass(proxyTargetClass);
+		proxyFactory.addAdvisor(advisor);
+		proxyFactory.setFrozen(true);
+		return (Counter) proxyFactory.getProxy();
+	}
+}
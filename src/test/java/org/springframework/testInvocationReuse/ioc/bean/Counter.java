@@ -0,0 +1,8 @@
+package org.springframework.testInvocationReuse.ioc.bean;
+
+public interface Counter {
+
+	int countDown(int value);
+
+	String echo(String value);
+}
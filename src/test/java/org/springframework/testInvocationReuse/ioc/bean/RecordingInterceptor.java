@@ -0,0 +1,42 @@
+package org.springframework.testInvocationReuse.ioc.bean;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ReflectiveMethodInvocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecordingInterceptor implements MethodInterceptor {
+
+	private final List<Object> arguments = new ArrayList<>();
+
+	private MethodInvocation retained;
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Object argument = invocation.getArguments()[0];
+		Object result = invocation.proceed();
+		// 返回前读取参数，嵌套调用不能改变外层调用对象的状态
+		assertSame(argument, invocation.getArguments()[0]);
+		arguments.add(argument);
+		if ("retain".equals(argument)) {
+			retained = ((ReflectiveMethodInvocation) invocation).invocableClone();
+		}
+		return result;
+	}
+
+	private static void assertSame(Object expected, Object actual) {
+		if (expected != actual) {
+			throw new IllegalStateException("Invocation changed from " + expected + " to " + actual);
+		}
+	}
+
+	public List<Object> getArguments() {
+		return arguments;
+	}
+
+	public MethodInvocation getRetained() {
+		return retained;
+	}
+}
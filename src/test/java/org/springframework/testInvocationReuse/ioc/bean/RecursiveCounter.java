@@ -0,0 +1,21 @@
+package org.springframework.testInvocationReuse.ioc.bean;
+
+public class RecursiveCounter implements Counter {
+
+	private Counter self;
+
+	@Override
+	public int countDown(int value) {
+		// 通过代理递归调用，每一层都经过拦截器链
+		return value == 0 ? 0 : self.countDown(value - 1) + 1;
+	}
+
+	@Override
+	public String echo(String value) {
+		return value;
+	}
+
+	public void setSelf(Counter self) {
+		this.self = self;
+	}
+}
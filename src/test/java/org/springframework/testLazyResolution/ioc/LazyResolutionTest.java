@@ -0,0 +1,66 @@
+package org.springframework.testLazyResolution.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testLazyResolution.ioc.bean.Archive;
+import org.springframework.testLazyResolution.ioc.bean.Auditor;
+import org.springframework.testLazyResolution.ioc.bean.Clock;
+import org.springframework.testLazyResolution.ioc.bean.Dashboard;
+import org.springframework.testLazyResolution.ioc.bean.HeavyReportService;
+import org.springframework.testLazyResolution.ioc.bean.OrderController;
+import org.springframework.testLazyResolution.ioc.bean.ReportService;
+
+import java.lang.reflect.Proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyResolutionTest {
+
+	@Test
+	public void testLazyResolution() throws Exception {
+		HeavyReportService.INIT_COUNT.set(0);
+		Archive.INIT_COUNT.set(0);
+		Auditor.INIT_COUNT.set(0);
+		Clock.INIT_COUNT.set(0);
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testLazyResolution/lazy-resolution.xml");
+
+		//被非懒加载bean引用的懒加载bean在启动时不会被创建
+		Dashboard dashboard = applicationContext.getBean("dashboard", Dashboard.class);
+		OrderController controller = applicationContext.getBean("orderController", OrderController.class);
+		assertThat(HeavyReportService.INIT_COUNT.get()).isEqualTo(0);
+		assertThat(Archive.INIT_COUNT.get()).isEqualTo(0);
+		assertThat(Auditor.INIT_COUNT.get()).isEqualTo(0);
+		assertThat(Clock.INIT_COUNT.get()).isEqualTo(0);
+
+		//同一个单例以相同类型注入时共享一个延迟解析代理
+		ConfigurableListableBeanFactory beanFactory = applicationContext.getBeanFactory();
+		assertThat(beanFactory.resolveDependency("reportService", ReportService.class, false)).isSameAs(dashboard.getReportService());
+		assertThat(beanFactory.resolveDependency("archive", Archive.class, true)).isSameAs(dashboard.getArchive());
+		assertThat(HeavyReportService.INIT_COUNT.get()).isEqualTo(0);
+
+		//接口类型的注入点使用JDK代理，第一次调用方法时创建真正的bean
+		assertThat(Proxy.isProxyClass(dashboard.getReportService().getClass())).isTrue();
+		assertThat(dashboard.getReportService().render()).isEqualTo("report:monthly");
+		assertThat(dashboard.getReportService().render()).isEqualTo("report:monthly");
+		assertThat(HeavyReportService.INIT_COUNT.get()).isEqualTo(1);
+		applicationContext.getBean("reportService");
+		assertThat(HeavyReportService.INIT_COUNT.get()).isEqualTo(1);
+
+		//类类型的注入点使用CGLIB代理
+		assertThat(dashboard.getArchive().getClass()).isNotEqualTo(Archive.class);
+		assertThat(dashboard.getArchive().size()).isEqualTo(42);
+		assertThat(Archive.INIT_COUNT.get()).isEqualTo(1);
+
+		//@Lazy标注的类以及@Lazy标注的注入点
+		assertThat(controller.getAuditor().audit("pay")).isEqualTo("audited:pay");
+		assertThat(Auditor.INIT_COUNT.get()).isEqualTo(1);
+		assertThat(controller.getClock().now()).isEqualTo(1L);
+		assertThat(controller.getClock().now()).isEqualTo(1L);
+		assertThat(Clock.INIT_COUNT.get()).isEqualTo(1);
+
+		//懒加载bean已经创建后，直接注入真正的bean
+		assertThat(beanFactory.resolveDependency("reportService", HeavyReportService.class, false))
+				.isSameAs(applicationContext.getBean("reportService"));
+	}
+}
@@ -0,0 +1,16 @@
+package org.springframework.testLazyResolution.ioc.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Archive {
+
+	public static final AtomicInteger INIT_COUNT = new AtomicInteger();
+
+	public void init() {
+		INIT_COUNT.incrementAndGet();
+	}
+
+	public int size() {
+		return 42;
+	}
+}
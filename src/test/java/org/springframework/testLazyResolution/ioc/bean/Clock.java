@@ -0,0 +1,23 @@
+package org.springframework.testLazyResolution.ioc.bean;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Scope("prototype")
+public class Clock implements InitializingBean {
+
+	public static final AtomicInteger INIT_COUNT = new AtomicInteger();
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		INIT_COUNT.incrementAndGet();
+	}
+
+	public long now() {
+		return 1L;
+	}
+}
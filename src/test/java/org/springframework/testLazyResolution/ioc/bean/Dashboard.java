@@ -0,0 +1,16 @@
+package org.springframework.testLazyResolution.ioc.bean;
+
+public class Dashboard {
+
+	private ReportService reportService;
+
+	private Archive archive;
+
+	public ReportService getReportService() {
+		return reportService;
+	}
+
+	public Archive getArchive() {
+		return archive;
+	}
+}
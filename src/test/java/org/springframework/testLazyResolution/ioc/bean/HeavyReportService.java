@@ -0,0 +1,19 @@
+package org.springframework.testLazyResolution.ioc.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HeavyReportService implements ReportService {
+
+	public static final AtomicInteger INIT_COUNT = new AtomicInteger();
+
+	private String title;
+
+	public void init() {
+		INIT_COUNT.incrementAndGet();
+	}
+
+	@Override
+	public String render() {
+		return "report:" + title;
+	}
+}
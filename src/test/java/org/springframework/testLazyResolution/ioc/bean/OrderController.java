@@ -0,0 +1,24 @@
+package org.springframework.testLazyResolution.ioc.bean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderController {
+
+	@Autowired
+	private Auditor auditor;
+
+	@Lazy
+	@Autowired
+	private Clock clock;
+
+	public Auditor getAuditor() {
+		return auditor;
+	}
+
+	public Clock getClock() {
+		return clock;
+	}
+}
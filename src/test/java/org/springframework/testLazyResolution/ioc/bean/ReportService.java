@@ -0,0 +1,6 @@
+package org.springframework.testLazyResolution.ioc.bean;
+
+public interface ReportService {
+
+	String render();
+}
@@ -0,0 +1,68 @@
+package org.springframework.testMethodCache.ioc;
+
+import org.junit.Test;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.testMethodCache.ioc.bean.ExclaimInterceptor;
+import org.springframework.testMethodCache.ioc.bean.GreetingService;
+import org.springframework.testMethodCache.ioc.bean.GreetingServiceImpl;
+import org.springframework.testMethodCache.ioc.bean.UpperCaseInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MethodCacheTest {
+
+	@Test
+	public void testOverloadedMethods() throws Exception {
+		for (boolean proxyTargetClass : new boolean[]{false, true}) {
+			ProxyFactory proxyFactory = createProxyFactory(proxyTargetClass);
+			GreetingService proxy = (GreetingService) proxyFactory.getProxy();
+
+			//重载的方法各自使用自己的拦截器链
+			for (int i = 0; i < 2; i++) {
+				assertThat(proxy.greet("derek")).isEqualTo("HELLO DEREK");
+				assertThat(proxy.greet("derek", "hi")).isEqualTo("hi derek");
+			}
+		}
+	}
+
+	@Test
+	public void testMethodCache() throws Exception {
+		ProxyFactory proxyFactory = createProxyFactory(false);
+		GreetingService proxy = (GreetingService) proxyFactory.getProxy();
+		Method greet = GreetingService.class.getMethod("greet", String.class);
+
+		//缓存的拦截器链不可修改，重复获取返回同一个链
+		List<Object> chain = proxyFactory.getInterceptorsAndDynamicInterceptionAdvice(greet, GreetingServiceImpl.class);
+		assertThat(chain).hasSize(1);
+		assertThat(proxyFactory.getInterceptorsAndDynamicInterceptionAdvice(greet, GreetingServiceImpl.class)).isSameAs(chain);
+		assertThatThrownBy(() -> chain.add(new ExclaimInterceptor())).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> proxyFactory.getAdvisors().clear()).isInstanceOf(UnsupportedOperationException.class);
+
+		//添加advisor后缓存失效
+		assertThat(proxy.greet("derek", "hi")).isEqualTo("hi derek");
+		AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+		advisor.setExpression("execution(* org.springframework.testMethodCache.ioc.bean.GreetingService.greet(..))");
+		advisor.setAdvice(new ExclaimInterceptor());
+		proxyFactory.addAdvisor(advisor);
+		assertThat(proxyFactory.getInterceptorsAndDynamicInterceptionAdvice(greet, GreetingServiceImpl.class)).hasSize(2);
+		assertThat(proxy.greet("derek", "hi")).isEqualTo("hi derek!");
+		assertThat(proxy.greet("derek")).isEqualTo("HELLO DEREK!");
+	}
+
+	private ProxyFactory createProxyFactory(boolean proxyTargetClass) {
+		AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+		advisor.setExpression("execution(* org.springframework.testMethodCache.ioc.bean.GreetingService.greet(String))");
+		advisor.setAdvice(new UpperCaseInterceptor());
+		ProxyFactory proxyFactory = new ProxyFactory();
+		proxyFactory.setTargetSource(new TargetSource(new GreetingServiceImpl()));
+		proxyFactory.setProxyTargetClass(proxyTargetClass);
+		proxyFactory.addAdvisor(advisor);
+		return proxyFactory;
+	}
+}
@@ -0,0 +1,12 @@
+package org.springframework.testMethodCache.ioc.bean;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+public class ExclaimInterceptor implements MethodInterceptor {
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		return invocation.proceed() + "!";
+	}
+}
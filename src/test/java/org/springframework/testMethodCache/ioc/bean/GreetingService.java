@@ -0,0 +1,8 @@
+package org.springframework.testMethodCache.ioc.bean;
+
+public interface GreetingService {
+
+	String greet(String name);
+
+	String greet(String name, String greeting);
+}
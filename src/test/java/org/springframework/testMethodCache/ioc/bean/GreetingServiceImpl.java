@@ -0,0 +1,14 @@
+package org.springframework.testMethodCache.ioc.bean;
+
+public class GreetingServiceImpl implements GreetingService {
+
+	@Override
+	public String greet(String name) {
+		return "hello " + name;
+	}
+
+	@Override
+	public String greet(String name, String greeting) {
+		return greeting + " " + name;
+	}
+}
@@ -0,0 +1,58 @@
+package org.springframework.testObjectProvider.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testObjectProvider.ioc.bean.Clerk;
+import org.springframework.testObjectProvider.ioc.bean.Counter;
+import org.springframework.testObjectProvider.ioc.bean.Desk;
+import org.springframework.testObjectProvider.ioc.bean.LaserPrinter;
+import org.springframework.testObjectProvider.ioc.bean.Printer;
+import org.springframework.testObjectProvider.ioc.bean.Stamp;
+import org.springframework.testObjectProvider.ioc.bean.Ticket;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ObjectProviderTest {
+
+	@Test
+	public void testObjectProvider() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testObjectProvider/object-provider.xml");
+		Clerk clerk = applicationContext.getBean("clerk", Clerk.class);
+
+		//原型bean每次获取都新建，单例bean返回同一个实例
+		Ticket ticket = clerk.getTickets().getObject();
+		assertThat(ticket).isNotNull().isNotSameAs(clerk.getTickets().getObject());
+		assertThat(clerk.getCounter().getObject()).isSameAs(applicationContext.getBean("counter"));
+
+		//可选的依赖
+		assertThat(clerk.getPrinters().getIfAvailable()).isNull();
+		assertThat(clerk.getPrinters().getIfUnique()).isNull();
+		assertThat(clerk.getPrinters().stream().count()).isEqualTo(0);
+		assertThatThrownBy(() -> clerk.getPrinters().getObject()).isInstanceOf(BeansException.class);
+
+		//多个候选bean
+		assertThat(clerk.getStamps().getIfUnique()).isNull();
+		assertThatThrownBy(() -> clerk.getStamps().getIfAvailable()).isInstanceOf(BeansException.class);
+		assertThat(clerk.getStamps().stream().map(Stamp::getColor).collect(Collectors.toList()))
+				.containsExactlyInAnyOrder("red", "blue");
+
+		//构造器参数同样可以注入
+		Desk desk = applicationContext.getBean("desk", Desk.class);
+		assertThat(desk.issue()).isNotSameAs(desk.issue());
+
+		//注册新的BeanDefinition后重新解析候选bean
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		ObjectProvider<Printer> printers = beanFactory.getBeanProvider(Printer.class);
+		assertThat(printers.getIfAvailable()).isNull();
+		beanFactory.registerBeanDefinition("printer", new BeanDefinition(LaserPrinter.class));
+		assertThat(printers.getIfAvailable()).isInstanceOf(LaserPrinter.class);
+		assertThat(applicationContext.getBeanProvider(Counter.class).getObject()).isSameAs(clerk.getCounter().getObject());
+	}
+}
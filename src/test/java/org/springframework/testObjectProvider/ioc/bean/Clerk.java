@@ -0,0 +1,38 @@
+package org.springframework.testObjectProvider.ioc.bean;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class Clerk {
+
+	@Autowired
+	private ObjectProvider<Ticket> tickets;
+
+	@Autowired
+	private ObjectFactory<Counter> counter;
+
+	@Autowired
+	private ObjectProvider<Printer> printers;
+
+	@Autowired
+	private ObjectProvider<Stamp> stamps;
+
+	public ObjectProvider<Ticket> getTickets() {
+		return tickets;
+	}
+
+	public ObjectFactory<Counter> getCounter() {
+		return counter;
+	}
+
+	public ObjectProvider<Printer> getPrinters() {
+		return printers;
+	}
+
+	public ObjectProvider<Stamp> getStamps() {
+		return stamps;
+	}
+}
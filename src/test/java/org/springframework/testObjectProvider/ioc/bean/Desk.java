@@ -0,0 +1,18 @@
+package org.springframework.testObjectProvider.ioc.bean;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+public class Desk {
+
+	private final ObjectProvider<Ticket> tickets;
+
+	public Desk(ObjectProvider<Ticket> tickets) {
+		this.tickets = tickets;
+	}
+
+	public Ticket issue() {
+		return tickets.getObject();
+	}
+}
@@ -0,0 +1,4 @@
+package org.springframework.testObjectProvider.ioc.bean;
+
+public class LaserPrinter implements Printer {
+}
@@ -0,0 +1,10 @@
+package org.springframework.testObjectProvider.ioc.bean;
+
+public class Stamp {
+
+	private String color;
+
+	public String getColor() {
+		return color;
+	}
+}
@@ -0,0 +1,116 @@
+package org.springframework.testParallelPreInstantiation.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupTimeline;
+import org.springframework.testParallelPreInstantiation.ioc.bean.Aggregator;
+import org.springframework.testParallelPreInstantiation.ioc.bean.LookupInitBean;
+import org.springframework.testParallelPreInstantiation.ioc.bean.SlowInitBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelPreInstantiationTest {
+
+	@Test
+	public void testParallelPreInstantiation() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testParallelPreInstantiation/parallel-pre-instantiation.xml") {
+				@Override
+				protected DefaultListableBeanFactory createBeanFactory() {
+					DefaultListableBeanFactory beanFactory = super.createBeanFactory();
+					beanFactory.setPreInstantiationExecutor(executor);
+					return beanFactory;
+				}
+			};
+
+			//互不依赖的bean并发初始化
+			assertThat(SlowInitBean.MAX_RUNNING.get()).isGreaterThan(1);
+
+			//依赖的bean在被依赖方初始化之前已经初始化完成
+			Aggregator aggregator = applicationContext.getBean("aggregator", Aggregator.class);
+			assertThat(aggregator.isDependenciesInitialized()).isTrue();
+
+			//循环依赖仍然可以解决
+			SlowInitBean third = applicationContext.getBean("third", SlowInitBean.class);
+			SlowInitBean fourth = applicationContext.getBean("fourth", SlowInitBean.class);
+			assertThat(third.getPartner()).isSameAs(fourth);
+			assertThat(fourth.getPartner()).isSameAs(third);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testStartupStepsInExecutor() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1024);
+			ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(
+					new String[]{"classpath:testParallelPreInstantiation/parallel-pre-instantiation.xml"}, false) {
+				@Override
+				protected DefaultListableBeanFactory createBeanFactory() {
+					DefaultListableBeanFactory beanFactory = super.createBeanFactory();
+					beanFactory.setPreInstantiationExecutor(executor);
+					return beanFactory;
+				}
+			};
+			applicationContext.setApplicationStartup(applicationStartup);
+			applicationContext.refresh();
+
+			//线程池中创建bean的步骤挂在发起线程的步骤之下，所有步骤都能追溯到refresh
+			StartupTimeline timeline = applicationStartup.getTimeline();
+			Map<Long, StartupTimeline.StepRecord> steps = timeline.getSteps().stream()
+					.collect(Collectors.toMap(StartupTimeline.StepRecord::getId, Function.identity()));
+			assertThat(timeline.getSteps()).filteredOn(step -> step.getParentId() == null)
+					.extracting(StartupTimeline.StepRecord::getName).containsExactly("context.refresh");
+			assertThat(timeline.getSteps()).filteredOn(step -> "beans.pre-instantiate.component".equals(step.getName()))
+					.allMatch(step -> "beans.pre-instantiate.parallel".equals(steps.get(step.getParentId()).getName()))
+					.anyMatch(step -> !step.getThreadName().equals(Thread.currentThread().getName()));
+
+			//关键路径经过并行创建，以bean的创建步骤结束
+			List<String> criticalPath = timeline.getCriticalPath().stream()
+					.map(StartupTimeline.StepRecord::getName).collect(Collectors.toList());
+			assertThat(criticalPath).containsSubsequence("context.refresh", "context.beans.pre-instantiate",
+					"beans.pre-instantiate.parallel", "beans.pre-instantiate.component", StartupTimeline.BEAN_INSTANTIATE_STEP);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testRuntimeCycleAcrossComponents() throws Exception {
+		LookupInitBean.STARTED = new CountDownLatch(2);
+		LookupInitBean.INIT_COUNT.set(0);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testParallelPreInstantiation/runtime-cycle.xml") {
+				@Override
+				protected DefaultListableBeanFactory createBeanFactory() {
+					DefaultListableBeanFactory beanFactory = super.createBeanFactory();
+					beanFactory.setPreInstantiationExecutor(executor);
+					return beanFactory;
+				}
+			};
+
+			//两个线程在初始化方法中互相等待对方的bean，失败的一方串行重试，与串行创建的结果一致
+			LookupInitBean left = applicationContext.getBean("left", LookupInitBean.class);
+			LookupInitBean right = applicationContext.getBean("right", LookupInitBean.class);
+			assertThat(left.getLookup()).isSameAs(right);
+			assertThat(right.getLookup()).isSameAs(left);
+			assertThat(LookupInitBean.INIT_COUNT.get()).isBetween(3, 4);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package org.springframework.testParallelPreInstantiation.ioc.bean;
+
+import org.springframework.beans.factory.InitializingBean;
+
+public class Aggregator implements InitializingBean {
+
+	private SlowInitBean first;
+
+	private SlowInitBean second;
+
+	private SlowInitBean third;
+
+	private boolean dependenciesInitialized;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		dependenciesInitialized = first.isInitialized() && second.isInitialized() && third.isInitialized();
+	}
+
+	public boolean isDependenciesInitialized() {
+		return dependenciesInitialized;
+	}
+}
@@ -0,0 +1,44 @@
+package org.springframework.testParallelPreInstantiation.ioc.bean;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在afterPropertiesSet中通过getBean获取另一个bean，依赖图中没有这条依赖
+ */
+public class LookupInitBean implements BeanFactoryAware, InitializingBean {
+
+	public static volatile CountDownLatch STARTED = new CountDownLatch(2);
+
+	public static final AtomicInteger INIT_COUNT = new AtomicInteger();
+
+	private BeanFactory beanFactory;
+
+	private String lookupName;
+
+	private Object lookup;
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		INIT_COUNT.incrementAndGet();
+		// 等待另一个bean也开始初始化，使两个线程分别持有各自的创建锁
+		STARTED.countDown();
+		STARTED.await(5, TimeUnit.SECONDS);
+		lookup = beanFactory.getBean(lookupName);
+	}
+
+	public Object getLookup() {
+		return lookup;
+	}
+}
@@ -0,0 +1,33 @@
+package org.springframework.testParallelPreInstantiation.ioc.bean;
+
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SlowInitBean implements InitializingBean {
+
+	public static final AtomicInteger RUNNING = new AtomicInteger();
+
+	public static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+
+	private volatile boolean initialized;
+
+	private SlowInitBean partner;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		int running = RUNNING.incrementAndGet();
+		MAX_RUNNING.accumulateAndGet(running, Math::max);
+		Thread.sleep(200);
+		RUNNING.decrementAndGet();
+		initialized = true;
+	}
+
+	public boolean isInitialized() {
+		return initialized;
+	}
+
+	public SlowInitBean getPartner() {
+		return partner;
+	}
+}
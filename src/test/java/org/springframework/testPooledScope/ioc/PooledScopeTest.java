@@ -0,0 +1,94 @@
+package org.springframework.testPooledScope.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.PooledScope;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testPooledScope.ioc.bean.Parser;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PooledScopeTest {
+
+	@Test
+	public void testPooledScope() throws Exception {
+		Parser.INIT_COUNT.set(0);
+		Parser.CLOSE_COUNT.set(0);
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testPooledScope/pooled-scope.xml");
+		ConfigurableListableBeanFactory beanFactory = applicationContext.getBeanFactory();
+		PooledScope pooledScope = (PooledScope) beanFactory.getRegisteredScope(BeanDefinition.SCOPE_POOLED);
+		pooledScope.setMaxIdle(2);
+
+		//归还后同一线程再次获取，复用线程缓存中已初始化的实例
+		Parser first = applicationContext.getBean("parser", Parser.class);
+		assertThat(first.getBuffer()).hasSize(4096);
+		beanFactory.releaseBean("parser", first);
+		assertThat(applicationContext.getBean("parser")).isSameAs(first);
+		assertThat(Parser.INIT_COUNT.get()).isEqualTo(1);
+
+		//借出期间的实例不会被重复借出
+		Parser second = applicationContext.getBean("parser", Parser.class);
+		Parser third = applicationContext.getBean("parser", Parser.class);
+		assertThat(second).isNotSameAs(first);
+		assertThat(third).isNotSameAs(second);
+		assertThat(Parser.INIT_COUNT.get()).isEqualTo(3);
+
+		//first进入线程缓存，second进入共享队列，两者合计达到上限后归还的third被销毁
+		beanFactory.releaseBean("parser", first);
+		beanFactory.releaseBean("parser", second);
+		beanFactory.releaseBean("parser", third);
+		assertThat(Parser.CLOSE_COUNT.get()).isEqualTo(1);
+
+		//重复归还和归还不是从池中借出的实例被拒绝
+		assertThatThrownBy(() -> beanFactory.releaseBean("parser", third))
+				.isInstanceOf(BeansException.class);
+		assertThatThrownBy(() -> beanFactory.releaseBean("parser", new Parser()))
+				.isInstanceOf(BeansException.class);
+		assertThat(Parser.CLOSE_COUNT.get()).isEqualTo(1);
+
+		//其他线程从共享队列中借出，归还到自己的线程缓存后结束
+		AtomicReference<Object> borrowed = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			borrowed.set(applicationContext.getBean("parser"));
+			beanFactory.releaseBean("parser", borrowed.get());
+		});
+		thread.start();
+		thread.join();
+		assertThat(borrowed.get()).isSameAs(second);
+
+		PooledScope.PoolStatistics statistics = pooledScope.getStatistics("parser");
+		assertThat(statistics.getBorrowCount()).isEqualTo(5);
+		assertThat(statistics.getCreateCount()).isEqualTo(3);
+		assertThat(statistics.getThreadCacheHitCount()).isEqualTo(1);
+		assertThat(statistics.getReleaseCount()).isEqualTo(5);
+		assertThat(statistics.getEvictionCount()).isEqualTo(1);
+		assertThat(statistics.getIdleCount()).isEqualTo(2);
+
+		//已结束线程缓存的实例移回共享队列，可以被新线程借出
+		borrowed.set(null);
+		thread = new Thread(() -> borrowed.set(applicationContext.getBean("parser")));
+		thread.start();
+		thread.join();
+		assertThat(borrowed.get()).isSameAs(second);
+		assertThat(pooledScope.getStatistics("parser").getIdleCount()).isEqualTo(1);
+		assertThat(Parser.INIT_COUNT.get()).isEqualTo(3);
+
+		//关闭容器时销毁池中剩余的空闲实例
+		applicationContext.close();
+		assertThat(Parser.CLOSE_COUNT.get()).isEqualTo(2);
+		assertThat(first.getBuffer()).isNull();
+	}
+
+	@Test
+	public void testPooledBeanInjectedIntoSingleton() throws Exception {
+		//注入单例的池化bean永远不会归还，创建容器时拒绝
+		assertThatThrownBy(() -> new ClassPathXmlApplicationContext("classpath:testPooledScope/pooled-scope-injection.xml"))
+				.isInstanceOf(BeansException.class)
+				.hasStackTraceContaining("Pooled bean 'parser' cannot be injected into singleton 'client'");
+	}
+}
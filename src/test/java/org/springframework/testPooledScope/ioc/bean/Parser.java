@@ -0,0 +1,32 @@
+package org.springframework.testPooledScope.ioc.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Parser {
+
+	public static final AtomicInteger INIT_COUNT = new AtomicInteger();
+
+	public static final AtomicInteger CLOSE_COUNT = new AtomicInteger();
+
+	private int bufferSize;
+
+	private byte[] buffer;
+
+	public void init() {
+		buffer = new byte[bufferSize];
+		INIT_COUNT.incrementAndGet();
+	}
+
+	public void close() {
+		buffer = null;
+		CLOSE_COUNT.incrementAndGet();
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public byte[] getBuffer() {
+		return buffer;
+	}
+}
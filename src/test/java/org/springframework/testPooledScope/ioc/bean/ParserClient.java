@@ -0,0 +1,10 @@
+package org.springframework.testPooledScope.ioc.bean;
+
+public class ParserClient {
+
+	private Parser parser;
+
+	public Parser getParser() {
+		return parser;
+	}
+}
@@ -0,0 +1,61 @@
+package org.springframework.testPopulationPlan.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanConstructionPlan;
+import org.springframework.beans.factory.support.BeanPopulationPlan;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testPopulationPlan.ioc.bean.Person;
+import org.springframework.testPopulationPlan.ioc.bean.PlanInspectingBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PopulationPlanTest {
+
+	@Test
+	public void testPopulationPlan() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testPopulationPlan/population-plan.xml");
+
+		for (int i = 0; i < 3; i++) {
+			Person person = applicationContext.getBean("person", Person.class);
+			assertThat(person.getName()).isEqualTo("derek");
+			assertThat(person.getAge()).isEqualTo(18);
+			assertThat(person.getCar()).isSameAs(applicationContext.getBean("car"));
+			assertThat(person.getCar().getBrand()).isEqualTo("porsche");
+		}
+
+		//属性值被修改后，填充计划重新编译
+		applicationContext.getBeanFactory().getBeanDefinition("person").getPropertyValues()
+				.addPropertyValue(new PropertyValue("age", "20"));
+		Person person = applicationContext.getBean("person", Person.class);
+		assertThat(person.getAge()).isEqualTo(20);
+		assertThat(person.getName()).isEqualTo("derek");
+	}
+
+	@Test
+	public void testPlansRemovedWhenDefinitionReplaced() throws Exception {
+		PlanInspectingBeanFactory beanFactory = new PlanInspectingBeanFactory();
+		new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:testPopulationPlan/population-plan.xml");
+		BeanDefinition oldDefinition = beanFactory.getBeanDefinition("person");
+
+		//同一个BeanDefinition命中缓存的计划
+		BeanPopulationPlan populationPlan = beanFactory.populationPlanOf(oldDefinition);
+		BeanConstructionPlan constructionPlan = beanFactory.constructionPlanOf(oldDefinition);
+		assertThat(beanFactory.populationPlanOf(oldDefinition)).isSameAs(populationPlan);
+		assertThat(beanFactory.constructionPlanOf(oldDefinition)).isSameAs(constructionPlan);
+
+		//重新注册同一个BeanDefinition时保留计划
+		beanFactory.registerBeanDefinition("person", oldDefinition);
+		assertThat(beanFactory.populationPlanOf(oldDefinition)).isSameAs(populationPlan);
+
+		//替换后旧定义的计划被移除，不再被缓存持有
+		BeanDefinition newDefinition = new BeanDefinition(Person.class);
+		newDefinition.getPropertyValues().addPropertyValue(new PropertyValue("name", "tom"));
+		beanFactory.registerBeanDefinition("person", newDefinition);
+		assertThat(beanFactory.populationPlanOf(oldDefinition)).isNotSameAs(populationPlan);
+		assertThat(beanFactory.constructionPlanOf(oldDefinition)).isNotSameAs(constructionPlan);
+		assertThat(beanFactory.getBean("person", Person.class).getName()).isEqualTo("tom");
+	}
+}
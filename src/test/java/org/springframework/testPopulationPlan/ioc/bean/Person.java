@@ -0,0 +1,22 @@
+package org.springframework.testPopulationPlan.ioc.bean;
+
+public class Person {
+
+	private String name;
+
+	private int age;
+
+	private Car car;
+
+	public String getName() {
+		return name;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public Car getCar() {
+		return car;
+	}
+}
@@ -0,0 +1,21 @@
+package org.springframework.testPopulationPlan.ioc.bean;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.BeanConstructionPlan;
+import org.springframework.beans.factory.support.BeanPopulationPlan;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * 公开计划缓存的查询，用于检查缓存是否命中
+ */
+public class PlanInspectingBeanFactory extends DefaultListableBeanFactory {
+
+	public BeanPopulationPlan populationPlanOf(BeanDefinition beanDefinition) {
+		return getPopulationPlan(beanDefinition.getBeanClass(), beanDefinition, beanDefinition.getPropertyValues().asList());
+	}
+
+	public BeanConstructionPlan constructionPlanOf(BeanDefinition beanDefinition) {
+		return getConstructionPlan(beanDefinition.getBeanClass(), beanDefinition, new ConstructorArgumentValues.ValueHolder[0]);
+	}
+}
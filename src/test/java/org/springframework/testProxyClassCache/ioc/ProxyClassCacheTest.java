@@ -0,0 +1,60 @@
+package org.springframework.testProxyClassCache.ioc;
+
+import org.junit.Test;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.ProxyClassCache;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testProxyClassCache.ioc.bean.Task;
+import org.springframework.testProxyClassCache.ioc.bean.TaskAdvice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProxyClassCacheTest {
+
+	@Test
+	public void testProxyClassCache() throws Exception {
+		ProxyClassCache proxyClassCache = ProxyClassCache.getSharedInstance();
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testProxyClassCache/proxy-class-cache.xml");
+		long generated = proxyClassCache.getGeneratedClassCount();
+		long hits = proxyClassCache.getCacheHits();
+
+		//同一个类的原型bean只生成一次代理类
+		Task first = applicationContext.getBean("task", Task.class);
+		Task second = applicationContext.getBean("task", Task.class);
+		Task third = applicationContext.getBean("task", Task.class);
+		assertThat(first).isNotSameAs(second);
+		assertThat(first.getClass()).isNotEqualTo(Task.class);
+		assertThat(second.getClass()).isSameAs(first.getClass());
+		assertThat(third.getClass()).isSameAs(first.getClass());
+		assertThat(proxyClassCache.getGeneratedClassCount()).isEqualTo(generated + 1);
+		assertThat(proxyClassCache.getCacheHits()).isEqualTo(hits + 2);
+
+		//每个实例使用自己的目标对象和回调
+		assertThat(first.run()).isEqualTo("run:build");
+		second.setName("test");
+		assertThat(second.run()).isEqualTo("run:test");
+		assertThat(first.getName()).isEqualTo("build");
+		assertThat(applicationContext.getBean("taskAdvice", TaskAdvice.class).getCount()).isEqualTo(2);
+
+		//相同配置的另一个容器复用同一个代理类
+		ClassPathXmlApplicationContext otherContext = new ClassPathXmlApplicationContext("classpath:testProxyClassCache/proxy-class-cache.xml");
+		Task other = otherContext.getBean("task", Task.class);
+		assertThat(other.getClass()).isSameAs(first.getClass());
+		assertThat(proxyClassCache.getGeneratedClassCount()).isEqualTo(generated + 1);
+		assertThat(other.run()).isEqualTo("run:build");
+		assertThat(otherContext.getBean("taskAdvice", TaskAdvice.class).getCount()).isEqualTo(1);
+		assertThat(applicationContext.getBean("taskAdvice", TaskAdvice.class).getCount()).isEqualTo(2);
+
+		//回调结构不同(未冻结时所有方法都经过拦截器)时生成不同的代理类
+		ProxyFactory proxyFactory = new ProxyFactory();
+		proxyFactory.setTargetSource(new TargetSource(new Task()));
+		proxyFactory.addAdvisor(applicationContext.getBean("taskAdvisor", AspectJExpressionPointcutAdvisor.class));
+		assertThat(proxyFactory.getProxy().getClass()).isNotSameAs(first.getClass());
+		assertThat(proxyClassCache.getGeneratedClassCount()).isEqualTo(generated + 2);
+		assertThat(proxyClassCache.getMetaspaceUsedBytes()).isNotZero();
+		applicationContext.close();
+		otherContext.close();
+	}
+}
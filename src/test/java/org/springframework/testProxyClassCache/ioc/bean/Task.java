@@ -0,0 +1,18 @@
+package org.springframework.testProxyClassCache.ioc.bean;
+
+public class Task {
+
+	private String name;
+
+	public String run() {
+		return "run:" + name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+}
@@ -0,0 +1,87 @@
+package org.springframework.testScope.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.beans.factory.support.ScopedValueScope;
+import org.springframework.beans.factory.support.ThreadScope;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.testScope.ioc.bean.Digester;
+import org.springframework.testScope.ioc.bean.Formatter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ScopeTest {
+
+	@Test
+	public void testScope() throws Exception {
+		Formatter.CLOSE_COUNT.set(0);
+		Digester.CLOSE_COUNT.set(0);
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:testScope/scope.xml");
+		ConfigurableListableBeanFactory beanFactory = applicationContext.getBeanFactory();
+
+		//线程作用域：同一线程复用，不同线程各自持有
+		Formatter formatter = applicationContext.getBean("formatter", Formatter.class);
+		assertThat(formatter.getPattern()).isEqualTo("yyyy-MM-dd");
+		assertThat(applicationContext.getBean("formatter")).isSameAs(formatter);
+		ThreadScope threadScope = (ThreadScope) beanFactory.getRegisteredScope(BeanDefinition.SCOPE_THREAD);
+		AtomicReference<Object> other = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			other.set(applicationContext.getBean("formatter"));
+			threadScope.endScope();
+		});
+		thread.start();
+		thread.join();
+		assertThat(other.get()).isNotSameAs(formatter);
+		assertThat(Formatter.CLOSE_COUNT.get()).isEqualTo(1);
+
+		//任务作用域：只在run执行期间有效，任务结束时销毁
+		ScopedValueScope scopedValueScope = (ScopedValueScope) beanFactory.getRegisteredScope(BeanDefinition.SCOPE_SCOPED_VALUE);
+		assertThatThrownBy(() -> applicationContext.getBean("digester")).isInstanceOf(BeansException.class);
+		AtomicReference<Object> outer = new AtomicReference<>();
+		scopedValueScope.run(() -> {
+			outer.set(applicationContext.getBean("digester"));
+			assertThat(applicationContext.getBean("digester")).isSameAs(outer.get());
+			//嵌套调用开启新的作用域
+			scopedValueScope.run(() -> assertThat(applicationContext.getBean("digester")).isNotSameAs(outer.get()));
+			assertThat(Digester.CLOSE_COUNT.get()).isEqualTo(1);
+			assertThat(applicationContext.getBean("digester")).isSameAs(outer.get());
+		});
+		assertThat(Digester.CLOSE_COUNT.get()).isEqualTo(2);
+		assertThat(scopedValueScope.isActive()).isFalse();
+
+		//注册自定义作用域
+		assertThatThrownBy(() -> applicationContext.getBean("tenant")).isInstanceOf(BeansException.class);
+		Map<String, Object> tenantBeans = new HashMap<>();
+		beanFactory.registerScope("tenant", new Scope() {
+			@Override
+			public Object get(String name, ObjectFactory<?> objectFactory) {
+				return tenantBeans.computeIfAbsent(name, key -> objectFactory.getObject());
+			}
+
+			@Override
+			public Object remove(String name) {
+				return tenantBeans.remove(name);
+			}
+
+			@Override
+			public void registerDestructionCallback(String name, Runnable callback) {
+			}
+		});
+		assertThat(applicationContext.getBean("tenant")).isSameAs(tenantBeans.get("tenant"));
+		assertThatThrownBy(() -> beanFactory.registerScope(BeanDefinition.SCOPE_SINGLETON, threadScope))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		//关闭容器时销毁线程作用域中剩余的bean
+		applicationContext.close();
+		assertThat(Formatter.CLOSE_COUNT.get()).isEqualTo(2);
+	}
+}
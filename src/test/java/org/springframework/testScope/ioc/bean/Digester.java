@@ -0,0 +1,12 @@
+package org.springframework.testScope.ioc.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Digester {
+
+	public static final AtomicInteger CLOSE_COUNT = new AtomicInteger();
+
+	public void close() {
+		CLOSE_COUNT.incrementAndGet();
+	}
+}
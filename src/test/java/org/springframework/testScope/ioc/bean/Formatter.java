@@ -0,0 +1,18 @@
+package org.springframework.testScope.ioc.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Formatter {
+
+	public static final AtomicInteger CLOSE_COUNT = new AtomicInteger();
+
+	private String pattern;
+
+	public void close() {
+		CLOSE_COUNT.incrementAndGet();
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+}
@@ -0,0 +1,58 @@
+package org.springframework.testStartupTimeline.ioc;
+
+import org.junit.Test;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupTimeline;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StartupTimelineTest {
+
+	@Test
+	public void testStartupTimeline() throws Exception {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1024);
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(
+				new String[]{"classpath:testStartupTimeline/startup-timeline.xml"}, false);
+		applicationContext.setApplicationStartup(applicationStartup);
+		applicationContext.refresh();
+
+		StartupTimeline timeline = applicationStartup.getTimeline();
+		List<String> stepNames = timeline.getSteps().stream().map(StartupTimeline.StepRecord::getName).collect(Collectors.toList());
+		assertThat(stepNames).contains("context.refresh", "context.beanfactory.refresh", "context.beanfactory.post-process",
+				"context.beans.post-process.register", "context.listeners.register", "context.beans.pre-instantiate",
+				"beans.instantiate", "beans.instantiate.create-instance", "beans.instantiate.populate",
+				"beans.instantiate.initialize", "beans.post-process");
+		assertThat(timeline.getDroppedStepCount()).isEqualTo(0);
+
+		//自身耗时不包括创建所依赖的bean的时间
+		List<StartupTimeline.BeanTiming> slowestBeans = timeline.getSlowestBeans(2);
+		assertThat(slowestBeans).hasSize(2);
+		assertThat(slowestBeans.get(0).getBeanName()).isEqualTo("repository");
+		assertThat(slowestBeans.get(1).getBeanName()).isEqualTo("gateway");
+		assertThat(slowestBeans.get(1).getSelfNanos()).isLessThan(slowestBeans.get(0).getSelfNanos());
+
+		//关键路径从refresh开始，经过单例bean的提前实例化，以最慢的bean结束
+		List<StartupTimeline.StepRecord> criticalPath = timeline.getCriticalPath();
+		assertThat(criticalPath.get(0).getName()).isEqualTo("context.refresh");
+		assertThat(criticalPath.get(1).getName()).isEqualTo("context.beans.pre-instantiate");
+		assertThat(criticalPath.stream().filter(step -> "beans.instantiate".equals(step.getName()))
+				.reduce((first, second) -> second).get().getTags().get(StartupTimeline.BEAN_NAME_TAG)).isEqualTo("repository");
+
+		String json = timeline.toJson();
+		assertThat(json).startsWith("{\"droppedSteps\":0,\"steps\":[");
+		assertThat(json).contains("\"slowestBeans\":[{\"beanName\":\"repository\"");
+		assertThat(json).contains("\"processor\":\"org.springframework.testStartupTimeline.ioc.bean.TracingPostProcessor\"");
+
+		//缓冲区写满后丢弃之后的步骤
+		BufferingApplicationStartup smallBuffer = new BufferingApplicationStartup(2);
+		for (int i = 0; i < 5; i++) {
+			smallBuffer.start("step").end();
+		}
+		assertThat(smallBuffer.getTimeline().getSteps()).hasSize(2);
+		assertThat(smallBuffer.getDroppedStepCount()).isEqualTo(3);
+	}
+}
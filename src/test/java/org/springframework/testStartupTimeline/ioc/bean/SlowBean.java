@@ -0,0 +1,16 @@
+package org.springframework.testStartupTimeline.ioc.bean;
+
+public class SlowBean {
+
+	private long initMillis;
+
+	private SlowBean dependency;
+
+	public void init() throws InterruptedException {
+		Thread.sleep(initMillis);
+	}
+
+	public SlowBean getDependency() {
+		return dependency;
+	}
+}
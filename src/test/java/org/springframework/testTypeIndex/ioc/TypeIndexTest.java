@@ -0,0 +1,50 @@
+package org.springframework.testTypeIndex.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.testTypeIndex.ioc.bean.AbstractCar;
+import org.springframework.testTypeIndex.ioc.bean.Bike;
+import org.springframework.testTypeIndex.ioc.bean.Car;
+import org.springframework.testTypeIndex.ioc.bean.Engine;
+import org.springframework.testTypeIndex.ioc.bean.Named;
+import org.springframework.testTypeIndex.ioc.bean.Vehicle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TypeIndexTest {
+
+	@Test
+	public void testTypeIndex() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:testTypeIndex/type-index.xml");
+
+		//按父类、接口以及父接口查找
+		assertThat(beanFactory.getBeanNamesForType(Car.class)).containsExactly("car");
+		assertThat(beanFactory.getBeanNamesForType(AbstractCar.class)).containsExactly("car");
+		assertThat(beanFactory.getBeanNamesForType(Vehicle.class)).containsExactlyInAnyOrder("car", "bike");
+		assertThat(beanFactory.getBeanNamesForType(Named.class)).containsExactlyInAnyOrder("car", "bike");
+		assertThat(beanFactory.getBeanNamesForType(Object.class)).containsExactlyInAnyOrder("car", "bike", "engine");
+		assertThat(beanFactory.getBeanNamesForType(Runnable.class)).isEmpty();
+
+		//唯一匹配时按类型获取，多个匹配时抛出异常
+		assertThat(beanFactory.getBean(AbstractCar.class).getName()).isEqualTo("porsche");
+		assertThat(beanFactory.getBean(Engine.class)).isSameAs(beanFactory.getBean("engine"));
+		assertThatThrownBy(() -> beanFactory.getBean(Vehicle.class))
+				.isInstanceOf(BeansException.class)
+				.hasMessageContaining("car").hasMessageContaining("bike");
+		assertThatThrownBy(() -> beanFactory.getBean(Runnable.class)).isInstanceOf(BeansException.class);
+
+		//覆盖BeanDefinition后，旧类型的索引被移除
+		beanFactory.registerBeanDefinition("car", new BeanDefinition(Engine.class));
+		assertThat(beanFactory.getBeanNamesForType(Car.class)).isEmpty();
+		assertThat(beanFactory.getBeanNamesForType(AbstractCar.class)).isEmpty();
+		assertThat(beanFactory.getBeanNamesForType(Vehicle.class)).containsExactly("bike");
+		assertThat(beanFactory.getBeanNamesForType(Engine.class)).containsExactlyInAnyOrder("car", "engine");
+		assertThat(beanFactory.getBean(Vehicle.class)).isInstanceOf(Bike.class);
+		assertThatThrownBy(() -> beanFactory.getBean(Engine.class)).isInstanceOf(BeansException.class);
+	}
+}
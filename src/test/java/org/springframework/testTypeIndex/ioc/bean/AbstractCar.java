@@ -0,0 +1,11 @@
+package org.springframework.testTypeIndex.ioc.bean;
+
+public abstract class AbstractCar implements Vehicle {
+
+	private String name;
+
+	@Override
+	public String getName() {
+		return name;
+	}
+}
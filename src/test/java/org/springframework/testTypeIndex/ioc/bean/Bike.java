@@ -0,0 +1,11 @@
+package org.springframework.testTypeIndex.ioc.bean;
+
+public class Bike implements Vehicle {
+
+	private String name;
+
+	@Override
+	public String getName() {
+		return name;
+	}
+}
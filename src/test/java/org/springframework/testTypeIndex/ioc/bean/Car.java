@@ -0,0 +1,4 @@
+package org.springframework.testTypeIndex.ioc.bean;
+
+public class Car extends AbstractCar {
+}
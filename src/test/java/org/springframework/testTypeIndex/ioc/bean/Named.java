@@ -0,0 +1,6 @@
+package org.springframework.testTypeIndex.ioc.bean;
+
+public interface Named {
+
+	String getName();
+}